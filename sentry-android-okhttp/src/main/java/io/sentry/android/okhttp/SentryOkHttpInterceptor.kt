@@ -5,6 +5,7 @@ import io.sentry.HubAdapter
 import io.sentry.IHub
 import io.sentry.ISpan
 import io.sentry.SpanStatus
+import io.sentry.TracingOrigins
 import java.io.IOException
 import okhttp3.Interceptor
 import okhttp3.Request
@@ -24,15 +25,22 @@ class SentryOkHttpInterceptor(
         val method = request.method
 
         // read transaction from the bound scope
-        var span = hub.span?.startChild("http.client", "$method $url")
+        val activeSpan = hub.span
+        var span: ISpan? = null
+        if (activeSpan != null && TracingOrigins.contain(hub.options.tracingOrigins, url)) {
+            val traceHeader = if (activeSpan.spanContext.sampled == false) {
+                // unsampled spans are dropped anyway, only the sampling decision is propagated
+                activeSpan.toSentryTrace()
+            } else {
+                activeSpan.startChild("http.client", "$method $url").also { span = it }.toSentryTrace()
+            }
+            request = request.newBuilder().addHeader(traceHeader.name, traceHeader.value).build()
+        }
 
         var response: Response? = null
 
         var code: Int? = null
         try {
-            span?.toSentryTrace()?.let {
-                request = request.newBuilder().addHeader(it.name, it.value).build()
-            }
             response = chain.proceed(request)
             code = response.code
             span?.status = SpanStatus.fromHttpStatusCode(code)
@@ -44,13 +52,11 @@ class SentryOkHttpInterceptor(
             }
             throw e
         } finally {
-            if (span != null) {
-                if (beforeSpan != null) {
-                    span = beforeSpan.execute(span, request, response)
-                }
-                span?.finish()
+            span?.let {
+                val finalSpan = if (beforeSpan != null) beforeSpan.execute(it, request, response) else it
+                finalSpan?.finish()
             }
-            val breadcrumb = Breadcrumb.http(request.url.toString(), request.method, code)
+            val breadcrumb = Breadcrumb.http(url, method, code)
             request.body?.contentLength().ifHasValidLength {
                 breadcrumb.setData("request_body_size", it)
             }
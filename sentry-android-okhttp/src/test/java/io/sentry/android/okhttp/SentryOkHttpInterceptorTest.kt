@@ -208,4 +208,25 @@ class SentryOkHttpInterceptorTest {
         val httpClientSpan = fixture.sentryTracer.children.first()
         assertFalse(httpClientSpan.isFinished)
     }
+
+    @Test
+    fun `when the active span is not sampled, propagates the sampling decision without creating span`() {
+        val sut = fixture.getSut(isSpanActive = false)
+        val unsampled = SentryTracer(TransactionContext("name", "op", false), fixture.hub)
+        whenever(fixture.hub.span).thenReturn(unsampled)
+        sut.newCall(getRequest()).execute()
+        val recorderRequest = fixture.server.takeRequest()
+        assertEquals(unsampled.toSentryTrace().value, recorderRequest.headers[SentryTraceHeader.SENTRY_TRACE_HEADER])
+        assertTrue(unsampled.children.isEmpty())
+    }
+
+    @Test
+    fun `when url does not match tracing origins, does not create span nor add sentry trace header`() {
+        fixture.hub.options.addTracingOrigin("sentry.io")
+        val sut = fixture.getSut()
+        sut.newCall(getRequest()).execute()
+        val recorderRequest = fixture.server.takeRequest()
+        assertNull(recorderRequest.headers[SentryTraceHeader.SENTRY_TRACE_HEADER])
+        assertTrue(fixture.sentryTracer.children.isEmpty())
+    }
 }
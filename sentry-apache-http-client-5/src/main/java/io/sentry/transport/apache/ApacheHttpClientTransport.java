@@ -74,6 +74,8 @@ public final class ApacheHttpClientTransport implements ITransport {
         try (final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             final GZIPOutputStream gzip = new GZIPOutputStream(outputStream)) {
           options.getSerializer().serialize(filteredEnvelope, gzip);
+          // the serializer doesn't close the stream, the gzip trailer is written by finishing it
+          gzip.finish();
 
           final SimpleHttpRequest request =
               SimpleHttpRequests.post(requestDetails.getUrl().toString());
@@ -0,0 +1,225 @@
+package io.sentry.transport.jdk;
+
+import static io.sentry.SentryLevel.*;
+
+import io.sentry.RequestDetails;
+import io.sentry.SentryEnvelope;
+import io.sentry.SentryOptions;
+import io.sentry.hints.DiskFlushNotification;
+import io.sentry.hints.Retryable;
+import io.sentry.hints.SubmissionResult;
+import io.sentry.transport.ITransport;
+import io.sentry.transport.RateLimiter;
+import io.sentry.transport.ReusableCountLatch;
+import io.sentry.util.Objects;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link ITransport} implementation that sends envelopes asynchronously with the {@link
+ * HttpClient} of the JDK. Envelopes to the same host are multiplexed over one HTTP/2 connection,
+ * servers that don't support HTTP/2 are talked to with HTTP/1.1.
+ *
+ * <p>At most {@code maxRequestsInFlight} envelopes are sent at the same time, envelopes sent while
+ * the window is full are dropped.
+ */
+public final class JdkHttpClientTransport implements ITransport {
+  private final @NotNull SentryOptions options;
+  private final @NotNull RequestDetails requestDetails;
+  private final @NotNull HttpClient httpClient;
+  private final @NotNull RateLimiter rateLimiter;
+  private final int maxRequestsInFlight;
+  private final @NotNull ReusableCountLatch currentlyRunning;
+  private final @Nullable ExecutorService executor;
+  private final @NotNull URI uri;
+
+  public JdkHttpClientTransport(
+      final @NotNull SentryOptions options,
+      final @NotNull RequestDetails requestDetails,
+      final @NotNull HttpClient httpClient,
+      final @NotNull RateLimiter rateLimiter) {
+    this(
+        options,
+        requestDetails,
+        httpClient,
+        rateLimiter,
+        options.getMaxQueueSize(),
+        new ReusableCountLatch(),
+        null);
+  }
+
+  JdkHttpClientTransport(
+      final @NotNull SentryOptions options,
+      final @NotNull RequestDetails requestDetails,
+      final @NotNull HttpClient httpClient,
+      final @NotNull RateLimiter rateLimiter,
+      final int maxRequestsInFlight,
+      final @NotNull ReusableCountLatch currentlyRunning,
+      final @Nullable ExecutorService executor) {
+    this.options = Objects.requireNonNull(options, "options is required");
+    this.requestDetails = Objects.requireNonNull(requestDetails, "requestDetails is required");
+    this.httpClient = Objects.requireNonNull(httpClient, "httpClient is required");
+    this.rateLimiter = Objects.requireNonNull(rateLimiter, "rateLimiter is required");
+    this.maxRequestsInFlight = maxRequestsInFlight;
+    this.currentlyRunning =
+        Objects.requireNonNull(currentlyRunning, "currentlyRunning is required");
+    this.executor = executor;
+    try {
+      this.uri = requestDetails.getUrl().toURI();
+    } catch (URISyntaxException e) {
+      throw new IllegalArgumentException("Failed to parse the Sentry URL", e);
+    }
+  }
+
+  @Override
+  @SuppressWarnings("FutureReturnValueIgnored")
+  public void send(final @NotNull SentryEnvelope envelope, final @Nullable Object hint)
+      throws IOException {
+    if (!isSchedulingAllowed()) {
+      options.getLogger().log(WARNING, "Submit cancelled");
+      markHintWhenSendingFailed(hint);
+      markHintFlushed(hint);
+      return;
+    }
+    // the rate limiter marks the hint itself when it drops the envelope
+    final SentryEnvelope filteredEnvelope = rateLimiter.filter(envelope, hint);
+    if (filteredEnvelope == null) {
+      markHintFlushed(hint);
+      return;
+    }
+
+    final HttpRequest request;
+    try {
+      request = createRequest(filteredEnvelope);
+    } catch (Exception e) {
+      options.getLogger().log(ERROR, "Error when sending envelope", e);
+      markHintWhenSendingFailed(hint);
+      markHintFlushed(hint);
+      return;
+    }
+
+    currentlyRunning.increment();
+    if (options.getLogger().isEnabled(DEBUG)) {
+      options.getLogger().log(DEBUG, "Currently running %d requests", currentlyRunning.getCount());
+    }
+
+    httpClient
+        .sendAsync(request, HttpResponse.BodyHandlers.discarding())
+        .whenComplete(
+            (response, error) -> {
+              try {
+                if (response != null && onResponse(response)) {
+                  if (hint instanceof SubmissionResult) {
+                    ((SubmissionResult) hint).setResult(true);
+                  }
+                } else {
+                  if (response == null) {
+                    options.getLogger().log(ERROR, "Error while sending an envelope", error);
+                  }
+                  markHintWhenSendingFailed(hint);
+                }
+                markHintFlushed(hint);
+              } finally {
+                currentlyRunning.decrement();
+              }
+            });
+  }
+
+  private @NotNull HttpRequest createRequest(final @NotNull SentryEnvelope envelope)
+      throws Exception {
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    try (final GZIPOutputStream gzip = new GZIPOutputStream(outputStream)) {
+      options.getSerializer().serialize(envelope, gzip);
+    }
+
+    final HttpRequest.Builder builder =
+        HttpRequest.newBuilder(uri)
+            .timeout(Duration.ofMillis(options.getReadTimeoutMillis()))
+            .header("Content-Type", "application/x-sentry-envelope")
+            .header("Content-Encoding", "gzip")
+            .header("Accept", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(outputStream.toByteArray()));
+
+    for (final Map.Entry<String, String> header : requestDetails.getHeaders().entrySet()) {
+      builder.setHeader(header.getKey(), header.getValue());
+    }
+    return builder.build();
+  }
+
+  /** Returns whether the envelope was accepted by Sentry. */
+  private boolean onResponse(final @NotNull HttpResponse<?> response) {
+    final int responseCode = response.statusCode();
+    if (responseCode != 200) {
+      options.getLogger().log(ERROR, "Request failed, API returned %s", responseCode);
+    } else {
+      options.getLogger().log(INFO, "Envelope sent successfully.");
+    }
+    // header names are case insensitive, HTTP/2 sends them in lower case
+    final HttpHeaders headers = response.headers();
+    rateLimiter.updateRetryAfterLimits(
+        headers.firstValue("X-Sentry-Rate-Limits").orElse(null),
+        headers.firstValue("Retry-After").orElse(null),
+        responseCode);
+    return responseCode == 200;
+  }
+
+  /**
+   * It marks the hints when sending has failed, so it's not necessary to wait the timeout
+   *
+   * @param hint the Hint
+   */
+  private static void markHintWhenSendingFailed(final @Nullable Object hint) {
+    if (hint instanceof SubmissionResult) {
+      ((SubmissionResult) hint).setResult(false);
+    }
+    if (hint instanceof Retryable) {
+      ((Retryable) hint).setRetry(true);
+    }
+  }
+
+  private static void markHintFlushed(final @Nullable Object hint) {
+    if (hint instanceof DiskFlushNotification) {
+      ((DiskFlushNotification) hint).markFlushed();
+    }
+  }
+
+  @Override
+  public void flush(final long timeoutMillis) {
+    try {
+      if (!currentlyRunning.waitTillZero(timeoutMillis, TimeUnit.MILLISECONDS)) {
+        options.getLogger().log(WARNING, "Failed to flush all events within %s ms", timeoutMillis);
+      }
+    } catch (InterruptedException e) {
+      options.getLogger().log(ERROR, "Failed to flush events", e);
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    options.getLogger().log(DEBUG, "Shutting down");
+    // the JDK client can't be closed, requests in flight are given time to complete before the
+    // threads they complete on are stopped
+    flush(options.getShutdownTimeout());
+    if (executor != null) {
+      executor.shutdown();
+    }
+  }
+
+  private boolean isSchedulingAllowed() {
+    return currentlyRunning.getCount() < maxRequestsInFlight;
+  }
+}
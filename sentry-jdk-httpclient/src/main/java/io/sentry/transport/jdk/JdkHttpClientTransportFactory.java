@@ -0,0 +1,129 @@
+package io.sentry.transport.jdk;
+
+import io.sentry.ITransportFactory;
+import io.sentry.RequestDetails;
+import io.sentry.SentryLevel;
+import io.sentry.SentryOptions;
+import io.sentry.transport.ITransport;
+import io.sentry.transport.RateLimiter;
+import io.sentry.transport.ReusableCountLatch;
+import io.sentry.util.Objects;
+import java.net.Authenticator;
+import java.net.InetSocketAddress;
+import java.net.PasswordAuthentication;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Creates {@link JdkHttpClientTransport}. The proxy of the options is applied, a custom {@link
+ * javax.net.ssl.SSLSocketFactory} and {@link javax.net.ssl.HostnameVerifier} are not, since the JDK
+ * client is configured with an {@link javax.net.ssl.SSLContext}.
+ */
+public final class JdkHttpClientTransportFactory implements ITransportFactory {
+  private final @Nullable Integer maxRequestsInFlight;
+
+  /** Creates a factory whose transports send as many envelopes at once as the max queue size. */
+  public JdkHttpClientTransportFactory() {
+    this.maxRequestsInFlight = null;
+  }
+
+  /**
+   * Creates a factory whose transports send at most the given number of envelopes at once.
+   *
+   * @param maxRequestsInFlight the max number of requests in flight
+   */
+  public JdkHttpClientTransportFactory(final int maxRequestsInFlight) {
+    if (maxRequestsInFlight <= 0) {
+      throw new IllegalArgumentException("maxRequestsInFlight must be greater than 0");
+    }
+    this.maxRequestsInFlight = maxRequestsInFlight;
+  }
+
+  @Override
+  public @NotNull ITransport create(
+      final @NotNull SentryOptions options, final @NotNull RequestDetails requestDetails) {
+    Objects.requireNonNull(options, "options is required");
+    Objects.requireNonNull(requestDetails, "requestDetails is required");
+
+    // responses are handled on these threads, the client's selector thread is its own
+    final ExecutorService executor =
+        Executors.newCachedThreadPool(new JdkHttpClientThreadFactory());
+    final HttpClient.Builder builder =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofMillis(options.getConnectionTimeoutMillis()))
+            .executor(executor);
+    applyProxy(options, builder);
+
+    return new JdkHttpClientTransport(
+        options,
+        requestDetails,
+        builder.build(),
+        new RateLimiter(options.getLogger()),
+        maxRequestsInFlight != null ? maxRequestsInFlight : options.getMaxQueueSize(),
+        new ReusableCountLatch(),
+        executor);
+  }
+
+  private static void applyProxy(
+      final @NotNull SentryOptions options, final @NotNull HttpClient.Builder builder) {
+    final SentryOptions.Proxy proxy = options.getProxy();
+    final String host = proxy != null ? proxy.getHost() : null;
+    final String port = proxy != null ? proxy.getPort() : null;
+    if (proxy == null || host == null || port == null) {
+      return;
+    }
+    try {
+      builder.proxy(ProxySelector.of(new InetSocketAddress(host, Integer.parseInt(port))));
+    } catch (NumberFormatException e) {
+      options
+          .getLogger()
+          .log(
+              SentryLevel.ERROR,
+              e,
+              "Failed to parse Sentry Proxy port: " + port + ". Proxy is ignored");
+      return;
+    }
+    final String user = proxy.getUser();
+    final String password = proxy.getPass();
+    if (user != null && password != null) {
+      builder.authenticator(new ProxyAuthenticator(user, password));
+    }
+  }
+
+  private static final class ProxyAuthenticator extends Authenticator {
+    private final @NotNull String user;
+    private final @NotNull String password;
+
+    ProxyAuthenticator(final @NotNull String user, final @NotNull String password) {
+      this.user = user;
+      this.password = password;
+    }
+
+    @Override
+    protected @Nullable PasswordAuthentication getPasswordAuthentication() {
+      if (getRequestorType() == RequestorType.PROXY) {
+        return new PasswordAuthentication(user, password.toCharArray());
+      }
+      return null;
+    }
+  }
+
+  private static final class JdkHttpClientThreadFactory implements ThreadFactory {
+    private final @NotNull AtomicInteger cnt = new AtomicInteger();
+
+    @Override
+    public @NotNull Thread newThread(final @NotNull Runnable r) {
+      final Thread ret = new Thread(r, "SentryJdkHttpClient-" + cnt.getAndIncrement());
+      ret.setDaemon(true);
+      return ret;
+    }
+  }
+}
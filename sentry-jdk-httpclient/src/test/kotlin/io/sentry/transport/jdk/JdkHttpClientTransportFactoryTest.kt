@@ -0,0 +1,73 @@
+package io.sentry.transport.jdk
+
+import com.nhaarman.mockitokotlin2.mock
+import io.sentry.SentryOptions
+import io.sentry.test.getProperty
+import java.net.http.HttpClient
+import java.time.Duration
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+class JdkHttpClientTransportFactoryTest {
+
+    class Fixture {
+        fun getSut(options: SentryOptions = SentryOptions(), factory: JdkHttpClientTransportFactory = JdkHttpClientTransportFactory()) =
+            factory.create(options, mock()) as JdkHttpClientTransport
+    }
+
+    private val fixture = Fixture()
+
+    @Test
+    fun `creates HTTP2 client with the connection timeout of the options`() {
+        val client = fixture.getSut(SentryOptions().apply {
+            connectionTimeoutMillis = 1500
+        }).getClient()
+
+        assertEquals(HttpClient.Version.HTTP_2, client.version())
+        assertEquals(Duration.ofMillis(1500), client.connectTimeout().get())
+        assertFalse(client.proxy().isPresent)
+    }
+
+    @Test
+    fun `applies the proxy of the options`() {
+        val client = fixture.getSut(SentryOptions().apply {
+            proxy = SentryOptions.Proxy("localhost", "8090", "user", "pass")
+        }).getClient()
+
+        assertTrue(client.proxy().isPresent)
+        assertTrue(client.authenticator().isPresent)
+    }
+
+    @Test
+    fun `ignores the proxy if its port is invalid`() {
+        val client = fixture.getSut(SentryOptions().apply {
+            proxy = SentryOptions.Proxy("localhost", "xxx")
+        }).getClient()
+
+        assertFalse(client.proxy().isPresent)
+    }
+
+    @Test
+    fun `uses the max queue size as window of requests in flight by default`() {
+        val sut = fixture.getSut(SentryOptions().apply { maxQueueSize = 5 })
+
+        assertEquals(5, sut.getProperty<Int>("maxRequestsInFlight"))
+    }
+
+    @Test
+    fun `uses the window of requests in flight of the factory`() {
+        val sut = fixture.getSut(factory = JdkHttpClientTransportFactory(2))
+
+        assertEquals(2, sut.getProperty<Int>("maxRequestsInFlight"))
+    }
+
+    @Test
+    fun `window of requests in flight must be positive`() {
+        assertFailsWith<IllegalArgumentException> { JdkHttpClientTransportFactory(0) }
+    }
+
+    private fun JdkHttpClientTransport.getClient(): HttpClient = this.getProperty("httpClient")
+}
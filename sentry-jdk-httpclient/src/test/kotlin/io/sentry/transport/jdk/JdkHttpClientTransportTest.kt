@@ -0,0 +1,213 @@
+package io.sentry.transport.jdk
+
+import com.sun.net.httpserver.Headers
+import com.sun.net.httpserver.HttpServer
+import io.sentry.GsonSerializer
+import io.sentry.RequestDetails
+import io.sentry.SentryEnvelope
+import io.sentry.SentryEvent
+import io.sentry.SentryOptions
+import io.sentry.hints.DiskFlushNotification
+import io.sentry.hints.Retryable
+import io.sentry.hints.SubmissionResult
+import io.sentry.transport.ITransport
+import java.net.InetSocketAddress
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.zip.GZIPInputStream
+import kotlin.test.AfterTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+class JdkHttpClientTransportTest {
+
+    class Request(val path: String, val headers: Headers, val body: String)
+
+    class Fixture {
+        val options = SentryOptions().apply {
+            setSerializer(GsonSerializer(this))
+        }
+        val requests = CopyOnWriteArrayList<Request>()
+        var responseCode = 200
+        var responseHeaders = mapOf<String, String>()
+        var beforeResponse: () -> Unit = {}
+        val server: HttpServer = HttpServer.create(InetSocketAddress("localhost", 0), 0).apply {
+            createContext("/") { exchange ->
+                beforeResponse()
+                val body = GZIPInputStream(exchange.requestBody).readBytes().toString(Charsets.UTF_8)
+                val headers = Headers().apply { putAll(exchange.requestHeaders) }
+                requests.add(Request(exchange.requestURI.path, headers, body))
+                responseHeaders.forEach { (name, value) -> exchange.responseHeaders.add(name, value) }
+                exchange.sendResponseHeaders(responseCode, -1)
+                exchange.close()
+            }
+            executor = null
+            start()
+        }
+
+        fun getSut(maxRequestsInFlight: Int = 10): ITransport {
+            val url = "http://localhost:${server.address.port}/api/1/envelope/"
+            val requestDetails = RequestDetails(url, mapOf("X-Sentry-Auth" to "Sentry sentry_key=key"))
+            return JdkHttpClientTransportFactory(maxRequestsInFlight).create(options, requestDetails)
+        }
+
+        fun envelope(event: SentryEvent = SentryEvent()) = SentryEnvelope.from(options.serializer, event, null)
+    }
+
+    private class Hint : SubmissionResult, Retryable, DiskFlushNotification {
+        @Volatile
+        var success: Boolean? = null
+        @Volatile
+        private var retry = false
+        @Volatile
+        var flushed = false
+
+        override fun setResult(success: Boolean) {
+            this.success = success
+        }
+
+        override fun isSuccess() = success == true
+
+        override fun isRetry() = retry
+
+        override fun setRetry(retry: Boolean) {
+            this.retry = retry
+        }
+
+        override fun markFlushed() {
+            flushed = true
+        }
+    }
+
+    private val fixture = Fixture()
+
+    @AfterTest
+    fun `stop server`() {
+        fixture.server.stop(0)
+    }
+
+    @Test
+    fun `sends gzipped envelope with request details`() {
+        val sut = fixture.getSut()
+        val event = SentryEvent()
+
+        sut.send(fixture.envelope(event))
+        sut.flush(5000)
+
+        val request = fixture.requests.single()
+        assertEquals("/api/1/envelope/", request.path)
+        assertEquals("Sentry sentry_key=key", request.headers.getFirst("X-Sentry-Auth"))
+        assertEquals("gzip", request.headers.getFirst("Content-Encoding"))
+        assertEquals("application/x-sentry-envelope", request.headers.getFirst("Content-Type"))
+        assertTrue(request.body.contains(event.eventId.toString()))
+    }
+
+    @Test
+    fun `does not send envelopes that are rate limited by a previous response`() {
+        fixture.responseCode = 429
+        fixture.responseHeaders = mapOf("X-Sentry-Rate-Limits" to "60:error:key")
+        val sut = fixture.getSut()
+
+        sut.send(fixture.envelope())
+        sut.flush(5000)
+        sut.send(fixture.envelope())
+        sut.flush(5000)
+
+        assertEquals(1, fixture.requests.size)
+    }
+
+    @Test
+    fun `drops envelopes while the window of requests in flight is full`() {
+        val received = CountDownLatch(1)
+        val release = CountDownLatch(1)
+        fixture.beforeResponse = {
+            received.countDown()
+            release.await(5, TimeUnit.SECONDS)
+        }
+        val sut = fixture.getSut(maxRequestsInFlight = 1)
+
+        sut.send(fixture.envelope())
+        received.await(5, TimeUnit.SECONDS)
+        sut.send(fixture.envelope())
+        release.countDown()
+        sut.flush(5000)
+
+        assertEquals(1, fixture.requests.size)
+    }
+
+    @Test
+    fun `marks hint as successful and flushed when the envelope is sent`() {
+        val sut = fixture.getSut()
+        val hint = Hint()
+
+        sut.send(fixture.envelope(), hint)
+        sut.flush(5000)
+
+        assertEquals(true, hint.success)
+        assertFalse(hint.isRetry)
+        assertTrue(hint.flushed)
+    }
+
+    @Test
+    fun `marks hint as failed, retryable and flushed when the request fails`() {
+        fixture.responseCode = 500
+        val sut = fixture.getSut()
+        val hint = Hint()
+
+        sut.send(fixture.envelope(), hint)
+        sut.flush(5000)
+
+        assertEquals(false, hint.success)
+        assertTrue(hint.isRetry)
+        assertTrue(hint.flushed)
+    }
+
+    @Test
+    fun `marks hint as failed, retryable and flushed when the envelope is dropped`() {
+        val received = CountDownLatch(1)
+        val release = CountDownLatch(1)
+        fixture.beforeResponse = {
+            received.countDown()
+            release.await(5, TimeUnit.SECONDS)
+        }
+        val sut = fixture.getSut(maxRequestsInFlight = 1)
+        val hint = Hint()
+
+        sut.send(fixture.envelope())
+        received.await(5, TimeUnit.SECONDS)
+        sut.send(fixture.envelope(), hint)
+        release.countDown()
+        sut.flush(5000)
+
+        assertEquals(false, hint.success)
+        assertTrue(hint.isRetry)
+        assertTrue(hint.flushed)
+    }
+
+    @Test
+    fun `flush waits till all requests are finished`() {
+        fixture.beforeResponse = { Thread.sleep(50) }
+        val sut = fixture.getSut()
+
+        sut.send(fixture.envelope())
+        sut.send(fixture.envelope())
+        sut.send(fixture.envelope())
+        sut.flush(5000)
+
+        assertEquals(3, fixture.requests.size)
+    }
+
+    @Test
+    fun `close waits for requests in flight`() {
+        fixture.beforeResponse = { Thread.sleep(50) }
+        val sut = fixture.getSut()
+
+        sut.send(fixture.envelope())
+        sut.close()
+
+        assertEquals(1, fixture.requests.size)
+    }
+}
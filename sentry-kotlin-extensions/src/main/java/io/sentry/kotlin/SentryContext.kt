@@ -8,6 +8,11 @@ import kotlinx.coroutines.ThreadContextElement
 
 /**
  * Sentry context element for [CoroutineContext].
+ *
+ * The hub is cloned when the element is created, so the coroutine sees the scope as it was at that
+ * point even if it outlives the thread it was started from. Child coroutines inherit the element
+ * and with it the same hub, and a [SentryContext] created inside a coroutine starts from the hub of
+ * that coroutine.
  */
 public class SentryContext : ThreadContextElement<IHub>, AbstractCoroutineContextElement(Key) {
 
@@ -17,11 +22,16 @@ public class SentryContext : ThreadContextElement<IHub>, AbstractCoroutineContex
 
     override fun updateThreadContext(context: CoroutineContext): IHub {
         val oldState = Sentry.getCurrentHub()
-        Sentry.setCurrentHub(hub)
+        // resuming on a thread that already runs this coroutine's hub needs no thread local write
+        if (oldState !== hub) {
+            Sentry.setCurrentHub(hub)
+        }
         return oldState
     }
 
     override fun restoreThreadContext(context: CoroutineContext, oldState: IHub) {
-        Sentry.setCurrentHub(oldState)
+        if (oldState !== hub) {
+            Sentry.setCurrentHub(oldState)
+        }
     }
 }
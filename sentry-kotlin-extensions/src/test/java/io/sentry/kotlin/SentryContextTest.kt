@@ -6,6 +6,7 @@ import kotlin.test.BeforeTest
 import kotlin.test.Test
 import kotlin.test.assertEquals
 import kotlin.test.assertNull
+import kotlin.test.assertSame
 import kotlinx.coroutines.joinAll
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.runBlocking
@@ -80,6 +81,25 @@ class SentryContextTest {
         }
     }
 
+    @Test
+    fun testHubIsClonedWhenContextIsCreated() {
+        val context = SentryContext()
+        Sentry.setTag("myKey", "myValue")
+        runBlocking(context) {
+            assertNull(getTag("myKey"))
+        }
+    }
+
+    @Test
+    fun testContextIsRestoredAfterCoroutine() {
+        val hub = Sentry.getCurrentHub()
+        runBlocking(SentryContext()) {
+            Sentry.setTag("myKey", "myValue")
+        }
+        assertSame(hub, Sentry.getCurrentHub())
+        assertNull(getTag("myKey"))
+    }
+
     private fun getTag(tag: String): String? {
         var value: String? = null
         Sentry.configureScope {
@@ -0,0 +1,182 @@
+package io.sentry.servlet;
+
+import com.jakewharton.nopen.annotation.Open;
+import io.sentry.HubAdapter;
+import io.sentry.IHub;
+import io.sentry.RequestBodyBuffer;
+import io.sentry.util.Objects;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Captures the beginning of request bodies, up to {@link
+ * io.sentry.SentryOptions#getMaxRequestBodySize()} bytes, while the application reads them. The
+ * body is attached to events captured during the request and is not kept once the request has
+ * completed. The Spring integration registers this filter as well.
+ */
+@Open
+public class SentryRequestBodyFilter implements Filter {
+  private final @NotNull IHub hub;
+
+  public SentryRequestBodyFilter() {
+    this(HubAdapter.getInstance());
+  }
+
+  public SentryRequestBodyFilter(final @NotNull IHub hub) {
+    this.hub = Objects.requireNonNull(hub, "hub is required");
+  }
+
+  @Override
+  public void doFilter(
+      final @NotNull ServletRequest request,
+      final @NotNull ServletResponse response,
+      final @NotNull FilterChain chain)
+      throws IOException, ServletException {
+    final int maxRequestBodySize = hub.getOptions().getMaxRequestBodySize();
+    if (maxRequestBodySize <= 0
+        || !hub.isEnabled()
+        || !(request instanceof HttpServletRequest)
+        || request.getAttribute(RequestBodyBuffer.REQUEST_ATTRIBUTE) != null) {
+      chain.doFilter(request, response);
+      return;
+    }
+
+    final RequestBodyBuffer body = new RequestBodyBuffer(maxRequestBodySize);
+    request.setAttribute(RequestBodyBuffer.REQUEST_ATTRIBUTE, body);
+    try {
+      chain.doFilter(new BodyCapturingRequest((HttpServletRequest) request, body), response);
+    } finally {
+      request.removeAttribute(RequestBodyBuffer.REQUEST_ATTRIBUTE);
+      body.release();
+    }
+  }
+
+  /**
+   * Returns the charset of the request body
+   *
+   * @param request the request
+   * @return the charset, UTF-8 if the request doesn't declare it or it's not supported
+   */
+  @ApiStatus.Internal
+  public static @NotNull Charset charsetOf(final @NotNull ServletRequest request) {
+    final String encoding = request.getCharacterEncoding();
+    try {
+      return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+    } catch (IllegalArgumentException e) {
+      return StandardCharsets.UTF_8;
+    }
+  }
+
+  /**
+   * Wraps the body of the request once, either as a stream or as a reader. As with the request of
+   * the container, only one of them can be used.
+   */
+  private static final class BodyCapturingRequest extends HttpServletRequestWrapper {
+    private final @NotNull RequestBodyBuffer body;
+    private @Nullable ServletInputStream inputStream;
+    private @Nullable BufferedReader reader;
+
+    BodyCapturingRequest(
+        final @NotNull HttpServletRequest request, final @NotNull RequestBodyBuffer body) {
+      super(request);
+      this.body = body;
+    }
+
+    @Override
+    public @NotNull ServletInputStream getInputStream() throws IOException {
+      if (reader != null) {
+        throw new IllegalStateException("getReader() has already been called for this request");
+      }
+      if (inputStream == null) {
+        inputStream = new BodyCapturingInputStream(super.getInputStream(), body);
+      }
+      return inputStream;
+    }
+
+    @Override
+    public @NotNull BufferedReader getReader() throws IOException {
+      if (inputStream != null) {
+        throw new IllegalStateException(
+            "getInputStream() has already been called for this request");
+      }
+      if (reader == null) {
+        reader =
+            new BufferedReader(
+                new InputStreamReader(
+                    new BodyCapturingInputStream(super.getInputStream(), body),
+                    charsetOf(getRequest())));
+      }
+      return reader;
+    }
+  }
+
+  /** Tees the bytes read by the application into the {@link RequestBodyBuffer}. */
+  private static final class BodyCapturingInputStream extends ServletInputStream {
+    private final @NotNull ServletInputStream delegate;
+    private final @NotNull RequestBodyBuffer body;
+
+    BodyCapturingInputStream(
+        final @NotNull ServletInputStream delegate, final @NotNull RequestBodyBuffer body) {
+      this.delegate = delegate;
+      this.body = body;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final int b = delegate.read();
+      if (b != -1) {
+        body.write(b);
+      }
+      return b;
+    }
+
+    @Override
+    public int read(final @NotNull byte[] b, final int off, final int len) throws IOException {
+      final int count = delegate.read(b, off, len);
+      if (count > 0 && !body.isFull()) {
+        body.write(b, off, count);
+      }
+      return count;
+    }
+
+    @Override
+    public int available() throws IOException {
+      return delegate.available();
+    }
+
+    @Override
+    public boolean isFinished() {
+      return delegate.isFinished();
+    }
+
+    @Override
+    public boolean isReady() {
+      return delegate.isReady();
+    }
+
+    @Override
+    public void setReadListener(final @NotNull ReadListener readListener) {
+      delegate.setReadListener(readListener);
+    }
+
+    @Override
+    public void close() throws IOException {
+      delegate.close();
+    }
+  }
+}
@@ -1,29 +1,30 @@
 package io.sentry.servlet;
 
 import io.sentry.EventProcessor;
+import io.sentry.RequestBodyBuffer;
+import io.sentry.RequestHeaderPolicy;
 import io.sentry.SentryEvent;
+import io.sentry.SentryOptions;
 import io.sentry.protocol.Request;
 import io.sentry.util.Objects;
-import java.util.Arrays;
-import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import javax.servlet.http.HttpServletRequest;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-/** Attaches information about HTTP request to {@link SentryEvent}. */
+/**
+ * Attaches information about HTTP request to {@link SentryEvent}, including the body captured by
+ * {@link SentryRequestBodyFilter}.
+ */
 final class SentryRequestHttpServletRequestProcessor implements EventProcessor {
-  private static final List<String> SENSITIVE_HEADERS =
-      Arrays.asList("X-FORWARDED-FOR", "AUTHORIZATION", "COOKIE");
-
   private final @NotNull HttpServletRequest httpRequest;
+  private final @NotNull SentryOptions options;
 
-  public SentryRequestHttpServletRequestProcessor(@NotNull HttpServletRequest httpRequest) {
+  public SentryRequestHttpServletRequestProcessor(
+      final @NotNull HttpServletRequest httpRequest, final @NotNull SentryOptions options) {
     this.httpRequest = Objects.requireNonNull(httpRequest, "httpRequest is required");
+    this.options = Objects.requireNonNull(options, "options is required");
   }
 
   // httpRequest.getRequestURL() returns StringBuffer which is considered an obsolete class.
@@ -36,23 +37,32 @@ final class SentryRequestHttpServletRequestProcessor implements EventProcessor {
     sentryRequest.setUrl(httpRequest.getRequestURL().toString());
     sentryRequest.setHeaders(resolveHeadersMap(httpRequest));
 
+    final Object body = httpRequest.getAttribute(RequestBodyBuffer.REQUEST_ATTRIBUTE);
+    if (body instanceof RequestBodyBuffer) {
+      sentryRequest.setData(
+          ((RequestBodyBuffer) body).read(SentryRequestBodyFilter.charsetOf(httpRequest)));
+    }
+
     event.setRequest(sentryRequest);
     return event;
   }
 
   private @NotNull Map<String, String> resolveHeadersMap(
       final @NotNull HttpServletRequest request) {
-    final Map<String, String> headersMap = new HashMap<>();
-    for (String headerName : Collections.list(request.getHeaderNames())) {
-      // do not copy personal information identifiable headers
-      if (!SENSITIVE_HEADERS.contains(headerName.toUpperCase(Locale.ROOT))) {
-        headersMap.put(headerName, toString(request.getHeaders(headerName)));
+    // the servlet integration always left out the sensitive headers, they are only attached with
+    // sendDefaultPii once request header includes or excludes are configured
+    final RequestHeaderPolicy.Collector headers =
+        options.getRequestHeaderPolicy().newCollectorExcludingSensitiveHeaders();
+    final Enumeration<String> headerNames = request.getHeaderNames();
+    if (headerNames != null) {
+      while (headerNames.hasMoreElements() && !headers.isFull()) {
+        final String headerName = headerNames.nextElement();
+        // values are read only for the headers the policy retains
+        if (headers.accepts(headerName)) {
+          headers.add(headerName, request.getHeaders(headerName));
+        }
       }
     }
-    return headersMap;
-  }
-
-  private static @Nullable String toString(final @Nullable Enumeration<String> enumeration) {
-    return enumeration != null ? String.join(",", Collections.list(enumeration)) : null;
+    return headers.getHeaders();
   }
 }
@@ -2,6 +2,7 @@ package io.sentry.servlet;
 
 import com.jakewharton.nopen.annotation.Open;
 import java.util.Set;
+import javax.servlet.FilterRegistration;
 import javax.servlet.ServletContainerInitializer;
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
@@ -9,14 +10,36 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * Servlet container initializer used to add the {@link SentryServletRequestListener} to the {@link
- * ServletContext}.
+ * Servlet container initializer used to add the {@link SentryServletRequestListener} and the {@link
+ * SentryRequestBodyFilter} to the {@link ServletContext}. When the Spring integration is present it
+ * adds its own request listener, so only the filter is added.
  */
 @Open
 public class SentryServletContainerInitializer implements ServletContainerInitializer {
+  private static final String SPRING_INITIALIZER =
+      "io.sentry.spring.SentrySpringServletContainerInitializer";
+
   @Override
   public void onStartup(@Nullable Set<Class<?>> c, @NotNull ServletContext ctx)
       throws ServletException {
-    ctx.addListener(SentryServletRequestListener.class);
+    if (!isSpringIntegrationPresent()) {
+      ctx.addListener(SentryServletRequestListener.class);
+    }
+    final FilterRegistration.Dynamic bodyFilter =
+        ctx.addFilter("sentryRequestBodyFilter", SentryRequestBodyFilter.class);
+    // null if the application has registered the filter itself
+    if (bodyFilter != null) {
+      bodyFilter.addMappingForUrlPatterns(null, false, "/*");
+    }
+  }
+
+  private static boolean isSpringIntegrationPresent() {
+    try {
+      Class.forName(
+          SPRING_INITIALIZER, false, SentryServletContainerInitializer.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
   }
 }
@@ -30,12 +30,19 @@ public class SentryServletRequestListener implements ServletRequestListener {
 
   @Override
   public void requestDestroyed(@NotNull ServletRequestEvent servletRequestEvent) {
+    if (hub.getOptions().isEnableSessionAggregation()) {
+      hub.endSession();
+    }
     hub.popScope();
   }
 
   @Override
   public void requestInitialized(@NotNull ServletRequestEvent servletRequestEvent) {
     hub.pushScope();
+    if (hub.getOptions().isEnableSessionAggregation()) {
+      // a session per request, only its outcome is counted
+      hub.startSession();
+    }
 
     final ServletRequest servletRequest = servletRequestEvent.getServletRequest();
     if (servletRequest instanceof HttpServletRequest) {
@@ -45,7 +52,8 @@ public class SentryServletRequestListener implements ServletRequestListener {
 
       hub.configureScope(
           scope -> {
-            scope.addEventProcessor(new SentryRequestHttpServletRequestProcessor(httpRequest));
+            scope.addEventProcessor(
+                new SentryRequestHttpServletRequestProcessor(httpRequest, hub.getOptions()));
           });
     }
   }
@@ -0,0 +1,114 @@
+package io.sentry.servlet
+
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.whenever
+import io.sentry.IHub
+import io.sentry.RequestBodyBuffer
+import io.sentry.SentryOptions
+import javax.servlet.FilterChain
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertNull
+import kotlin.test.assertSame
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+
+class SentryRequestBodyFilterTest {
+    private class Fixture {
+        val hub = mock<IHub>()
+        val options = SentryOptions()
+        val request = MockHttpServletRequest("POST", "http://localhost/hello")
+        val response = MockHttpServletResponse()
+
+        init {
+            request.setContent("hello world".toByteArray())
+        }
+
+        fun getSut(maxRequestBodySize: Int = 0): SentryRequestBodyFilter {
+            options.maxRequestBodySize = maxRequestBodySize
+            whenever(hub.options).thenReturn(options)
+            whenever(hub.isEnabled).thenReturn(true)
+            return SentryRequestBodyFilter(hub)
+        }
+    }
+
+    private val fixture = Fixture()
+
+    @Test
+    fun `captures the beginning of the body read by the application`() {
+        val sut = fixture.getSut(maxRequestBodySize = 5)
+        var captured: String? = null
+
+        sut.doFilter(fixture.request, fixture.response, FilterChain { request, _ ->
+            assertEquals("hello world", String(request.inputStream.readBytes()))
+            val body = request.getAttribute(RequestBodyBuffer.REQUEST_ATTRIBUTE) as RequestBodyBuffer
+            captured = body.read(Charsets.UTF_8)
+        })
+
+        assertEquals("hello", captured)
+        assertNull(fixture.request.getAttribute(RequestBodyBuffer.REQUEST_ATTRIBUTE))
+    }
+
+    @Test
+    fun `captures the body read through the reader`() {
+        val sut = fixture.getSut(maxRequestBodySize = 100)
+        var captured: String? = null
+
+        sut.doFilter(fixture.request, fixture.response, FilterChain { request, _ ->
+            assertEquals("hello world", request.reader.readText())
+            val body = request.getAttribute(RequestBodyBuffer.REQUEST_ATTRIBUTE) as RequestBodyBuffer
+            captured = body.read(Charsets.UTF_8)
+        })
+
+        assertEquals("hello world", captured)
+    }
+
+    @Test
+    fun `when max request body size is not set, request is not wrapped`() {
+        val sut = fixture.getSut()
+
+        sut.doFilter(fixture.request, fixture.response, FilterChain { request, _ ->
+            assertSame(fixture.request, request)
+            assertNull(request.getAttribute(RequestBodyBuffer.REQUEST_ATTRIBUTE))
+        })
+    }
+
+    @Test
+    fun `the wrapped input stream reports the bytes available of the request`() {
+        val sut = fixture.getSut(maxRequestBodySize = 5)
+
+        sut.doFilter(fixture.request, fixture.response, FilterChain { request, _ ->
+            assertEquals(fixture.request.inputStream.available(), request.inputStream.available())
+        })
+    }
+
+    @Test
+    fun `the reader is created once`() {
+        val sut = fixture.getSut(maxRequestBodySize = 100)
+        var captured: String? = null
+
+        sut.doFilter(fixture.request, fixture.response, FilterChain { request, _ ->
+            assertEquals('h', request.reader.read().toChar())
+            assertEquals("ello world", request.reader.readText())
+            val body = request.getAttribute(RequestBodyBuffer.REQUEST_ATTRIBUTE) as RequestBodyBuffer
+            captured = body.read(Charsets.UTF_8)
+        })
+
+        assertEquals("hello world", captured)
+    }
+
+    @Test
+    fun `the input stream and the reader can not both be used`() {
+        val sut = fixture.getSut(maxRequestBodySize = 100)
+
+        sut.doFilter(fixture.request, fixture.response, FilterChain { request, _ ->
+            request.inputStream
+            assertFailsWith<IllegalStateException> { request.reader }
+        })
+        sut.doFilter(MockHttpServletRequest("POST", "http://localhost/hello"), fixture.response, FilterChain { request, _ ->
+            request.reader
+            assertFailsWith<IllegalStateException> { request.inputStream }
+        })
+    }
+}
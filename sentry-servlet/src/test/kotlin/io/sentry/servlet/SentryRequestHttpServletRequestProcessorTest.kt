@@ -1,5 +1,6 @@
 package io.sentry.servlet
 
+import io.sentry.RequestBodyBuffer
 import io.sentry.SentryEvent
 import io.sentry.SentryOptions
 import java.net.URI
@@ -21,7 +22,7 @@ class SentryRequestHttpServletRequestProcessorTest {
             .header("some-header", "some-header value")
             .accept("application/json")
             .buildRequest(MockServletContext())
-        val eventProcessor = SentryRequestHttpServletRequestProcessor(request)
+        val eventProcessor = SentryRequestHttpServletRequestProcessor(request, SentryOptions())
         val event = SentryEvent()
 
         eventProcessor.process(event, null)
@@ -44,7 +45,7 @@ class SentryRequestHttpServletRequestProcessorTest {
             .header("another-header", "another value")
             .header("another-header", "another value2")
             .buildRequest(MockServletContext())
-        val eventProcessor = SentryRequestHttpServletRequestProcessor(request)
+        val eventProcessor = SentryRequestHttpServletRequestProcessor(request, SentryOptions())
         val event = SentryEvent()
 
         eventProcessor.process(event, null)
@@ -64,7 +65,7 @@ class SentryRequestHttpServletRequestProcessorTest {
             .buildRequest(MockServletContext())
         val sentryOptions = SentryOptions()
         sentryOptions.isSendDefaultPii = false
-        val eventProcessor = SentryRequestHttpServletRequestProcessor(request)
+        val eventProcessor = SentryRequestHttpServletRequestProcessor(request, sentryOptions)
         val event = SentryEvent()
 
         eventProcessor.process(event, null)
@@ -86,7 +87,7 @@ class SentryRequestHttpServletRequestProcessorTest {
             .buildRequest(MockServletContext())
         val sentryOptions = SentryOptions()
         sentryOptions.isSendDefaultPii = false
-        val eventProcessor = SentryRequestHttpServletRequestProcessor(request)
+        val eventProcessor = SentryRequestHttpServletRequestProcessor(request, sentryOptions)
         val event = SentryEvent()
 
         eventProcessor.process(event, null)
@@ -101,4 +102,88 @@ class SentryRequestHttpServletRequestProcessorTest {
             }
         }
     }
+
+    @Test
+    fun `does not attach sensitive headers when sendDefaultPii is set`() {
+        val request = MockMvcRequestBuilders
+            .get(URI.create("http://example.com"))
+            .header("some-header", "some-header value")
+            .header("Authorization", "Token")
+            .header("Cookie", "some cookies")
+            .buildRequest(MockServletContext())
+        val sentryOptions = SentryOptions()
+        sentryOptions.isSendDefaultPii = true
+        val eventProcessor = SentryRequestHttpServletRequestProcessor(request, sentryOptions)
+        val event = SentryEvent()
+
+        eventProcessor.process(event, null)
+
+        assertNotNull(event.request) {
+            assertEquals(mapOf("some-header" to "some-header value"), it.headers)
+        }
+    }
+
+    @Test
+    fun `attaches sensitive headers when sendDefaultPii is set and header options are configured`() {
+        val request = MockMvcRequestBuilders
+            .get(URI.create("http://example.com"))
+            .header("Authorization", "Token")
+            .header("X-Api-Key", "key")
+            .buildRequest(MockServletContext())
+        val sentryOptions = SentryOptions()
+        sentryOptions.isSendDefaultPii = true
+        sentryOptions.addRequestHeaderExclude("X-Api-Key")
+        val eventProcessor = SentryRequestHttpServletRequestProcessor(request, sentryOptions)
+        val event = SentryEvent()
+
+        eventProcessor.process(event, null)
+
+        assertNotNull(event.request) {
+            assertEquals(mapOf("Authorization" to "Token"), it.headers)
+        }
+    }
+
+    @Test
+    fun `attaches body captured by SentryRequestBodyFilter`() {
+        val request = MockMvcRequestBuilders
+            .post(URI.create("http://example.com"))
+            .buildRequest(MockServletContext())
+        val body = RequestBodyBuffer(5)
+        val bytes = "hello world".toByteArray()
+        body.write(bytes, 0, bytes.size)
+        request.setAttribute(RequestBodyBuffer.REQUEST_ATTRIBUTE, body)
+        val eventProcessor = SentryRequestHttpServletRequestProcessor(request, SentryOptions())
+        val event = SentryEvent()
+
+        eventProcessor.process(event, null)
+
+        assertNotNull(event.request) {
+            assertEquals("hello", it.data)
+        }
+    }
+
+    @Test
+    fun `attaches only the headers allowed by the request header options`() {
+        val request = MockMvcRequestBuilders
+            .get(URI.create("http://example.com"))
+            .header("some-header", "some-header value")
+            .header("another-header", "another value")
+            .header("long-header", "x".repeat(10))
+            .buildRequest(MockServletContext())
+        val sentryOptions = SentryOptions().apply {
+            addRequestHeaderExclude("Another-Header")
+            maxRequestHeaderValueLength = 5
+        }
+        val eventProcessor = SentryRequestHttpServletRequestProcessor(request, sentryOptions)
+        val event = SentryEvent()
+
+        eventProcessor.process(event, null)
+
+        assertNotNull(event.request) {
+            assertEquals(mapOf(
+                "some-header" to "some-",
+                "long-header" to "xxxxx"
+            ), it.headers)
+        }
+    }
 }
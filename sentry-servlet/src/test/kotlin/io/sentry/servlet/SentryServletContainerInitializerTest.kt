@@ -20,4 +20,11 @@ class SentryServletContainerInitializerTest {
             assertThat(it).isEqualTo(SentryServletRequestListener::class.java)
         })
     }
+
+    @Test
+    fun `adds SentryRequestBodyFilter on startup`() {
+        val servletContext = mock<ServletContext>()
+        initializer.onStartup(null, servletContext)
+        verify(servletContext).addFilter("sentryRequestBodyFilter", SentryRequestBodyFilter::class.java)
+    }
 }
@@ -1,11 +1,13 @@
 package io.sentry.servlet
 
 import com.nhaarman.mockitokotlin2.check
+import com.nhaarman.mockitokotlin2.inOrder
 import com.nhaarman.mockitokotlin2.mock
 import com.nhaarman.mockitokotlin2.verify
 import com.nhaarman.mockitokotlin2.whenever
 import io.sentry.Breadcrumb
 import io.sentry.IHub
+import io.sentry.SentryOptions
 import javax.servlet.ServletRequestEvent
 import kotlin.test.Test
 import org.assertj.core.api.Assertions.assertThat
@@ -13,6 +15,7 @@ import org.springframework.mock.web.MockHttpServletRequest
 
 class SentryServletRequestListenerTest {
     private class Fixture {
+        val options = SentryOptions()
         val hub = mock<IHub>()
         val listener = SentryServletRequestListener(hub)
         val request = MockHttpServletRequest()
@@ -22,6 +25,7 @@ class SentryServletRequestListenerTest {
             request.requestURI = "http://localhost:8080/some-uri"
             request.method = "post"
             whenever(event.servletRequest).thenReturn(request)
+            whenever(hub.options).thenReturn(options)
         }
     }
 
@@ -51,4 +55,17 @@ class SentryServletRequestListenerTest {
 
         verify(fixture.hub).popScope()
     }
+
+    @Test
+    fun `tracks a session per request when sessions are aggregated`() {
+        fixture.options.isEnableSessionAggregation = true
+        fixture.listener.requestInitialized(fixture.event)
+        fixture.listener.requestDestroyed(fixture.event)
+
+        val order = inOrder(fixture.hub)
+        order.verify(fixture.hub).pushScope()
+        order.verify(fixture.hub).startSession()
+        order.verify(fixture.hub).endSession()
+        order.verify(fixture.hub).popScope()
+    }
 }
@@ -36,6 +36,7 @@ dependencies {
     api(project(":sentry-spring"))
     compileOnly(project(":sentry-logback"))
     compileOnly(project(":sentry-apache-http-client-5"))
+    compileOnly(project(":sentry-servlet"))
     implementation(Config.Libs.springBootStarter)
     compileOnly(Config.Libs.springWeb)
     compileOnly(Config.Libs.servletApi)
@@ -56,6 +57,7 @@ dependencies {
     // tests
     testImplementation(project(":sentry-logback"))
     testImplementation(project(":sentry-apache-http-client-5"))
+    testImplementation(project(":sentry-servlet"))
     testImplementation(project(":sentry-test-support"))
     testImplementation(kotlin(Config.kotlinStdLib))
     testImplementation(Config.TestLibs.kotlinTestJunit)
@@ -9,6 +9,7 @@ import io.sentry.Integration;
 import io.sentry.Sentry;
 import io.sentry.SentryOptions;
 import io.sentry.protocol.SdkVersion;
+import io.sentry.servlet.SentryRequestBodyFilter;
 import io.sentry.spring.SentryExceptionResolver;
 import io.sentry.spring.SentryRequestResolver;
 import io.sentry.spring.SentrySpringRequestListener;
@@ -124,6 +125,28 @@ public class SentryAutoConfiguration {
     @Open
     static class SentryWebMvcConfiguration {
 
+      /**
+       * Configures {@link SentryRequestBodyFilter} when {@code sentry.max-request-body-size} is set
+       * and sentry-servlet is on the classpath. It runs first, so it sees the body before any
+       * other filter reads it.
+       */
+      @Configuration(proxyBeanMethods = false)
+      @ConditionalOnClass(SentryRequestBodyFilter.class)
+      @ConditionalOnProperty(name = "sentry.max-request-body-size")
+      @Open
+      static class SentryRequestBodyFilterConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(name = "sentryRequestBodyFilter")
+        public @NotNull FilterRegistrationBean<SentryRequestBodyFilter> sentryRequestBodyFilter(
+            final @NotNull IHub hub) {
+          final FilterRegistrationBean<SentryRequestBodyFilter> filter =
+              new FilterRegistrationBean<>(new SentryRequestBodyFilter(hub));
+          filter.setOrder(Ordered.HIGHEST_PRECEDENCE);
+          return filter;
+        }
+      }
+
       @Configuration(proxyBeanMethods = false)
       @ConditionalOnClass(SecurityContextHolder.class)
       @Open
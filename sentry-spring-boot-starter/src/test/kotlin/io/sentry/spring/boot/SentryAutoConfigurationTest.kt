@@ -19,6 +19,7 @@ import io.sentry.SentryEvent
 import io.sentry.SentryLevel
 import io.sentry.SentryOptions
 import io.sentry.protocol.User
+import io.sentry.servlet.SentryRequestBodyFilter
 import io.sentry.spring.HttpServletRequestSentryUserProvider
 import io.sentry.spring.SentryUserFilter
 import io.sentry.spring.SentryUserProvider
@@ -471,6 +472,23 @@ class SentryAutoConfigurationTest {
             }
     }
 
+    @Test
+    fun `when max request body size is set, creates sentryRequestBodyFilter`() {
+        contextRunner.withPropertyValues("sentry.dsn=http://key@localhost/proj", "sentry.max-request-body-size=1024")
+            .run {
+                assertThat(it).hasBean("sentryRequestBodyFilter")
+            }
+    }
+
+    @Test
+    fun `when sentry-servlet is not on the classpath, does not create sentryRequestBodyFilter`() {
+        contextRunner.withPropertyValues("sentry.dsn=http://key@localhost/proj", "sentry.max-request-body-size=1024")
+            .withClassLoader(FilteredClassLoader(SentryRequestBodyFilter::class.java))
+            .run {
+                assertThat(it).doesNotHaveBean("sentryRequestBodyFilter")
+            }
+    }
+
     @Test
     fun `when tracing is enabled and custom sentryTransactionPointcut is provided, sentryTransactionPointcut bean is not created`() {
         contextRunner.withPropertyValues("sentry.dsn=http://key@localhost/proj", "sentry.enable-tracing=true")
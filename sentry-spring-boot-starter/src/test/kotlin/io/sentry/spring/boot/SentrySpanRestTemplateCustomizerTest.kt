@@ -177,4 +177,36 @@ class SentrySpanRestTemplateCustomizerTest {
             assertEquals("GET", it.data["method"])
         })
     }
+
+    @Test
+    fun `when transaction is not sampled, propagates the sampling decision without creating span`() {
+        val transaction = SentryTracer(TransactionContext("aTransaction", "op", false), fixture.hub)
+        whenever(fixture.hub.span).thenReturn(transaction)
+        fixture.customizer.customize(fixture.restTemplate)
+        fixture.mockServer.expect(MockRestRequestMatchers.requestTo("/test/123"))
+            .andExpect {
+                assertThat(it.headers["sentry-trace"]!!.first()).isEqualTo(transaction.toSentryTrace().value)
+            }
+            .andRespond(MockRestResponseCreators.withStatus(HttpStatus.OK).body("OK").contentType(MediaType.APPLICATION_JSON))
+
+        fixture.restTemplate.getForObject("/test/{id}", String::class.java, 123)
+
+        assertThat(transaction.spans).isEmpty()
+    }
+
+    @Test
+    fun `when url does not match tracing origins, does not create span nor add sentry trace header`() {
+        fixture.sentryOptions.addTracingOrigin("sentry.io")
+        whenever(fixture.hub.span).thenReturn(fixture.transaction)
+        fixture.customizer.customize(fixture.restTemplate)
+        fixture.mockServer.expect(MockRestRequestMatchers.requestTo("/test/123"))
+            .andExpect {
+                assertThat(it.headers["sentry-trace"]).isNull()
+            }
+            .andRespond(MockRestResponseCreators.withStatus(HttpStatus.OK).body("OK").contentType(MediaType.APPLICATION_JSON))
+
+        fixture.restTemplate.getForObject("/test/{id}", String::class.java, 123)
+
+        assertThat(fixture.transaction.spans).isEmpty()
+    }
 }
@@ -38,6 +38,7 @@ dependencies {
     compileOnly(Config.Libs.springSecurityWeb)
     compileOnly(Config.Libs.aspectj)
     compileOnly(Config.Libs.servletApi)
+    compileOnly(project(":sentry-servlet"))
 
     compileOnly(Config.Libs.springWebflux)
 
@@ -50,6 +51,7 @@ dependencies {
 
     // tests
     testImplementation(project(":sentry-test-support"))
+    testImplementation(project(":sentry-servlet"))
     testImplementation(kotlin(Config.kotlinStdLib))
     testImplementation(Config.TestLibs.kotlinTestJunit)
     testImplementation(Config.TestLibs.mockitoKotlin)
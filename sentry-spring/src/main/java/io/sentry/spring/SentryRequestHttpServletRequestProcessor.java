@@ -2,22 +2,44 @@ package io.sentry.spring;
 
 import com.jakewharton.nopen.annotation.Open;
 import io.sentry.EventProcessor;
+import io.sentry.RequestBodyBuffer;
+import io.sentry.SentryBaseEvent;
 import io.sentry.SentryEvent;
+import io.sentry.protocol.Request;
+import io.sentry.protocol.SentryTransaction;
+import io.sentry.servlet.SentryRequestBodyFilter;
 import io.sentry.spring.tracing.TransactionNameProvider;
 import io.sentry.util.Objects;
 import javax.servlet.http.HttpServletRequest;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-/** Attaches transaction name from the HTTP request to {@link SentryEvent}. */
+/**
+ * Attaches transaction name and, if a {@link SentryRequestResolver} is given, the request
+ * information from the HTTP request to {@link SentryEvent} and {@link SentryTransaction}.
+ *
+ * <p>The request information is resolved only when the first event or transaction is processed,
+ * so requests that don't produce any pay nothing for it. Events also get the request body captured
+ * by {@link SentryRequestBodyFilter}, if sentry-servlet is on the classpath and the filter is
+ * registered.
+ */
 @Open
 public class SentryRequestHttpServletRequestProcessor implements EventProcessor {
   private final @NotNull HttpServletRequest request;
+  private final @Nullable SentryRequestResolver requestResolver;
   private final @NotNull TransactionNameProvider transactionNameProvider =
       new TransactionNameProvider();
+  private @Nullable Request sentryRequest;
 
   public SentryRequestHttpServletRequestProcessor(final @NotNull HttpServletRequest request) {
+    this(request, null);
+  }
+
+  public SentryRequestHttpServletRequestProcessor(
+      final @NotNull HttpServletRequest request,
+      final @Nullable SentryRequestResolver requestResolver) {
     this.request = Objects.requireNonNull(request, "request is required");
+    this.requestResolver = requestResolver;
   }
 
   @Override
@@ -26,6 +48,46 @@ public class SentryRequestHttpServletRequestProcessor implements EventProcessor
     if (event.getTransaction() == null) {
       event.setTransaction(transactionNameProvider.provideTransactionName(request));
     }
+    attachRequest(event);
+    attachBody(event);
     return event;
   }
+
+  @Override
+  public @NotNull SentryTransaction process(
+      final @NotNull SentryTransaction transaction, final @Nullable Object hint) {
+    attachRequest(transaction);
+    return transaction;
+  }
+
+  private void attachRequest(final @NotNull SentryBaseEvent event) {
+    if (requestResolver != null && event.getRequest() == null) {
+      if (sentryRequest == null) {
+        sentryRequest = requestResolver.resolveSentryRequest(request);
+      }
+      event.setRequest(sentryRequest);
+    }
+  }
+
+  /**
+   * Attaches the body captured by {@link SentryRequestBodyFilter} so far. Only events get it, and
+   * on a copy of the request as it's shared with the transaction.
+   */
+  private void attachBody(final @NotNull SentryEvent event) {
+    final Request eventRequest = event.getRequest();
+    if (eventRequest == null || eventRequest.getData() != null) {
+      return;
+    }
+    final Object body = request.getAttribute(RequestBodyBuffer.REQUEST_ATTRIBUTE);
+    // the body is only set by SentryRequestBodyFilter, so sentry-servlet is present past this check
+    if (body instanceof RequestBodyBuffer) {
+      final String data =
+          ((RequestBodyBuffer) body).read(SentryRequestBodyFilter.charsetOf(request));
+      if (data != null) {
+        final Request requestWithBody = new Request(eventRequest);
+        requestWithBody.setData(data);
+        event.setRequest(requestWithBody);
+      }
+    }
+  }
 }
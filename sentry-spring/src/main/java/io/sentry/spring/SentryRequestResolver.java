@@ -2,14 +2,11 @@ package io.sentry.spring;
 
 import com.jakewharton.nopen.annotation.Open;
 import io.sentry.IHub;
+import io.sentry.RequestHeaderPolicy;
 import io.sentry.protocol.Request;
 import io.sentry.util.Objects;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import javax.servlet.http.HttpServletRequest;
 import org.jetbrains.annotations.NotNull;
@@ -17,9 +14,6 @@ import org.jetbrains.annotations.Nullable;
 
 @Open
 public class SentryRequestResolver {
-  private static final List<String> SENSITIVE_HEADERS =
-      Arrays.asList("X-FORWARDED-FOR", "AUTHORIZATION", "COOKIE");
-
   private final @NotNull IHub hub;
 
   public SentryRequestResolver(final @NotNull IHub hub) {
@@ -43,15 +37,19 @@ public class SentryRequestResolver {
 
   @NotNull
   Map<String, String> resolveHeadersMap(final @NotNull HttpServletRequest request) {
-    final Map<String, String> headersMap = new HashMap<>();
-    for (String headerName : Collections.list(request.getHeaderNames())) {
-      // do not copy personal information identifiable headers
-      if (hub.getOptions().isSendDefaultPii()
-          || !SENSITIVE_HEADERS.contains(headerName.toUpperCase(Locale.ROOT))) {
-        headersMap.put(headerName, toString(request.getHeaders(headerName)));
+    final RequestHeaderPolicy.Collector headers =
+        hub.getOptions().getRequestHeaderPolicy().newCollector();
+    final Enumeration<String> headerNames = request.getHeaderNames();
+    if (headerNames != null) {
+      while (headerNames.hasMoreElements() && !headers.isFull()) {
+        final String headerName = headerNames.nextElement();
+        // values are read only for the headers the policy retains
+        if (headers.accepts(headerName)) {
+          headers.add(headerName, request.getHeaders(headerName));
+        }
       }
     }
-    return headersMap;
+    return headers.getHeaders();
   }
 
   private static @Nullable String toString(final @Nullable Enumeration<String> enumeration) {
@@ -45,23 +45,30 @@ public class SentrySpringRequestListener implements ServletRequestListener, Orde
 
   @Override
   public void requestDestroyed(ServletRequestEvent sre) {
+    if (hub.getOptions().isEnableSessionAggregation()) {
+      hub.endSession();
+    }
     hub.popScope();
   }
 
   @Override
   public void requestInitialized(ServletRequestEvent sre) {
     hub.pushScope();
+    if (hub.getOptions().isEnableSessionAggregation()) {
+      // a session per request, only its outcome is counted
+      hub.startSession();
+    }
 
     final ServletRequest servletRequest = sre.getServletRequest();
     if (servletRequest instanceof HttpServletRequest) {
       final HttpServletRequest request = (HttpServletRequest) sre.getServletRequest();
       hub.addBreadcrumb(Breadcrumb.http(request.getRequestURI(), request.getMethod()));
 
+      // the request is resolved only once an event or a transaction is captured
       hub.configureScope(
-          scope -> {
-            scope.setRequest(requestResolver.resolveSentryRequest(request));
-            scope.addEventProcessor(new SentryRequestHttpServletRequestProcessor(request));
-          });
+          scope ->
+              scope.addEventProcessor(
+                  new SentryRequestHttpServletRequestProcessor(request, requestResolver)));
     }
   }
 
@@ -6,11 +6,14 @@ import io.sentry.ISpan;
 import io.sentry.SpanStatus;
 import io.sentry.util.Objects;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.util.StringUtils;
 
@@ -22,33 +25,24 @@ import org.springframework.util.StringUtils;
 public class SentrySpanAdvice implements MethodInterceptor {
   private final @NotNull IHub hub;
 
+  /** Operation and description resolved once per method and target class. */
+  private final @NotNull Map<MethodClassKey, SpanMetadata> metadataCache =
+      new ConcurrentHashMap<>();
+
   public SentrySpanAdvice(final @NotNull IHub hub) {
     this.hub = Objects.requireNonNull(hub, "hub is required");
   }
 
-  @SuppressWarnings("deprecation")
   @Override
   public Object invoke(final @NotNull MethodInvocation invocation) throws Throwable {
     final ISpan activeSpan = hub.getSpan();
 
-    if (activeSpan == null) {
-      // there is no active transaction, we do not start new span
+    if (activeSpan == null || Boolean.FALSE.equals(activeSpan.getSpanContext().getSampled())) {
+      // there is no active transaction or it is not sampled, we do not start new span
       return invocation.proceed();
     } else {
-      final Method mostSpecificMethod =
-          AopUtils.getMostSpecificMethod(invocation.getMethod(), invocation.getThis().getClass());
-      final Class<?> targetClass = invocation.getMethod().getDeclaringClass();
-      SentrySpan sentrySpan = AnnotationUtils.findAnnotation(mostSpecificMethod, SentrySpan.class);
-      if (sentrySpan == null) {
-        sentrySpan =
-            AnnotationUtils.findAnnotation(
-                mostSpecificMethod.getDeclaringClass(), SentrySpan.class);
-      }
-      final String operation = resolveSpanOperation(targetClass, mostSpecificMethod, sentrySpan);
-      final ISpan span = activeSpan.startChild(operation);
-      if (sentrySpan != null && !StringUtils.isEmpty(sentrySpan.description())) {
-        span.setDescription(sentrySpan.description());
-      }
+      final SpanMetadata metadata = resolveMetadata(invocation);
+      final ISpan span = activeSpan.startChild(metadata.operation, metadata.description);
       try {
         final Object result = invocation.proceed();
         span.setStatus(SpanStatus.OK);
@@ -63,6 +57,34 @@ public class SentrySpanAdvice implements MethodInterceptor {
     }
   }
 
+  private @NotNull SpanMetadata resolveMetadata(final @NotNull MethodInvocation invocation) {
+    final MethodClassKey key =
+        new MethodClassKey(invocation.getMethod(), invocation.getThis().getClass());
+    final SpanMetadata metadata = metadataCache.get(key);
+    if (metadata != null) {
+      return metadata;
+    }
+    return metadataCache.computeIfAbsent(key, __ -> createMetadata(invocation));
+  }
+
+  @SuppressWarnings("deprecation")
+  private @NotNull SpanMetadata createMetadata(final @NotNull MethodInvocation invocation) {
+    final Method mostSpecificMethod =
+        AopUtils.getMostSpecificMethod(invocation.getMethod(), invocation.getThis().getClass());
+    final Class<?> targetClass = invocation.getMethod().getDeclaringClass();
+    SentrySpan sentrySpan = AnnotationUtils.findAnnotation(mostSpecificMethod, SentrySpan.class);
+    if (sentrySpan == null) {
+      sentrySpan =
+          AnnotationUtils.findAnnotation(mostSpecificMethod.getDeclaringClass(), SentrySpan.class);
+    }
+    final String operation = resolveSpanOperation(targetClass, mostSpecificMethod, sentrySpan);
+    final String description =
+        sentrySpan != null && !StringUtils.isEmpty(sentrySpan.description())
+            ? sentrySpan.description()
+            : null;
+    return new SpanMetadata(operation, description);
+  }
+
   @SuppressWarnings("deprecation")
   private String resolveSpanOperation(
       Class<?> targetClass, Method method, @Nullable SentrySpan sentrySpan) {
@@ -70,4 +92,14 @@ public class SentrySpanAdvice implements MethodInterceptor {
         ? targetClass.getSimpleName() + "." + method.getName()
         : sentrySpan.value();
   }
+
+  private static final class SpanMetadata {
+    private final @NotNull String operation;
+    private final @Nullable String description;
+
+    SpanMetadata(final @NotNull String operation, final @Nullable String description) {
+      this.operation = operation;
+      this.description = description;
+    }
+  }
 }
@@ -6,6 +6,7 @@ import io.sentry.IHub;
 import io.sentry.ISpan;
 import io.sentry.SentryTraceHeader;
 import io.sentry.SpanStatus;
+import io.sentry.TracingOrigins;
 import io.sentry.util.Objects;
 import java.io.IOException;
 import org.jetbrains.annotations.NotNull;
@@ -30,14 +31,25 @@ public class SentrySpanClientHttpRequestInterceptor implements ClientHttpRequest
       @NotNull ClientHttpRequestExecution execution)
       throws IOException {
     Integer responseStatusCode = null;
+    final String url = request.getURI().toString();
     try {
       final ISpan activeSpan = hub.getSpan();
-      if (activeSpan == null) {
+      if (activeSpan == null
+          || !TracingOrigins.contain(hub.getOptions().getTracingOrigins(), url)) {
         return execution.execute(request, body);
       }
 
+      if (Boolean.FALSE.equals(activeSpan.getSpanContext().getSampled())) {
+        // unsampled spans are dropped anyway, only the sampling decision is propagated
+        final SentryTraceHeader sentryTraceHeader = activeSpan.toSentryTrace();
+        request.getHeaders().add(sentryTraceHeader.getName(), sentryTraceHeader.getValue());
+        final ClientHttpResponse response = execution.execute(request, body);
+        responseStatusCode = response.getRawStatusCode();
+        return response;
+      }
+
       final ISpan span = activeSpan.startChild("http.client");
-      span.setDescription(request.getMethodValue() + " " + request.getURI());
+      span.setDescription(request.getMethodValue() + " " + url);
 
       final SentryTraceHeader sentryTraceHeader = span.toSentryTrace();
       request.getHeaders().add(sentryTraceHeader.getName(), sentryTraceHeader.getValue());
@@ -56,16 +68,17 @@ public class SentrySpanClientHttpRequestInterceptor implements ClientHttpRequest
         span.finish();
       }
     } finally {
-      addBreadcrumb(request, body, responseStatusCode);
+      addBreadcrumb(url, request, body, responseStatusCode);
     }
   }
 
   private void addBreadcrumb(
+      final @NotNull String url,
       final @NotNull HttpRequest request,
       final @NotNull byte[] body,
       final @Nullable Integer responseStatusCode) {
     final Breadcrumb breadcrumb =
-        Breadcrumb.http(request.getURI().toString(), request.getMethodValue(), responseStatusCode);
+        Breadcrumb.http(url, request.getMethodValue(), responseStatusCode);
     breadcrumb.setData("request_body_size", body.length);
     hub.addBreadcrumb(breadcrumb);
   }
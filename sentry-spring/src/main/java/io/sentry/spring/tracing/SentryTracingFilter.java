@@ -9,6 +9,7 @@ import io.sentry.SentryLevel;
 import io.sentry.SentryTraceHeader;
 import io.sentry.SpanStatus;
 import io.sentry.TransactionContext;
+import io.sentry.UnsampledTransaction;
 import io.sentry.exception.InvalidSentryTraceHeaderException;
 import io.sentry.util.Objects;
 import java.io.IOException;
@@ -61,10 +62,12 @@ public class SentryTracingFilter extends OncePerRequestFilter {
       throws ServletException, IOException {
 
     if (hub.isEnabled()) {
-      final String sentryTraceHeader = httpRequest.getHeader(SentryTraceHeader.SENTRY_TRACE_HEADER);
-
+      final SentryTraceHeader sentryTrace =
+          parseSentryTrace(httpRequest.getHeader(SentryTraceHeader.SENTRY_TRACE_HEADER));
+      final Boolean sampled =
+          hub.sampleTransaction(sentryTrace != null ? sentryTrace.isSampled() : null);
       // at this stage we are not able to get real transaction name
-      final ITransaction transaction = startTransaction(httpRequest, sentryTraceHeader);
+      final ITransaction transaction = startTransaction(httpRequest, sentryTrace, sampled);
       try {
         filterChain.doFilter(httpRequest, httpResponse);
       } catch (Exception e) {
@@ -92,26 +95,49 @@ public class SentryTracingFilter extends OncePerRequestFilter {
     }
   }
 
-  private ITransaction startTransaction(
-      final @NotNull HttpServletRequest request, final @Nullable String sentryTraceHeader) {
-
-    final String name = request.getMethod() + " " + request.getRequestURI();
-
-    final CustomSamplingContext customSamplingContext = new CustomSamplingContext();
-    customSamplingContext.set("request", request);
-
+  private @Nullable SentryTraceHeader parseSentryTrace(final @Nullable String sentryTraceHeader) {
     if (sentryTraceHeader != null) {
       try {
-        final TransactionContext contexts =
-            TransactionContext.fromSentryTrace(
-                name, "http.server", new SentryTraceHeader(sentryTraceHeader));
-        return hub.startTransaction(contexts, customSamplingContext, true);
+        return new SentryTraceHeader(sentryTraceHeader);
       } catch (InvalidSentryTraceHeaderException e) {
         hub.getOptions()
             .getLogger()
             .log(SentryLevel.DEBUG, e, "Failed to parse Sentry trace header: %s", e.getMessage());
       }
     }
-    return hub.startTransaction(name, "http.server", customSamplingContext, true);
+    return null;
+  }
+
+  private ITransaction startTransaction(
+      final @NotNull HttpServletRequest request,
+      final @Nullable SentryTraceHeader sentryTrace,
+      final @Nullable Boolean sampled) {
+
+    final String name = request.getMethod() + " " + request.getRequestURI();
+
+    if (sampled != null) {
+      // the decision has been taken upfront, so the traces sampler doesn't need the request
+      final TransactionContext contexts =
+          sentryTrace != null
+              ? TransactionContext.fromSentryTrace(name, TRANSACTION_OP, sentryTrace)
+              : new TransactionContext(name, TRANSACTION_OP, sampled);
+      if (!sampled && hub.getOptions().isTracingEnabled()) {
+        // an unsampled request only needs the trace to propagate downstream, not a tracer
+        final ITransaction transaction = new UnsampledTransaction(contexts, hub);
+        hub.configureScope(scope -> scope.setTransaction(transaction));
+        return transaction;
+      }
+      return hub.startTransaction(contexts, null, true);
+    }
+
+    final CustomSamplingContext customSamplingContext = new CustomSamplingContext();
+    customSamplingContext.set("request", request);
+
+    if (sentryTrace != null) {
+      final TransactionContext contexts =
+          TransactionContext.fromSentryTrace(name, TRANSACTION_OP, sentryTrace);
+      return hub.startTransaction(contexts, customSamplingContext, true);
+    }
+    return hub.startTransaction(name, TRANSACTION_OP, customSamplingContext, true);
   }
 }
@@ -6,12 +6,15 @@ import io.sentry.ITransaction;
 import io.sentry.SpanStatus;
 import io.sentry.util.Objects;
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.util.StringUtils;
 
@@ -24,41 +27,26 @@ import org.springframework.util.StringUtils;
 public class SentryTransactionAdvice implements MethodInterceptor {
   private final @NotNull IHub hub;
 
+  /** Transaction name and operation resolved once per method and target class. */
+  private final @NotNull Map<MethodClassKey, TransactionMetadata> metadataCache =
+      new ConcurrentHashMap<>();
+
   public SentryTransactionAdvice(final @NotNull IHub hub) {
     this.hub = Objects.requireNonNull(hub, "hub is required");
   }
 
-  @SuppressWarnings("deprecation")
   @Override
   public Object invoke(final @NotNull MethodInvocation invocation) throws Throwable {
-    final Method mostSpecificMethod =
-        AopUtils.getMostSpecificMethod(invocation.getMethod(), invocation.getThis().getClass());
-
-    @Nullable
-    SentryTransaction sentryTransaction =
-        AnnotationUtils.findAnnotation(mostSpecificMethod, SentryTransaction.class);
-    if (sentryTransaction == null) {
-      sentryTransaction =
-          AnnotationUtils.findAnnotation(
-              mostSpecificMethod.getDeclaringClass(), SentryTransaction.class);
-    }
-
-    final String name = resolveTransactionName(invocation, sentryTransaction);
-
     final boolean isTransactionActive = isTransactionActive();
 
     if (isTransactionActive) {
       // transaction is already active, we do not start new transaction
       return invocation.proceed();
     } else {
-      String operation;
-      if (sentryTransaction != null && !StringUtils.isEmpty(sentryTransaction.operation())) {
-        operation = sentryTransaction.operation();
-      } else {
-        operation = "bean";
-      }
+      final TransactionMetadata metadata = resolveMetadata(invocation);
       hub.pushScope();
-      final ITransaction transaction = hub.startTransaction(name, operation, true);
+      final ITransaction transaction =
+          hub.startTransaction(metadata.name, metadata.operation, true);
       try {
         final Object result = invocation.proceed();
         transaction.setStatus(SpanStatus.OK);
@@ -74,6 +62,40 @@ public class SentryTransactionAdvice implements MethodInterceptor {
     }
   }
 
+  private @NotNull TransactionMetadata resolveMetadata(final @NotNull MethodInvocation invocation) {
+    final MethodClassKey key =
+        new MethodClassKey(invocation.getMethod(), invocation.getThis().getClass());
+    final TransactionMetadata metadata = metadataCache.get(key);
+    if (metadata != null) {
+      return metadata;
+    }
+    return metadataCache.computeIfAbsent(key, __ -> createMetadata(invocation));
+  }
+
+  @SuppressWarnings("deprecation")
+  private @NotNull TransactionMetadata createMetadata(final @NotNull MethodInvocation invocation) {
+    final Method mostSpecificMethod =
+        AopUtils.getMostSpecificMethod(invocation.getMethod(), invocation.getThis().getClass());
+
+    @Nullable
+    SentryTransaction sentryTransaction =
+        AnnotationUtils.findAnnotation(mostSpecificMethod, SentryTransaction.class);
+    if (sentryTransaction == null) {
+      sentryTransaction =
+          AnnotationUtils.findAnnotation(
+              mostSpecificMethod.getDeclaringClass(), SentryTransaction.class);
+    }
+
+    final String name = resolveTransactionName(invocation, sentryTransaction);
+    final String operation;
+    if (sentryTransaction != null && !StringUtils.isEmpty(sentryTransaction.operation())) {
+      operation = sentryTransaction.operation();
+    } else {
+      operation = "bean";
+    }
+    return new TransactionMetadata(name, operation);
+  }
+
   @SuppressWarnings("deprecation")
   private @NotNull String resolveTransactionName(
       MethodInvocation invocation, @Nullable SentryTransaction sentryTransaction) {
@@ -87,4 +109,14 @@ public class SentryTransactionAdvice implements MethodInterceptor {
   private boolean isTransactionActive() {
     return hub.getSpan() != null;
   }
+
+  private static final class TransactionMetadata {
+    private final @NotNull String name;
+    private final @NotNull String operation;
+
+    TransactionMetadata(final @NotNull String name, final @NotNull String operation) {
+      this.name = name;
+      this.operation = operation;
+    }
+  }
 }
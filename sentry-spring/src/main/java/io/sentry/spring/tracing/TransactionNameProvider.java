@@ -1,5 +1,7 @@
 package io.sentry.spring.tracing;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.servlet.http.HttpServletRequest;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -11,17 +13,42 @@ import org.springframework.web.servlet.HandlerMapping;
  * handled the request. To return correct transaction name, it must be used after request is
  * processed by {@link org.springframework.web.servlet.mvc.method.RequestMappingInfoHandlerMapping}
  * where {@link HandlerMapping#BEST_MATCHING_PATTERN_ATTRIBUTE} is set.
+ *
+ * <p>Names are cached per pattern and method, so resolving the name of a known route doesn't
+ * allocate.
  */
 @ApiStatus.Internal
 public final class TransactionNameProvider {
+  /** Methods come from clients, so only this many are cached per pattern. */
+  private static final int MAX_METHODS_PER_PATTERN = 16;
+
+  private static final @NotNull Map<String, Map<String, String>> names =
+      new ConcurrentHashMap<>();
+
   public @Nullable String provideTransactionName(final @NotNull HttpServletRequest request) {
     final String pattern =
         (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
 
     if (pattern != null) {
-      return request.getMethod() + " " + pattern;
+      return provideTransactionName(request.getMethod(), pattern);
     } else {
       return null;
     }
   }
+
+  private static @NotNull String provideTransactionName(
+      final @NotNull String method, final @NotNull String pattern) {
+    Map<String, String> namesByMethod = names.get(pattern);
+    if (namesByMethod == null) {
+      namesByMethod = names.computeIfAbsent(pattern, __ -> new ConcurrentHashMap<>());
+    }
+    String name = namesByMethod.get(method);
+    if (name == null) {
+      name = method + " " + pattern;
+      if (namesByMethod.size() < MAX_METHODS_PER_PATTERN) {
+        namesByMethod.put(method, name);
+      }
+    }
+    return name;
+  }
 }
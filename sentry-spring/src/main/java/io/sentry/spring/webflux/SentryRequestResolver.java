@@ -2,12 +2,10 @@ package io.sentry.spring.webflux;
 
 import com.jakewharton.nopen.annotation.Open;
 import io.sentry.IHub;
+import io.sentry.RequestHeaderPolicy;
 import io.sentry.protocol.Request;
 import io.sentry.util.Objects;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -18,9 +16,6 @@ import org.springframework.http.server.reactive.ServerHttpRequest;
 @Open
 @ApiStatus.Experimental
 public class SentryRequestResolver {
-  private static final List<String> SENSITIVE_HEADERS =
-      Arrays.asList("X-FORWARDED-FOR", "AUTHORIZATION", "COOKIE");
-
   private final @NotNull IHub hub;
 
   public SentryRequestResolver(final @NotNull IHub hub) {
@@ -42,15 +37,15 @@ public class SentryRequestResolver {
 
   @NotNull
   Map<String, String> resolveHeadersMap(final HttpHeaders request) {
-    final Map<String, String> headersMap = new HashMap<>();
-    for (Map.Entry<String, List<String>> entry : request.entrySet()) {
-      // do not copy personal information identifiable headers
-      if (hub.getOptions().isSendDefaultPii()
-          || !SENSITIVE_HEADERS.contains(entry.getKey().toUpperCase(Locale.ROOT))) {
-        headersMap.put(entry.getKey(), toString(entry.getValue()));
+    final RequestHeaderPolicy.Collector headers =
+        hub.getOptions().getRequestHeaderPolicy().newCollector();
+    for (final Map.Entry<String, List<String>> entry : request.entrySet()) {
+      if (headers.isFull()) {
+        break;
       }
+      headers.add(entry.getKey(), entry.getValue());
     }
-    return headersMap;
+    return headers.getHeaders();
   }
 
   private static @Nullable String toString(final @Nullable List<String> enumeration) {
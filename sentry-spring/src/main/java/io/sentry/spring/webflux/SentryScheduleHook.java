@@ -9,19 +9,29 @@ import org.jetbrains.annotations.NotNull;
 /**
  * Hook meant to used with {@link reactor.core.scheduler.Schedulers#onScheduleHook(String,
  * Function)} to configure Reactor to copy correct hub into the operating thread.
+ *
+ * <p>Every task gets a clone of the hub of the scheduling thread, so scope changes made by the task
+ * don't leak back to that thread or to other tasks. The hub {@link SentryWebFilter} forked for a
+ * request is the exception: while it is the current hub of the scheduling thread, it belongs to the
+ * request already and is handed over as is, so all hops of the request share it.
  */
 @ApiStatus.Experimental
 public final class SentryScheduleHook implements Function<Runnable, Runnable> {
   @Override
   public Runnable apply(final @NotNull Runnable runnable) {
-    final IHub oldState = Sentry.getCurrentHub();
-    final IHub newHub = Sentry.getCurrentHub().clone();
+    final IHub currentHub = Sentry.getCurrentHub();
+    final boolean requestHub = currentHub == SentryWebFilter.getCurrentRequestHub();
+    final IHub hub = requestHub ? currentHub : currentHub.clone();
     return () -> {
-      Sentry.setCurrentHub(newHub);
+      final IHub oldState = Sentry.getCurrentHub();
+      final IHub oldRequestHub = SentryWebFilter.getCurrentRequestHub();
+      Sentry.setCurrentHub(hub);
+      SentryWebFilter.setCurrentRequestHub(requestHub ? hub : null);
       try {
         runnable.run();
       } finally {
         Sentry.setCurrentHub(oldState);
+        SentryWebFilter.setCurrentRequestHub(oldRequestHub);
       }
     };
   }
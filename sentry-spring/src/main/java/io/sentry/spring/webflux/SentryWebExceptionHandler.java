@@ -38,7 +38,10 @@ public final class SentryWebExceptionHandler implements WebExceptionHandler {
       final SentryEvent event = new SentryEvent(throwable);
       event.setLevel(SentryLevel.FATAL);
       event.setTransaction(TransactionNameProvider.provideTransactionName(serverWebExchange));
-      hub.captureEvent(event);
+      // the hub forked for the request carries its scope, this thread may not have it as current
+      final IHub requestHub =
+          serverWebExchange.getAttributeOrDefault(SentryWebFilter.SENTRY_HUB_KEY, hub);
+      requestHub.captureEvent(event);
     }
     return Mono.error(ex);
   }
@@ -1,19 +1,47 @@
 package io.sentry.spring.webflux;
 
 import io.sentry.Breadcrumb;
+import io.sentry.EventProcessor;
 import io.sentry.IHub;
+import io.sentry.RequestBodyBuffer;
+import io.sentry.Sentry;
+import io.sentry.SentryEvent;
+import io.sentry.protocol.Request;
 import io.sentry.util.Objects;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoOperator;
 
-/** Manages {@link io.sentry.Scope} in Webflux request processing. */
+/**
+ * Manages {@link io.sentry.Scope} in Webflux request processing.
+ *
+ * <p>Each request gets its own hub, forked once when the request comes in. The hub is stored in
+ * the exchange attributes under {@link #SENTRY_HUB_KEY}, and it is the current hub while the
+ * request is subscribed to, so {@link SentryScheduleHook} carries it to the threads the request
+ * hops to.
+ */
 @ApiStatus.Experimental
 public final class SentryWebFilter implements WebFilter {
+  /** The key of the request hub in the exchange attributes. */
+  public static final String SENTRY_HUB_KEY = "sentry-hub";
+
+  /** The request hub that is the current hub of the thread, if it is one. */
+  private static final @NotNull ThreadLocal<IHub> currentRequestHub = new ThreadLocal<>();
+
   private final @NotNull IHub hub;
   private final @NotNull SentryRequestResolver sentryRequestResolver;
 
@@ -26,20 +54,141 @@ public final class SentryWebFilter implements WebFilter {
   public Mono<Void> filter(
       final @NotNull ServerWebExchange serverWebExchange,
       final @NotNull WebFilterChain webFilterChain) {
-    return webFilterChain
-        .filter(serverWebExchange)
-        .doFinally(
-            __ -> {
-              hub.popScope();
-            })
-        .doFirst(
-            () -> {
-              hub.pushScope();
-              final ServerHttpRequest request = serverWebExchange.getRequest();
-              hub.addBreadcrumb(
-                  Breadcrumb.http(request.getURI().toString(), request.getMethodValue()));
-              hub.configureScope(
-                  scope -> scope.setRequest(sentryRequestResolver.resolveSentryRequest(request)));
-            });
+    final IHub requestHub = hub.clone();
+    final ServerHttpRequest request = serverWebExchange.getRequest();
+    requestHub.addBreadcrumb(
+        Breadcrumb.http(request.getURI().toString(), request.getMethodValue()));
+    requestHub.configureScope(
+        scope -> scope.setRequest(sentryRequestResolver.resolveSentryRequest(request)));
+    serverWebExchange.getAttributes().put(SENTRY_HUB_KEY, requestHub);
+
+    final int maxRequestBodySize = hub.getOptions().getMaxRequestBodySize();
+    if (maxRequestBodySize <= 0) {
+      return new RequestHubMono(webFilterChain.filter(serverWebExchange), requestHub);
+    }
+
+    final RequestBodyBuffer body = new RequestBodyBuffer(maxRequestBodySize);
+    final ServerWebExchange exchange =
+        serverWebExchange.mutate().request(new BodyCapturingRequest(request, body)).build();
+    requestHub.configureScope(
+        scope -> scope.addEventProcessor(new RequestBodyEventProcessor(request, body)));
+    return new RequestHubMono(
+        webFilterChain
+            .filter(exchange)
+            // the body's array is reused by the next request once this one has completed
+            .doFinally(signal -> body.release()),
+        requestHub);
+  }
+
+  /**
+   * Returns the hub forked by this filter for the request that runs on this thread
+   *
+   * @return the request hub or null if the thread doesn't run a request
+   */
+  static @Nullable IHub getCurrentRequestHub() {
+    return currentRequestHub.get();
+  }
+
+  /**
+   * Sets the hub forked by this filter for the request that runs on this thread
+   *
+   * @param hub the request hub or null if the thread doesn't run a request
+   */
+  static void setCurrentRequestHub(final @Nullable IHub hub) {
+    currentRequestHub.set(hub);
+  }
+
+  /**
+   * Captures the beginning of the body, up to {@link
+   * io.sentry.SentryOptions#getMaxRequestBodySize()} bytes, as the application consumes it. Only
+   * the captured prefix is copied, the data buffers are passed on untouched.
+   */
+  private static final class BodyCapturingRequest extends ServerHttpRequestDecorator {
+    private final @NotNull RequestBodyBuffer body;
+
+    BodyCapturingRequest(
+        final @NotNull ServerHttpRequest request, final @NotNull RequestBodyBuffer body) {
+      super(request);
+      this.body = body;
+    }
+
+    @Override
+    public @NotNull Flux<DataBuffer> getBody() {
+      return super.getBody().doOnNext(this::capture);
+    }
+
+    private void capture(final @NotNull DataBuffer dataBuffer) {
+      if (!body.isFull()) {
+        body.write(
+            dataBuffer.asByteBuffer(dataBuffer.readPosition(), dataBuffer.readableByteCount()));
+      }
+    }
+  }
+
+  /**
+   * Attaches the body captured so far to events. The body is decoded only when an event is
+   * captured, and set on a copy of the request as the scope's request is shared.
+   */
+  private static final class RequestBodyEventProcessor implements EventProcessor {
+    private final @NotNull ServerHttpRequest request;
+    private final @NotNull RequestBodyBuffer body;
+
+    RequestBodyEventProcessor(
+        final @NotNull ServerHttpRequest request, final @NotNull RequestBodyBuffer body) {
+      this.request = request;
+      this.body = body;
+    }
+
+    @Override
+    public @NotNull SentryEvent process(
+        final @NotNull SentryEvent event, final @Nullable Object hint) {
+      final Request eventRequest = event.getRequest();
+      if (eventRequest != null && eventRequest.getData() == null) {
+        final String data = body.read(charsetOf(request));
+        if (data != null) {
+          final Request requestWithBody = new Request(eventRequest);
+          requestWithBody.setData(data);
+          event.setRequest(requestWithBody);
+        }
+      }
+      return event;
+    }
+
+    private static @NotNull Charset charsetOf(final @NotNull ServerHttpRequest request) {
+      try {
+        final MediaType contentType = request.getHeaders().getContentType();
+        final Charset charset = contentType != null ? contentType.getCharset() : null;
+        return charset != null ? charset : StandardCharsets.UTF_8;
+      } catch (InvalidMediaTypeException e) {
+        return StandardCharsets.UTF_8;
+      }
+    }
+  }
+
+  /**
+   * Makes the request hub the current hub while subscribing, and restores the previous one right
+   * after on the same thread, so the hub never leaks to other requests handled by the thread.
+   */
+  private static final class RequestHubMono extends MonoOperator<Void, Void> {
+    private final @NotNull IHub requestHub;
+
+    RequestHubMono(final @NotNull Mono<Void> source, final @NotNull IHub requestHub) {
+      super(source);
+      this.requestHub = requestHub;
+    }
+
+    @Override
+    public void subscribe(final @NotNull CoreSubscriber<? super Void> actual) {
+      final IHub previousHub = Sentry.getCurrentHub();
+      final IHub previousRequestHub = getCurrentRequestHub();
+      Sentry.setCurrentHub(requestHub);
+      setCurrentRequestHub(requestHub);
+      try {
+        source.subscribe(actual);
+      } finally {
+        Sentry.setCurrentHub(previousHub);
+        setCurrentRequestHub(previousRequestHub);
+      }
+    }
   }
 }
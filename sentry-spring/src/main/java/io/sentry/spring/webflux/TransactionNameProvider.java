@@ -1,7 +1,10 @@
 package io.sentry.spring.webflux;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.HandlerMapping;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.util.pattern.PathPattern;
@@ -12,15 +15,35 @@ import org.springframework.web.util.pattern.PathPattern;
  * processed by {@link
  * org.springframework.web.reactive.result.method.RequestMappingInfoHandlerMapping} where {@link
  * HandlerMapping#BEST_MATCHING_PATTERN_ATTRIBUTE} is set.
+ *
+ * <p>Names are cached per pattern and method, so resolving the name of a known route doesn't
+ * allocate.
  */
 final class TransactionNameProvider {
+  /** Requests with a method that is not a known {@link HttpMethod} are named without the cache. */
+  private static final @NotNull Map<PathPattern, Map<HttpMethod, String>> names =
+      new ConcurrentHashMap<>();
+
   static @Nullable String provideTransactionName(
       final @NotNull ServerWebExchange serverWebExchange) {
     final PathPattern pattern =
         serverWebExchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
 
     if (pattern != null) {
-      return serverWebExchange.getRequest().getMethodValue() + " " + pattern.getPatternString();
+      final HttpMethod method = serverWebExchange.getRequest().getMethod();
+      if (method == null) {
+        return serverWebExchange.getRequest().getMethodValue() + " " + pattern.getPatternString();
+      }
+      Map<HttpMethod, String> namesByMethod = names.get(pattern);
+      if (namesByMethod == null) {
+        namesByMethod = names.computeIfAbsent(pattern, __ -> new ConcurrentHashMap<>());
+      }
+      String name = namesByMethod.get(method);
+      if (name == null) {
+        name = method.name() + " " + pattern.getPatternString();
+        namesByMethod.put(method, name);
+      }
+      return name;
     } else {
       return null;
     }
@@ -0,0 +1,53 @@
+package io.sentry.spring
+
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.whenever
+import io.sentry.IHub
+import io.sentry.SentryEvent
+import io.sentry.SentryOptions
+import io.sentry.servlet.SentryRequestBodyFilter
+import javax.servlet.FilterChain
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertNotSame
+import kotlin.test.assertNull
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+
+class SentryRequestBodyFilterTest {
+    private class Fixture {
+        val hub = mock<IHub>()
+        val options = SentryOptions()
+        val request = MockHttpServletRequest("POST", "http://localhost/hello")
+        val response = MockHttpServletResponse()
+
+        init {
+            request.setContent("hello world".toByteArray())
+        }
+
+        fun getSut(maxRequestBodySize: Int = 0): SentryRequestBodyFilter {
+            options.maxRequestBodySize = maxRequestBodySize
+            whenever(hub.options).thenReturn(options)
+            whenever(hub.isEnabled).thenReturn(true)
+            return SentryRequestBodyFilter(hub)
+        }
+    }
+
+    private val fixture = Fixture()
+
+    @Test
+    fun `processor attaches the captured body to events on a copy of the request`() {
+        val sut = fixture.getSut(maxRequestBodySize = 100)
+        val processor = SentryRequestHttpServletRequestProcessor(fixture.request, SentryRequestResolver(fixture.hub))
+        var event: SentryEvent? = null
+
+        sut.doFilter(fixture.request, fixture.response, FilterChain { request, _ ->
+            request.inputStream.readBytes()
+            event = processor.process(SentryEvent(), null)
+            assertNotSame(event!!.request, processor.process(SentryEvent(), null).request)
+        })
+
+        assertEquals("hello world", event!!.request!!.data)
+        assertNull(processor.process(SentryEvent(), null).request!!.data)
+    }
+}
@@ -5,11 +5,14 @@ import com.nhaarman.mockitokotlin2.whenever
 import io.sentry.IHub
 import io.sentry.SentryEvent
 import io.sentry.SentryOptions
+import io.sentry.protocol.Request
 import java.net.URI
 import javax.servlet.http.HttpServletRequest
 import kotlin.test.Test
 import kotlin.test.assertEquals
 import kotlin.test.assertNotNull
+import kotlin.test.assertNull
+import kotlin.test.assertSame
 import org.springframework.mock.web.MockServletContext
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders
 import org.springframework.web.servlet.HandlerMapping
@@ -19,9 +22,9 @@ class SentryRequestHttpServletRequestProcessorTest {
     private class Fixture {
         val hub = mock<IHub>()
 
-        fun getSut(request: HttpServletRequest, options: SentryOptions = SentryOptions()): SentryRequestHttpServletRequestProcessor {
+        fun getSut(request: HttpServletRequest, options: SentryOptions = SentryOptions(), resolveRequest: Boolean = false): SentryRequestHttpServletRequestProcessor {
             whenever(hub.options).thenReturn(options)
-            return SentryRequestHttpServletRequestProcessor(request)
+            return SentryRequestHttpServletRequestProcessor(request, if (resolveRequest) SentryRequestResolver(hub) else null)
         }
     }
 
@@ -57,4 +60,48 @@ class SentryRequestHttpServletRequestProcessorTest {
         assertNotNull(event.transaction)
         assertEquals("some-transaction", event.transaction)
     }
+
+    @Test
+    fun `when request resolver is set, attaches request to event`() {
+        val request = MockMvcRequestBuilders
+            .get(URI.create("http://example.com?param1=xyz"))
+            .buildRequest(MockServletContext())
+        val eventProcessor = fixture.getSut(request, resolveRequest = true)
+        val event = SentryEvent()
+
+        eventProcessor.process(event, null)
+
+        assertNotNull(event.request) {
+            assertEquals("GET", it.method)
+            assertEquals("param1=xyz", it.queryString)
+        }
+    }
+
+    @Test
+    fun `when event has request set, does not overwrite it`() {
+        val request = MockMvcRequestBuilders
+            .get(URI.create("http://example.com?param1=xyz"))
+            .buildRequest(MockServletContext())
+        val eventProcessor = fixture.getSut(request, resolveRequest = true)
+        val event = SentryEvent()
+        val eventRequest = Request()
+        event.request = eventRequest
+
+        eventProcessor.process(event, null)
+
+        assertSame(eventRequest, event.request)
+    }
+
+    @Test
+    fun `when request resolver is not set, does not attach request`() {
+        val request = MockMvcRequestBuilders
+            .get(URI.create("http://example.com?param1=xyz"))
+            .buildRequest(MockServletContext())
+        val eventProcessor = fixture.getSut(request)
+        val event = SentryEvent()
+
+        eventProcessor.process(event, null)
+
+        assertNull(event.request)
+    }
 }
@@ -1,16 +1,24 @@
 package io.sentry.spring
 
 import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.argumentCaptor
 import com.nhaarman.mockitokotlin2.check
 import com.nhaarman.mockitokotlin2.doAnswer
+import com.nhaarman.mockitokotlin2.inOrder
 import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
 import com.nhaarman.mockitokotlin2.verify
 import com.nhaarman.mockitokotlin2.whenever
 import io.sentry.Breadcrumb
+import io.sentry.EventProcessor
 import io.sentry.IHub
 import io.sentry.Scope
 import io.sentry.ScopeCallback
+import io.sentry.SentryEvent
 import io.sentry.SentryOptions
+import io.sentry.SentryTracer
+import io.sentry.TransactionContext
+import io.sentry.protocol.SentryTransaction
 import java.net.URI
 import javax.servlet.ServletRequestEvent
 import javax.servlet.http.HttpServletRequest
@@ -30,10 +38,9 @@ class SentrySpringRequestListenerTest {
     private class Fixture {
         val hub = mock<IHub>()
         val event = mock<ServletRequestEvent>()
-        lateinit var scope: Scope
+        val scope = mock<Scope>()
 
         fun getSut(request: HttpServletRequest? = null, options: SentryOptions = SentryOptions()): SentrySpringRequestListener {
-            scope = Scope(options)
             whenever(hub.options).thenReturn(options)
             doAnswer { (it.arguments[0] as ScopeCallback).run(scope) }.whenever(hub).configureScope(any())
 
@@ -45,6 +52,12 @@ class SentrySpringRequestListenerTest {
 
             return SentrySpringRequestListener(hub)
         }
+
+        fun processEvent(): SentryEvent {
+            val processor = argumentCaptor<EventProcessor>()
+            verify(scope).addEventProcessor(processor.capture())
+            return processor.firstValue.process(SentryEvent(), null)!!
+        }
     }
 
     private val fixture = Fixture()
@@ -78,7 +91,32 @@ class SentrySpringRequestListenerTest {
     }
 
     @Test
-    fun `attaches basic information from HTTP request to Scope request`() {
+    fun `does not track a session per request by default`() {
+        val listener = fixture.getSut()
+        listener.requestInitialized(fixture.event)
+        listener.requestDestroyed(fixture.event)
+
+        verify(fixture.hub, never()).startSession()
+        verify(fixture.hub, never()).endSession()
+    }
+
+    @Test
+    fun `tracks a session per request when sessions are aggregated`() {
+        val listener = fixture.getSut(options = SentryOptions().apply {
+            isEnableSessionAggregation = true
+        })
+        listener.requestInitialized(fixture.event)
+        listener.requestDestroyed(fixture.event)
+
+        val order = inOrder(fixture.hub)
+        order.verify(fixture.hub).pushScope()
+        order.verify(fixture.hub).startSession()
+        order.verify(fixture.hub).endSession()
+        order.verify(fixture.hub).popScope()
+    }
+
+    @Test
+    fun `attaches basic information from HTTP request to event request`() {
         val listener = fixture.getSut(request = MockMvcRequestBuilders
             .get(URI.create("http://example.com?param1=xyz"))
             .header("some-header", "some-header value")
@@ -87,7 +125,7 @@ class SentrySpringRequestListenerTest {
 
         listener.requestInitialized(fixture.event)
 
-        assertNotNull(fixture.scope.request) {
+        assertNotNull(fixture.processEvent().request) {
             assertEquals("GET", it.method)
             assertEquals(mapOf(
                 "some-header" to "some-header value",
@@ -99,7 +137,7 @@ class SentrySpringRequestListenerTest {
     }
 
     @Test
-    fun `attaches header with multiple values to Scope request`() {
+    fun `attaches header with multiple values to event request`() {
         val listener = fixture.getSut(request = MockMvcRequestBuilders
             .get(URI.create("http://example.com?param1=xyz"))
             .header("another-header", "another value")
@@ -108,7 +146,7 @@ class SentrySpringRequestListenerTest {
 
         listener.requestInitialized(fixture.event)
 
-        assertNotNull(fixture.scope.request) {
+        assertNotNull(fixture.processEvent().request) {
             assertEquals(mapOf(
                 "another-header" to "another value,another value2"
             ), it.headers)
@@ -116,7 +154,7 @@ class SentrySpringRequestListenerTest {
     }
 
     @Test
-    fun `when sendDefaultPii is set to true, attaches cookies information to Scope request`() {
+    fun `when sendDefaultPii is set to true, attaches cookies information to event request`() {
         val sentryOptions = SentryOptions().apply {
             isSendDefaultPii = true
         }
@@ -129,13 +167,13 @@ class SentrySpringRequestListenerTest {
 
         listener.requestInitialized(fixture.event)
 
-        assertNotNull(fixture.scope.request) {
+        assertNotNull(fixture.processEvent().request) {
             assertEquals("name=value,name2=value2", it.cookies)
         }
     }
 
     @Test
-    fun `when sendDefaultPii is set to false, does not attach cookies to Scope request`() {
+    fun `when sendDefaultPii is set to false, does not attach cookies to event request`() {
         val sentryOptions = SentryOptions().apply {
             isSendDefaultPii = false
         }
@@ -147,7 +185,7 @@ class SentrySpringRequestListenerTest {
 
         listener.requestInitialized(fixture.event)
 
-        assertNotNull(fixture.scope.request) {
+        assertNotNull(fixture.processEvent().request) {
             assertNull(it.cookies)
         }
     }
@@ -169,7 +207,7 @@ class SentrySpringRequestListenerTest {
 
         listener.requestInitialized(fixture.event)
 
-        assertNotNull(fixture.scope.request) { request ->
+        assertNotNull(fixture.processEvent().request) { request ->
             assertNotNull(request.headers) {
                 assertFalse(it.containsKey("X-FORWARDED-FOR"))
                 assertFalse(it.containsKey("Authorization"))
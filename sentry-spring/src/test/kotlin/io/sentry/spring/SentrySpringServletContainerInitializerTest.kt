@@ -0,0 +1,24 @@
+package io.sentry.spring
+
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.verify
+import io.sentry.servlet.SentryRequestBodyFilter
+import io.sentry.servlet.SentryServletContainerInitializer
+import java.util.EventListener
+import javax.servlet.ServletContext
+import kotlin.test.Test
+
+class SentrySpringServletContainerInitializerTest {
+
+    @Test
+    fun `servlet initializer only adds SentryRequestBodyFilter when the Spring integration is present`() {
+        val servletContext = mock<ServletContext>()
+
+        SentryServletContainerInitializer().onStartup(null, servletContext)
+
+        verify(servletContext, never()).addListener(any<Class<out EventListener>>())
+        verify(servletContext).addFilter("sentryRequestBodyFilter", SentryRequestBodyFilter::class.java)
+    }
+}
@@ -13,6 +13,7 @@ import kotlin.test.BeforeTest
 import kotlin.test.Test
 import kotlin.test.assertEquals
 import kotlin.test.assertNull
+import kotlin.test.assertTrue
 import org.junit.runner.RunWith
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.context.annotation.Bean
@@ -134,6 +135,30 @@ class SentrySpanAdviceTest {
         assertEquals(1, result)
     }
 
+    @Test
+    fun `when method is called repeatedly, every span has the same operation and description`() {
+        val tx = SentryTracer(TransactionContext("aTransaction", "op"), hub)
+
+        whenever(hub.span).thenReturn(tx)
+        sampleService.methodWithSpanDescriptionSet()
+        sampleService.methodWithSpanDescriptionSet()
+        assertEquals(2, tx.spans.size)
+        tx.spans.forEach {
+            assertEquals("customName", it.description)
+            assertEquals("bean", it.operation)
+        }
+    }
+
+    @Test
+    fun `when active transaction is not sampled, span is not created and method is executed`() {
+        val tx = SentryTracer(TransactionContext("aTransaction", "op", false), hub)
+
+        whenever(hub.span).thenReturn(tx)
+        val result = sampleService.methodWithSpanDescriptionSet()
+        assertEquals(1, result)
+        assertTrue(tx.spans.isEmpty())
+    }
+
     @Configuration
     @EnableAspectJAutoProxy(proxyTargetClass = true)
     @Import(SentryTracingConfiguration::class)
@@ -1,9 +1,12 @@
 package io.sentry.spring.tracing
 
 import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.anyOrNull
 import com.nhaarman.mockitokotlin2.check
 import com.nhaarman.mockitokotlin2.eq
+import com.nhaarman.mockitokotlin2.isNull
 import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
 import com.nhaarman.mockitokotlin2.spy
 import com.nhaarman.mockitokotlin2.verify
 import com.nhaarman.mockitokotlin2.verifyNoMoreInteractions
@@ -11,11 +14,16 @@ import com.nhaarman.mockitokotlin2.verifyZeroInteractions
 import com.nhaarman.mockitokotlin2.whenever
 import io.sentry.CustomSamplingContext
 import io.sentry.IHub
+import io.sentry.ISpan
+import io.sentry.NoOpTransaction
+import io.sentry.Scope
+import io.sentry.ScopeCallback
 import io.sentry.SentryOptions
 import io.sentry.SentryTracer
 import io.sentry.SpanId
 import io.sentry.SpanStatus
 import io.sentry.TransactionContext
+import io.sentry.UnsampledTransaction
 import io.sentry.protocol.SentryId
 import javax.servlet.FilterChain
 import javax.servlet.http.HttpServletRequest
@@ -35,9 +43,10 @@ class SentryTracingFilterTest {
         val response = MockHttpServletResponse()
         val chain = mock<FilterChain>()
         val transactionNameProvider = spy(TransactionNameProvider())
+        val options = SentryOptions()
 
         init {
-            whenever(hub.options).thenReturn(SentryOptions())
+            whenever(hub.options).thenReturn(options)
         }
 
         fun getSut(isEnabled: Boolean = true, status: Int = 200, sentryTraceHeader: String? = null): SentryTracingFilter {
@@ -147,4 +156,69 @@ class SentryTracingFilterTest {
             assertThat(it.status).isEqualTo(SpanStatus.INTERNAL_ERROR)
         })
     }
+
+    @Test
+    fun `when transaction is not sampled upfront and sentry trace is not present, binds unsampled transaction that propagates the trace`() {
+        fixture.options.tracesSampleRate = 1.0
+        val filter = fixture.getSut()
+        whenever(fixture.hub.sampleTransaction(anyOrNull())).thenReturn(false)
+        val scope = Scope(fixture.options)
+        whenever(fixture.hub.configureScope(any())).thenAnswer { (it.arguments[0] as ScopeCallback).run(scope) }
+        var transaction: ISpan? = null
+        whenever(fixture.chain.doFilter(any(), any())).thenAnswer { transaction = scope.span; null }
+
+        filter.doFilter(fixture.request, fixture.response, fixture.chain)
+
+        assertThat(transaction).isInstanceOf(UnsampledTransaction::class.java)
+        assertThat(transaction!!.toSentryTrace().value).endsWith("-0")
+        assertThat(scope.transaction).isNull()
+        verify(fixture.hub, never()).startTransaction(any(), anyOrNull<CustomSamplingContext>(), any())
+        verify(fixture.hub, never()).startTransaction(any(), any(), any<CustomSamplingContext>(), any())
+        verify(fixture.hub, never()).captureTransaction(any())
+    }
+
+    @Test
+    fun `when transaction is not sampled upfront and sentry trace is present, binds unsampled transaction that continues the trace`() {
+        fixture.options.tracesSampleRate = 1.0
+        val traceId = SentryId()
+        val parentSpanId = SpanId()
+        val filter = fixture.getSut(sentryTraceHeader = "$traceId-$parentSpanId-0")
+        whenever(fixture.hub.sampleTransaction(false)).thenReturn(false)
+        val scope = Scope(fixture.options)
+        whenever(fixture.hub.configureScope(any())).thenAnswer { (it.arguments[0] as ScopeCallback).run(scope) }
+        var transaction: ISpan? = null
+        whenever(fixture.chain.doFilter(any(), any())).thenAnswer { transaction = scope.span; null }
+
+        filter.doFilter(fixture.request, fixture.response, fixture.chain)
+
+        assertThat(transaction!!.spanContext.traceId).isEqualTo(traceId)
+        assertThat(transaction!!.spanContext.parentSpanId).isEqualTo(parentSpanId)
+        verify(fixture.hub, never()).startTransaction(any(), anyOrNull<CustomSamplingContext>(), any())
+    }
+
+    @Test
+    fun `when tracing is disabled, binds the transaction of the hub`() {
+        val filter = fixture.getSut()
+        whenever(fixture.hub.sampleTransaction(anyOrNull())).thenReturn(false)
+        whenever(fixture.hub.startTransaction(any(), isNull<CustomSamplingContext>(), eq(true))).thenReturn(NoOpTransaction.getInstance())
+
+        filter.doFilter(fixture.request, fixture.response, fixture.chain)
+
+        verify(fixture.hub).startTransaction(any(), isNull<CustomSamplingContext>(), eq(true))
+    }
+
+    @Test
+    fun `when transaction is sampled upfront, creates sampled transaction without sampling context`() {
+        val filter = fixture.getSut()
+        whenever(fixture.hub.sampleTransaction(anyOrNull())).thenReturn(true)
+        whenever(fixture.hub.startTransaction(any(), isNull<CustomSamplingContext>(), eq(true))).thenAnswer { SentryTracer(it.arguments[0] as TransactionContext, fixture.hub) }
+
+        filter.doFilter(fixture.request, fixture.response, fixture.chain)
+
+        verify(fixture.hub).startTransaction(check<TransactionContext> {
+            assertThat(it.name).isEqualTo("POST /product/12")
+            assertThat(it.sampled).isTrue()
+        }, isNull<CustomSamplingContext>(), eq(true))
+        verify(fixture.hub).captureTransaction(any())
+    }
 }
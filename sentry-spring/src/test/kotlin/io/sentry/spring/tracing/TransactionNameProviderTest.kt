@@ -0,0 +1,35 @@
+package io.sentry.spring.tracing
+
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertNull
+import kotlin.test.assertSame
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.web.servlet.HandlerMapping
+
+class TransactionNameProviderTest {
+    private val sut = TransactionNameProvider()
+
+    @Test
+    fun `when request has no best matching pattern, returns null`() {
+        assertNull(sut.provideTransactionName(MockHttpServletRequest("GET", "/some-path")))
+    }
+
+    @Test
+    fun `resolves name from method and best matching pattern`() {
+        assertEquals("GET /users/{id}", sut.provideTransactionName(request("GET", "/users/{id}")))
+        assertEquals("POST /users/{id}", sut.provideTransactionName(request("POST", "/users/{id}")))
+    }
+
+    @Test
+    fun `reuses the name of known routes`() {
+        val first = sut.provideTransactionName(request("GET", "/orders/{id}"))
+        val second = sut.provideTransactionName(request("GET", "/orders/{id}"))
+
+        assertSame(first, second)
+    }
+
+    private fun request(method: String, pattern: String) = MockHttpServletRequest(method, "/some-path").apply {
+        setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern)
+    }
+}
@@ -0,0 +1,112 @@
+package io.sentry.spring.webflux
+
+import com.nhaarman.mockitokotlin2.doReturn
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.verify
+import io.sentry.IHub
+import io.sentry.Sentry
+import io.sentry.SentryOptions
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import kotlin.test.AfterTest
+import kotlin.test.Test
+import kotlin.test.assertSame
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest
+import org.springframework.mock.web.server.MockServerWebExchange
+import org.springframework.web.server.WebFilterChain
+import reactor.core.publisher.Mono
+
+class SentryScheduleHookTest {
+
+    private val executor = Executors.newSingleThreadExecutor()
+
+    @AfterTest
+    fun shutdown() {
+        executor.shutdownNow()
+    }
+
+    @Test
+    fun `runs the task with a clone of the hub of the scheduling thread`() {
+        val clone = mock<IHub>()
+        val hub = mock<IHub> {
+            on { clone() } doReturn clone
+        }
+        val previousHub = Sentry.getCurrentHub()
+        Sentry.setCurrentHub(hub)
+        val task = try {
+            SentryScheduleHook().apply(Runnable { assertSame(clone, Sentry.getCurrentHub()) })
+        } finally {
+            Sentry.setCurrentHub(previousHub)
+        }
+
+        executor.submit(task).get(1, TimeUnit.SECONDS)
+    }
+
+    @Test
+    fun `runs the task with the hub forked for the request without cloning it`() {
+        val requestHub = mock<IHub>()
+        val hub = mock<IHub> {
+            on { clone() } doReturn requestHub
+            on { options } doReturn SentryOptions()
+        }
+        val exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"))
+        var task: Runnable? = null
+        val chain = WebFilterChain {
+            Mono.fromRunnable {
+                task = SentryScheduleHook().apply(Runnable {
+                    assertSame(requestHub, Sentry.getCurrentHub())
+                    // tasks scheduled by the task keep the request hub as well
+                    SentryScheduleHook().apply(Runnable { }).run()
+                })
+            }
+        }
+
+        SentryWebFilter(hub).filter(exchange, chain).block()
+        executor.submit(task!!).get(1, TimeUnit.SECONDS)
+
+        verify(requestHub, never()).clone()
+    }
+
+    @Test
+    fun `clones the hub of a request when it is not subscribed to by the request`() {
+        val clone = mock<IHub>()
+        val requestHub = mock<IHub> {
+            on { clone() } doReturn clone
+        }
+        val hub = mock<IHub> {
+            on { clone() } doReturn requestHub
+            on { options } doReturn SentryOptions()
+        }
+        val exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"))
+        SentryWebFilter(hub).filter(exchange, WebFilterChain { Mono.empty() }).block()
+        val previousHub = Sentry.getCurrentHub()
+        Sentry.setCurrentHub(requestHub)
+        val task = try {
+            SentryScheduleHook().apply(Runnable { assertSame(clone, Sentry.getCurrentHub()) })
+        } finally {
+            Sentry.setCurrentHub(previousHub)
+        }
+
+        executor.submit(task).get(1, TimeUnit.SECONDS)
+    }
+
+    @Test
+    fun `restores the hub of the worker thread after the task`() {
+        val workerHub = executor.submit<IHub> { Sentry.getCurrentHub() }.get(1, TimeUnit.SECONDS)
+        val hub = mock<IHub> {
+            on { clone() } doReturn mock()
+        }
+        val previousHub = Sentry.getCurrentHub()
+        Sentry.setCurrentHub(hub)
+        val task = try {
+            SentryScheduleHook().apply(Runnable { })
+        } finally {
+            Sentry.setCurrentHub(previousHub)
+        }
+
+        executor.submit(task).get(1, TimeUnit.SECONDS)
+
+        assertSame(workerHub, executor.submit<IHub> { Sentry.getCurrentHub() }.get(1, TimeUnit.SECONDS))
+    }
+}
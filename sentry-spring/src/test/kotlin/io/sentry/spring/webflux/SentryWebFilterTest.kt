@@ -0,0 +1,125 @@
+package io.sentry.spring.webflux
+
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.argumentCaptor
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.verify
+import com.nhaarman.mockitokotlin2.whenever
+import io.sentry.Breadcrumb
+import io.sentry.EventProcessor
+import io.sentry.IHub
+import io.sentry.Scope
+import io.sentry.ScopeCallback
+import io.sentry.Sentry
+import io.sentry.SentryEvent
+import io.sentry.SentryOptions
+import io.sentry.protocol.Request
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertNull
+import kotlin.test.assertSame
+import org.springframework.core.io.buffer.DataBufferUtils
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest
+import org.springframework.mock.web.server.MockServerWebExchange
+import org.springframework.web.server.WebFilterChain
+import reactor.core.publisher.Mono
+
+class SentryWebFilterTest {
+    private class Fixture {
+        val hub = mock<IHub>()
+        val requestHub = mock<IHub>()
+        val options = SentryOptions()
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("http://localhost/hello").build())
+
+        fun getSut(): SentryWebFilter {
+            whenever(hub.options).thenReturn(options)
+            whenever(hub.clone()).thenReturn(requestHub)
+            return SentryWebFilter(hub)
+        }
+    }
+
+    private val fixture = Fixture()
+
+    @Test
+    fun `forks the hub once per request and configures the request on it`() {
+        val sut = fixture.getSut()
+
+        sut.filter(fixture.exchange, WebFilterChain { Mono.empty() }).block()
+
+        verify(fixture.hub).clone()
+        verify(fixture.hub, never()).pushScope()
+        verify(fixture.requestHub).addBreadcrumb(any<Breadcrumb>())
+        verify(fixture.requestHub).configureScope(any())
+        assertSame(fixture.requestHub, fixture.exchange.getAttribute<IHub>(SentryWebFilter.SENTRY_HUB_KEY))
+    }
+
+    @Test
+    fun `request hub is current while subscribing and restored afterwards`() {
+        val sut = fixture.getSut()
+        val previousHub = Sentry.getCurrentHub()
+        var hubInChain: IHub? = null
+        var requestHubInChain: IHub? = null
+
+        sut.filter(fixture.exchange, WebFilterChain {
+            Mono.fromRunnable {
+                hubInChain = Sentry.getCurrentHub()
+                requestHubInChain = SentryWebFilter.getCurrentRequestHub()
+            }
+        }).block()
+
+        assertSame(fixture.requestHub, hubInChain)
+        assertSame(fixture.requestHub, requestHubInChain)
+        assertSame(previousHub, Sentry.getCurrentHub())
+        assertNull(SentryWebFilter.getCurrentRequestHub())
+    }
+
+    @Test
+    fun `when max request body size is set, attaches the beginning of the body to events`() {
+        fixture.options.maxRequestBodySize = 5
+        fixture.exchange = MockServerWebExchange.from(MockServerHttpRequest.post("http://localhost/hello").body("hello world"))
+        val scope = mock<Scope>()
+        whenever(fixture.requestHub.configureScope(any())).thenAnswer { (it.arguments[0] as ScopeCallback).run(scope) }
+        val sut = fixture.getSut()
+
+        val processor = argumentCaptor<EventProcessor>()
+        var data: String? = null
+
+        sut.filter(fixture.exchange, WebFilterChain { exchange ->
+            DataBufferUtils.join(exchange.request.body).then(Mono.fromRunnable<Void> {
+                verify(scope).addEventProcessor(processor.capture())
+                val event = processor.firstValue.process(SentryEvent().apply { request = Request() }, null)
+                data = event!!.request!!.data
+            })
+        }).block()
+
+        assertEquals("hello", data)
+    }
+
+    @Test
+    fun `when the request has completed, the captured body is released`() {
+        fixture.options.maxRequestBodySize = 5
+        fixture.exchange = MockServerWebExchange.from(MockServerHttpRequest.post("http://localhost/hello").body("hello world"))
+        val scope = mock<Scope>()
+        whenever(fixture.requestHub.configureScope(any())).thenAnswer { (it.arguments[0] as ScopeCallback).run(scope) }
+        val sut = fixture.getSut()
+
+        sut.filter(fixture.exchange, WebFilterChain { exchange -> DataBufferUtils.join(exchange.request.body).then() }).block()
+
+        val processor = argumentCaptor<EventProcessor>()
+        verify(scope).addEventProcessor(processor.capture())
+        val event = processor.firstValue.process(SentryEvent().apply { request = Request() }, null)
+        assertNull(event!!.request!!.data)
+    }
+
+    @Test
+    fun `when max request body size is not set, body is not captured`() {
+        val scope = mock<Scope>()
+        whenever(fixture.requestHub.configureScope(any())).thenAnswer { (it.arguments[0] as ScopeCallback).run(scope) }
+        val sut = fixture.getSut()
+
+        sut.filter(fixture.exchange, WebFilterChain { Mono.empty() }).block()
+
+        verify(scope, never()).addEventProcessor(any())
+    }
+}
@@ -1,6 +1,7 @@
 package io.sentry;
 
 import io.sentry.util.CollectionUtils;
+import io.sentry.util.Objects;
 import java.util.Date;
 import java.util.Locale;
 import java.util.Map;
@@ -13,6 +14,12 @@ import org.jetbrains.annotations.TestOnly;
 /** Series of application events */
 public final class Breadcrumb implements IUnknownPropertiesConsumer {
 
+  /** data key of the number of times a compacted breadcrumb was added */
+  static final String REPEAT_COUNT_KEY = "sentry:repeat_count";
+
+  /** data key of the timestamp of the last time a compacted breadcrumb was added */
+  static final String LAST_TIMESTAMP_KEY = "sentry:last_timestamp";
+
   /** A timestamp representing when the breadcrumb occurred. */
   private final @NotNull Date timestamp;
 
@@ -228,6 +235,50 @@ public final class Breadcrumb implements IUnknownPropertiesConsumer {
     this.level = level;
   }
 
+  /**
+   * Checks if the given breadcrumb repeats this one, it has the same message, category, level, type
+   * and data, not counting the data added by {@link #countRepeat(Breadcrumb)}
+   *
+   * @param breadcrumb the breadcrumb that was added after this one
+   * @return true if it's a repeat of this breadcrumb
+   */
+  boolean isRepeatedBy(final @NotNull Breadcrumb breadcrumb) {
+    if (!Objects.equals(message, breadcrumb.message)
+        || !Objects.equals(category, breadcrumb.category)
+        || level != breadcrumb.level
+        || !Objects.equals(type, breadcrumb.type)) {
+      return false;
+    }
+    int size = data.size();
+    if (data.containsKey(REPEAT_COUNT_KEY)) {
+      size--;
+    }
+    if (data.containsKey(LAST_TIMESTAMP_KEY)) {
+      size--;
+    }
+    if (size != breadcrumb.data.size()) {
+      return false;
+    }
+    for (final Map.Entry<String, Object> entry : breadcrumb.data.entrySet()) {
+      if (!entry.getValue().equals(data.get(entry.getKey()))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Counts a repeat of this breadcrumb, instead of adding the repeat. Only called on a breadcrumb
+   * that no captured event holds, see {@link Scope#addBreadcrumb(Breadcrumb, Object)}.
+   *
+   * @param breadcrumb the breadcrumb that repeats this one
+   */
+  void countRepeat(final @NotNull Breadcrumb breadcrumb) {
+    final Object repeatCount = data.get(REPEAT_COUNT_KEY);
+    data.put(REPEAT_COUNT_KEY, repeatCount instanceof Integer ? (Integer) repeatCount + 1 : 2);
+    data.put(LAST_TIMESTAMP_KEY, DateUtils.getTimestamp(breadcrumb.timestamp));
+  }
+
   /**
    * Sets the unknown fields, internal usage only
    *
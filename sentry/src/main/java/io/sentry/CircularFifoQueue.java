@@ -247,6 +247,29 @@ final class CircularFifoQueue<E> extends AbstractCollection<E> implements Queue<
     return elements[idx];
   }
 
+  /**
+   * Replaces the element added last, if it is still the expected one.
+   *
+   * @param expected the element that is expected to be the last one
+   * @param element the element that replaces it
+   * @return true if the element was replaced
+   * @throws NullPointerException if the given element is null
+   */
+  boolean replaceLast(final @NotNull E expected, final @NotNull E element) {
+    if (null == element) {
+      throw new NullPointerException("Attempted to add null object to queue");
+    }
+    if (isEmpty()) {
+      return false;
+    }
+    final int last = decrement(end);
+    if (elements[last] != expected) {
+      return false;
+    }
+    elements[last] = element;
+    return true;
+  }
+
   // -----------------------------------------------------------------------
 
   /**
@@ -0,0 +1,449 @@
+package io.sentry;
+
+import io.sentry.protocol.Message;
+import io.sentry.protocol.Request;
+import io.sentry.protocol.SentryException;
+import io.sentry.protocol.SentryId;
+import io.sentry.protocol.SentryStackFrame;
+import io.sentry.protocol.SentryStackTrace;
+import io.sentry.protocol.SentryThread;
+import io.sentry.protocol.User;
+import io.sentry.util.Objects;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Keeps events within {@link SentryOptions#getMaxEventSize()} before they are serialized. The size
+ * of an event is estimated from its strings, maps, lists and the fields of the objects in it, so
+ * nothing is serialized twice, and only what doesn't fit is trimmed, in this order: frames in the
+ * middle of deep stack traces, the oldest breadcrumbs and the largest extra values.
+ */
+final class EventSizeLimiter {
+
+  /** ids, timestamps, the platform and the envelope item header of an event */
+  private static final int BASE_SIZE = 512;
+
+  /** frames at the start and the end of a stack trace that are never trimmed */
+  private static final int FRAMES_KEPT_AT_ENDS = 10;
+
+  /** nested values deeper than this are counted as a placeholder, they might be cyclic */
+  private static final int MAX_DEPTH = 16;
+
+  private static final Comparator<SentryStackTrace> BY_FRAME_COUNT_DESCENDING =
+      new Comparator<SentryStackTrace>() {
+        @Override
+        public int compare(final SentryStackTrace s1, final SentryStackTrace s2) {
+          return frameCount(s2) - frameCount(s1);
+        }
+      };
+
+  /** the fields objects are serialized with by Gson, per class */
+  private static final @NotNull Map<Class<?>, Field[]> FIELDS = new ConcurrentHashMap<>();
+
+  private final @NotNull SentryOptions options;
+
+  EventSizeLimiter(final @NotNull SentryOptions options) {
+    this.options = Objects.requireNonNull(options, "SentryOptions is required.");
+  }
+
+  /**
+   * Trims the event in place until its estimated size fits the max event size, or there is nothing
+   * left to trim.
+   *
+   * @param event the event
+   */
+  void trim(final @NotNull SentryEvent event) {
+    final long maxEventSize = options.getMaxEventSize();
+    if (maxEventSize <= 0) {
+      return;
+    }
+    final long estimatedSize = estimate(event);
+    if (estimatedSize <= maxEventSize) {
+      return;
+    }
+
+    long size = trimFrames(event, estimatedSize, maxEventSize);
+    if (size > maxEventSize) {
+      size = trimBreadcrumbs(event, size, maxEventSize);
+    }
+    if (size > maxEventSize) {
+      size = trimExtras(event, size, maxEventSize);
+    }
+
+    if (size > maxEventSize) {
+      options
+          .getLogger()
+          .log(
+              SentryLevel.WARNING,
+              "Event %s is about %d bytes after trimming, more than the max event size of %d.",
+              event.getEventId(),
+              size,
+              maxEventSize);
+    } else {
+      options
+          .getLogger()
+          .log(
+              SentryLevel.DEBUG,
+              "Event %s was trimmed from about %d to about %d bytes.",
+              event.getEventId(),
+              estimatedSize,
+              size);
+    }
+  }
+
+  private long trimFrames(final @NotNull SentryEvent event, long size, final long maxEventSize) {
+    final List<SentryStackTrace> stacktraces = getStacktraces(event);
+    // the deepest stack traces are trimmed first, they are the most likely to be recursive
+    Collections.sort(stacktraces, BY_FRAME_COUNT_DESCENDING);
+
+    for (final SentryStackTrace stacktrace : stacktraces) {
+      if (size <= maxEventSize) {
+        break;
+      }
+      final List<SentryStackFrame> frames = stacktrace.getFrames();
+      if (frames == null || frames.size() <= FRAMES_KEPT_AT_ENDS * 2) {
+        // the remaining stack traces are even shorter
+        break;
+      }
+      final int count = frames.size();
+      // frames in [from, to) are removed, the gap grows from the middle of the stack trace
+      int from = count / 2;
+      int to = from;
+      while (size > maxEventSize && to - from < count - FRAMES_KEPT_AT_ENDS * 2) {
+        if (count - to >= from) {
+          size -= estimateFrame(frames.get(to++));
+        } else {
+          size -= estimateFrame(frames.get(--from));
+        }
+      }
+      final List<SentryStackFrame> trimmedFrames = new ArrayList<>(count - (to - from));
+      trimmedFrames.addAll(frames.subList(0, from));
+      trimmedFrames.addAll(frames.subList(to, count));
+      stacktrace.setFrames(trimmedFrames);
+    }
+    return size;
+  }
+
+  private long trimBreadcrumbs(
+      final @NotNull SentryEvent event, long size, final long maxEventSize) {
+    final List<Breadcrumb> breadcrumbs = event.getBreadcrumbs();
+    if (breadcrumbs == null || breadcrumbs.isEmpty()) {
+      return size;
+    }
+    // breadcrumbs are ordered by their timestamp, the oldest come first
+    int removed = 0;
+    while (size > maxEventSize && removed < breadcrumbs.size()) {
+      size -= estimateBreadcrumb(breadcrumbs.get(removed++));
+    }
+    event.setBreadcrumbs(breadcrumbs.subList(removed, breadcrumbs.size()));
+    return size;
+  }
+
+  private long trimExtras(final @NotNull SentryEvent event, long size, final long maxEventSize) {
+    final Map<String, Object> extras = event.getExtras();
+    if (extras == null || extras.isEmpty()) {
+      return size;
+    }
+    final List<Map.Entry<String, Long>> sizes = new ArrayList<>(extras.size());
+    for (final Map.Entry<String, Object> extra : extras.entrySet()) {
+      sizes.add(
+          new AbstractMap.SimpleImmutableEntry<>(
+              extra.getKey(), estimateEntry(extra.getKey(), extra.getValue(), 0)));
+    }
+    Collections.sort(
+        sizes,
+        new Comparator<Map.Entry<String, Long>>() {
+          @Override
+          public int compare(final Map.Entry<String, Long> e1, final Map.Entry<String, Long> e2) {
+            return e2.getValue().compareTo(e1.getValue());
+          }
+        });
+    for (final Map.Entry<String, Long> extra : sizes) {
+      if (size <= maxEventSize) {
+        break;
+      }
+      event.removeExtra(extra.getKey());
+      size -= extra.getValue();
+    }
+    return size;
+  }
+
+  private static @NotNull List<SentryStackTrace> getStacktraces(final @NotNull SentryEvent event) {
+    // a stack trace shared by an exception and a thread is trimmed once
+    final Map<SentryStackTrace, Boolean> stacktraces = new IdentityHashMap<>();
+    final List<SentryException> exceptions = event.getExceptions();
+    if (exceptions != null) {
+      for (final SentryException exception : exceptions) {
+        final SentryStackTrace stacktrace = exception.getStacktrace();
+        if (stacktrace != null) {
+          stacktraces.put(stacktrace, Boolean.TRUE);
+        }
+      }
+    }
+    final List<SentryThread> threads = event.getThreads();
+    if (threads != null) {
+      for (final SentryThread thread : threads) {
+        final SentryStackTrace stacktrace = thread.getStacktrace();
+        if (stacktrace != null) {
+          stacktraces.put(stacktrace, Boolean.TRUE);
+        }
+      }
+    }
+    return new ArrayList<>(stacktraces.keySet());
+  }
+
+  private static int frameCount(final @NotNull SentryStackTrace stacktrace) {
+    final List<SentryStackFrame> frames = stacktrace.getFrames();
+    return frames == null ? 0 : frames.size();
+  }
+
+  /**
+   * Estimates the size of the event serialized to JSON. Escaped and multi-byte characters are
+   * counted once. Objects such as contexts, the debug meta and the sdk are counted field by field,
+   * the way Gson serializes them, and objects of the JDK by their {@code toString()}.
+   *
+   * @param event the event
+   * @return the estimated size in bytes
+   */
+  static long estimate(final @NotNull SentryEvent event) {
+    long size = BASE_SIZE;
+    size += estimateMessage(event.getMessage());
+    size += estimateString(event.getLogger());
+    size += estimateString(event.getTransaction());
+    size += estimateString(event.getRelease());
+    size += estimateString(event.getEnvironment());
+    size += estimateString(event.getDist());
+    size += estimateString(event.getServerName());
+    size += estimateValue(event.getTags(), 0);
+    size += estimateValue(event.getFingerprints(), 0);
+    size += estimateValue(event.getExtras(), 0);
+    size += estimateValue(event.getContexts(), 0);
+    size += estimateValue(event.getModules(), 0);
+    size += estimateValue(event.getDebugMeta(), 0);
+    size += estimateValue(event.getSdk(), 0);
+    size += estimateRequest(event.getRequest());
+    size += estimateUser(event.getUser());
+
+    final List<SentryException> exceptions = event.getExceptions();
+    if (exceptions != null) {
+      for (final SentryException exception : exceptions) {
+        size += 32;
+        size += estimateString(exception.getType());
+        size += estimateString(exception.getValue());
+        size += estimateString(exception.getModule());
+        size += estimateStacktrace(exception.getStacktrace());
+      }
+    }
+    final List<SentryThread> threads = event.getThreads();
+    if (threads != null) {
+      for (final SentryThread thread : threads) {
+        size += 64;
+        size += estimateString(thread.getName());
+        size += estimateStacktrace(thread.getStacktrace());
+      }
+    }
+    final List<Breadcrumb> breadcrumbs = event.getBreadcrumbs();
+    if (breadcrumbs != null) {
+      for (final Breadcrumb breadcrumb : breadcrumbs) {
+        size += estimateBreadcrumb(breadcrumb);
+      }
+    }
+    return size;
+  }
+
+  private static long estimateMessage(final @Nullable Message message) {
+    if (message == null) {
+      return 0;
+    }
+    return 16
+        + estimateString(message.getFormatted())
+        + estimateString(message.getMessage())
+        + estimateValue(message.getParams(), 0);
+  }
+
+  private static long estimateRequest(final @Nullable Request request) {
+    if (request == null) {
+      return 0;
+    }
+    return 16
+        + estimateString(request.getUrl())
+        + estimateString(request.getMethod())
+        + estimateString(request.getQueryString())
+        + estimateString(request.getCookies())
+        + estimateValue(request.getData(), 0)
+        + estimateValue(request.getHeaders(), 0)
+        + estimateValue(request.getEnvs(), 0)
+        + estimateValue(request.getOthers(), 0);
+  }
+
+  private static long estimateUser(final @Nullable User user) {
+    if (user == null) {
+      return 0;
+    }
+    return 16
+        + estimateString(user.getId())
+        + estimateString(user.getUsername())
+        + estimateString(user.getEmail())
+        + estimateString(user.getIpAddress())
+        + estimateValue(user.getOthers(), 0);
+  }
+
+  private static long estimateStacktrace(final @Nullable SentryStackTrace stacktrace) {
+    final List<SentryStackFrame> frames = stacktrace == null ? null : stacktrace.getFrames();
+    if (frames == null) {
+      return 0;
+    }
+    long size = 16;
+    for (final SentryStackFrame frame : frames) {
+      size += estimateFrame(frame);
+    }
+    return size;
+  }
+
+  private static long estimateFrame(final @NotNull SentryStackFrame frame) {
+    // line number, in_app, native and the property names
+    return 64
+        + estimateString(frame.getFilename())
+        + estimateString(frame.getFunction())
+        + estimateString(frame.getModule())
+        + estimateString(frame.getAbsPath())
+        + estimateString(frame.getContextLine())
+        + estimateString(frame.getPackage())
+        + estimateString(frame.getRawFunction())
+        + estimateValue(frame.getPreContext(), 0)
+        + estimateValue(frame.getPostContext(), 0)
+        + estimateValue(frame.getVars(), 0);
+  }
+
+  private static long estimateBreadcrumb(final @NotNull Breadcrumb breadcrumb) {
+    // timestamp, level and the property names
+    return 64
+        + estimateString(breadcrumb.getMessage())
+        + estimateString(breadcrumb.getType())
+        + estimateString(breadcrumb.getCategory())
+        + estimateValue(breadcrumb.getData(), 0);
+  }
+
+  private static long estimateString(final @Nullable String value) {
+    return value == null ? 0 : value.length() + 2;
+  }
+
+  private static long estimateEntry(
+      final @NotNull Object key, final @Nullable Object value, final int depth) {
+    // the quoted key, a colon and a comma
+    return key.toString().length() + 4 + estimateValue(value, depth);
+  }
+
+  private static long estimateValue(final @Nullable Object value, final int depth) {
+    if (value == null) {
+      return 4;
+    }
+    if (value instanceof String) {
+      return ((String) value).length() + 2;
+    }
+    if (value instanceof Number || value instanceof Boolean) {
+      return value.toString().length();
+    }
+    if (isSerializedAsString(value)) {
+      return String.valueOf(value).length() + 2;
+    }
+    if (depth >= MAX_DEPTH) {
+      return 2;
+    }
+    if (value instanceof Map) {
+      long size = 2;
+      for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        size += estimateEntry(String.valueOf(entry.getKey()), entry.getValue(), depth + 1);
+      }
+      return size;
+    }
+    if (value instanceof Collection) {
+      long size = 2;
+      for (final Object element : (Collection<?>) value) {
+        size += estimateValue(element, depth + 1) + 1;
+      }
+      return size;
+    }
+    if (value instanceof Object[]) {
+      long size = 2;
+      for (final Object element : (Object[]) value) {
+        size += estimateValue(element, depth + 1) + 1;
+      }
+      return size;
+    }
+    return estimateFields(value, depth);
+  }
+
+  /**
+   * Returns if the value is serialized as a string, or close enough in size: ids, enums and the
+   * objects of the JDK, such as dates and time zones, whose fields are not accessible.
+   */
+  private static boolean isSerializedAsString(final @NotNull Object value) {
+    if (value instanceof SentryId
+        || value instanceof SpanId
+        || value instanceof Enum
+        || value instanceof Character) {
+      return true;
+    }
+    final String className = value.getClass().getName();
+    return className.startsWith("java.")
+        || className.startsWith("javax.")
+        || className.startsWith("android.");
+  }
+
+  private static long estimateFields(final @NotNull Object value, final int depth) {
+    long size = 2;
+    for (final Field field : getFields(value.getClass())) {
+      final Object fieldValue;
+      try {
+        fieldValue = field.get(value);
+      } catch (IllegalAccessException e) {
+        continue;
+      }
+      // null fields are left out by Gson
+      if (fieldValue != null) {
+        size += estimateEntry(field.getName(), fieldValue, depth + 1);
+      }
+    }
+    return size;
+  }
+
+  private static @NotNull Field[] getFields(final @NotNull Class<?> clazz) {
+    Field[] fields = FIELDS.get(clazz);
+    if (fields == null) {
+      final List<Field> fieldList = new ArrayList<>();
+      // Class fields are declared per class so we have to traverse the whole hierarchy
+      for (Class<?> i = clazz; i != null && i != Object.class; i = i.getSuperclass()) {
+        for (final Field field : i.getDeclaredFields()) {
+          final int modifiers = field.getModifiers();
+          if (Modifier.isStatic(modifiers)
+              || Modifier.isTransient(modifiers)
+              || field.isSynthetic()) {
+            continue;
+          }
+          try {
+            field.setAccessible(true);
+          } catch (RuntimeException e) {
+            // the field can't be read, it's left out of the estimate
+            continue;
+          }
+          fieldList.add(field);
+        }
+      }
+      fields = fieldList.toArray(new Field[0]);
+      FIELDS.put(clazz, fields);
+    }
+    return fields;
+  }
+}
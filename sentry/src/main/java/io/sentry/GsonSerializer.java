@@ -26,16 +26,15 @@ import io.sentry.protocol.Device;
 import io.sentry.protocol.SentryId;
 import io.sentry.util.Objects;
 import java.io.BufferedOutputStream;
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
-import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
 import org.jetbrains.annotations.NotNull;
@@ -44,15 +43,11 @@ import org.jetbrains.annotations.Nullable;
 /** The AndroidSerializer class that uses Gson as JSON parser */
 public final class GsonSerializer implements ISerializer {
 
-  /** the UTF-8 Charset */
-  @SuppressWarnings("CharsetObjectCanBeUsed")
-  private static final Charset UTF_8 = Charset.forName("UTF-8");
-
   /** the SentryOptions */
   private final @NotNull SentryOptions options;
 
-  /** the Gson instance */
-  private final @NotNull Gson gson;
+  /** the Gson instance, built on first use as registering the adapters is costly at startup */
+  private volatile @Nullable Gson gson;
 
   /**
    * AndroidSerializer ctor
@@ -61,8 +56,25 @@ public final class GsonSerializer implements ISerializer {
    */
   public GsonSerializer(final @NotNull SentryOptions options) {
     this.options = Objects.requireNonNull(options, "The SentryOptions object is required.");
+  }
 
-    gson = provideGson();
+  /**
+   * Returns the Gson instance, creating it on first use
+   *
+   * @return the Gson instance
+   */
+  private @NotNull Gson getGson() {
+    Gson gson = this.gson;
+    if (gson == null) {
+      synchronized (this) {
+        gson = this.gson;
+        if (gson == null) {
+          gson = provideGson();
+          this.gson = gson;
+        }
+      }
+    }
+    return gson;
   }
 
   /**
@@ -91,6 +103,7 @@ public final class GsonSerializer implements ISerializer {
         .registerTypeAdapter(SentryEnvelopeHeader.class, new SentryEnvelopeHeaderAdapter())
         .registerTypeAdapter(SentryEnvelopeItemHeader.class, new SentryEnvelopeItemHeaderAdapter())
         .registerTypeAdapter(Session.class, new SessionAdapter(options))
+        .registerTypeAdapter(SessionAggregates.class, new SessionAggregatesAdapter(options))
         .registerTypeAdapter(SpanId.class, new SpanIdDeserializerAdapter(options))
         .registerTypeAdapter(SpanId.class, new SpanIdSerializerAdapter(options))
         .registerTypeAdapter(SpanStatus.class, new SpanStatusDeserializerAdapter(options))
@@ -113,7 +126,7 @@ public final class GsonSerializer implements ISerializer {
     Objects.requireNonNull(reader, "The Reader object is required.");
     Objects.requireNonNull(clazz, "The Class type is required.");
 
-    return gson.fromJson(reader, clazz);
+    return getGson().fromJson(reader, clazz);
   }
 
   /**
@@ -140,9 +153,11 @@ public final class GsonSerializer implements ISerializer {
     Objects.requireNonNull(writer, "The Writer object is required.");
 
     if (options.getLogger().isEnabled(SentryLevel.DEBUG)) {
-      options.getLogger().log(SentryLevel.DEBUG, "Serializing object: %s", gson.toJson(entity));
+      options
+          .getLogger()
+          .log(SentryLevel.DEBUG, "Serializing object: %s", getGson().toJson(entity));
     }
-    gson.toJson(entity, entity.getClass(), writer);
+    getGson().toJson(entity, entity.getClass(), writer);
 
     writer.flush();
   }
@@ -161,31 +176,53 @@ public final class GsonSerializer implements ISerializer {
     Objects.requireNonNull(envelope, "The SentryEnvelope object is required.");
     Objects.requireNonNull(outputStream, "The Stream object is required.");
 
-    try (final BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(outputStream);
-        final Writer writer =
-            new BufferedWriter(new OutputStreamWriter(bufferedOutputStream, UTF_8))) {
-      gson.toJson(envelope.getHeader(), SentryEnvelopeHeader.class, writer);
-      writer.write("\n");
-
-      for (final SentryEnvelopeItem item : envelope.getItems()) {
-        try {
-          // When this throws we don't write anything and continue with the next item.
-          final byte[] data = item.getData();
-
-          gson.toJson(item.getHeader(), SentryEnvelopeItemHeader.class, writer);
-          writer.write("\n");
-          writer.flush();
-
-          outputStream.write(data);
+    // Payloads are serialized before the headers, so they get the buffer of the thread.
+    final List<SentryEnvelopeItem> items = new ArrayList<>();
+    for (final SentryEnvelopeItem item : envelope.getItems()) {
+      try {
+        // When this throws we don't write anything and continue with the next item.
+        // Streamed items only resolve their length here, the payload is read while writing.
+        item.getDataLength();
+        items.add(item);
+      } catch (Exception exception) {
+        options
+            .getLogger()
+            .log(SentryLevel.ERROR, "Failed to create envelope item. Dropping it.", exception);
+      }
+    }
 
-          writer.write("\n");
-        } catch (Exception exception) {
-          options
-              .getLogger()
-              .log(SentryLevel.ERROR, "Failed to create envelope item. Dropping it.", exception);
+    // headers are encoded into the buffer of the thread, large payloads skip the stream's buffer
+    final BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(outputStream);
+    final SerializationBuffer buffer = SerializationBuffer.acquire();
+    try {
+      final Writer writer = buffer.getWriter();
+      getGson().toJson(envelope.getHeader(), SentryEnvelopeHeader.class, writer);
+      writer.write("\n");
+      writer.flush();
+      buffer.writeTo(bufferedOutputStream);
+
+      // Once the header of an item is written, a failure can't drop the item alone without
+      // corrupting the envelope, so it fails the whole envelope.
+      for (final SentryEnvelopeItem item : items) {
+        buffer.reset();
+        getGson().toJson(item.getHeader(), SentryEnvelopeItemHeader.class, writer);
+        writer.write("\n");
+        writer.flush();
+        buffer.writeTo(bufferedOutputStream);
+
+        if (item.isStreamed()) {
+          // streamed files may be transferred by the file system to the unbuffered stream
+          bufferedOutputStream.flush();
+          item.writeData(outputStream);
+        } else {
+          item.writeData(bufferedOutputStream);
         }
+
+        bufferedOutputStream.write('\n');
       }
-      writer.flush();
+      bufferedOutputStream.flush();
+    } finally {
+      buffer.release();
     }
   }
 
@@ -200,6 +237,6 @@ public final class GsonSerializer implements ISerializer {
   public @NotNull String serialize(final @NotNull Map<String, Object> data) throws Exception {
     Objects.requireNonNull(data, "The SentryEnvelope object is required.");
 
-    return gson.toJson(data);
+    return getGson().toJson(data);
   }
 }
@@ -7,10 +7,10 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -18,30 +18,67 @@ import org.jetbrains.annotations.Nullable;
  * Time sensitive cache in charge of keeping track of the hostname. The {@code
  * InetAddress.getLocalHost().getCanonicalHostName()} call can be quite expensive and could be
  * called for the creation of each {@link SentryEvent}. This system will prevent unnecessary costs
- * by keeping track of the hostname for a period defined during the construction. For performance
- * purposes, the operation of retrieving the hostname will automatically fail after a period of time
- * defined by {@link #GET_HOSTNAME_TIMEOUT} without result.
+ * by keeping track of the hostname for a period defined during the construction.
+ *
+ * <p>The hostname is refreshed in the background on the SDK executor ahead of its expiration, so
+ * reading a known hostname never blocks. Until the first lookup finishes, reading the hostname
+ * waits for it at most {@link #GET_HOSTNAME_TIMEOUT}, so the first events get a server name too.
+ * Lookups run on a single thread of this cache that is reused for every refresh, a hanging DNS
+ * lookup holds up neither the other tasks of the SDK nor, after it timed out once, the events.
+ * Resolving the hostname is JVM wide, so a single instance is shared, see {@link #getInstance()}.
  */
 final class HostnameCache {
   private static final long HOSTNAME_CACHE_DURATION = TimeUnit.HOURS.toMillis(5);
 
-  /** Time before the get hostname operation times out (in ms). */
+  /** Time before a failed lookup is retried (in ms). */
+  private static final long RETRY_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+  /** Time the executor or the first events wait for the lookup of the hostname (in ms). */
   private static final long GET_HOSTNAME_TIMEOUT = TimeUnit.SECONDS.toMillis(1);
+  /**
+   * Time after which a scheduled update that didn't finish is considered lost, e.g. because the
+   * executor was shut down before running it (in ms).
+   */
+  private static final long MAX_UPDATE_DELAY = TimeUnit.MINUTES.toMillis(1);
   /** Time for which the cache is kept. */
   private final long cacheDuration;
+  /** Time before the expiration at which the cache is refreshed. */
+  private final long refreshAhead;
   /** Current value for hostname (might change over time). */
   @Nullable private volatile String hostname;
-  /** Time at which the cache should expire. */
-  private volatile long expirationTimestamp;
-  /** Whether a cache update thread is currently running or not. */
-  private final @NotNull AtomicBoolean updateRunning = new AtomicBoolean(false);
+  /** Time at which the cache should be refreshed, 0 until the first lookup. */
+  private volatile long refreshTimestamp;
+  /** If waiting for the first lookup timed out, events don't wait for it again then. */
+  private volatile boolean firstLookupTimedOut;
+  /** Time at which the cache update that is pending was scheduled, 0 if none is. */
+  private final @NotNull AtomicLong updateScheduledAt = new AtomicLong(0);
+  /** The last lookup, kept while it runs so a hanging lookup isn't started twice. */
+  private @Nullable FutureTask<String> lookup;
+  /** Runs the lookups, its single daemon thread is reused for every refresh. */
+  private final @NotNull ExecutorService lookupExecutor =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            final Thread thread = new Thread(runnable, "SentryHostnameLookup");
+            thread.setDaemon(true);
+            return thread;
+          });
 
   private final @NotNull Callable<InetAddress> getLocalhost;
 
-  private final @NotNull ExecutorService executorService =
-      Executors.newSingleThreadExecutor(new HostnameCacheThreadFactory());
+  /** Lazily creates the shared instance on first access. */
+  private static final class Holder {
+    private static final HostnameCache INSTANCE = new HostnameCache();
+  }
+
+  /**
+   * Returns the instance shared by all event processors of the JVM.
+   *
+   * @return the HostnameCache
+   */
+  static @NotNull HostnameCache getInstance() {
+    return Holder.INSTANCE;
+  }
 
-  public HostnameCache() {
+  private HostnameCache() {
     this(HOSTNAME_CACHE_DURATION);
   }
 
@@ -58,64 +95,138 @@ final class HostnameCache {
    */
   HostnameCache(long cacheDuration, final @NotNull Callable<InetAddress> getLocalhost) {
     this.cacheDuration = cacheDuration;
+    this.refreshAhead = cacheDuration / 10;
     this.getLocalhost = Objects.requireNonNull(getLocalhost, "getLocalhost is required");
-    updateCache();
   }
 
   /**
    * Gets the hostname of the current machine.
    *
-   * <p>Gets the value from the cache if possible otherwise calls {@link #updateCache()}.
+   * <p>Gets the value from the cache and schedules a refresh on the given executor if the value is
+   * about to expire, never waiting for the refresh. Until the first lookup finishes it waits for it
+   * instead, at most {@link #GET_HOSTNAME_TIMEOUT}.
    *
-   * @return the hostname of the current machine.
+   * @param executorService the executor the refresh runs on
+   * @return the hostname of the current machine or null if it couldn't be resolved yet.
    */
   @Nullable
-  String getHostname() {
-    if (expirationTimestamp < System.currentTimeMillis()
-        && updateRunning.compareAndSet(false, true)) {
-      updateCache();
+  String getHostname(final @NotNull ISentryExecutorService executorService) {
+    if (hostname == null) {
+      awaitFirstLookup();
     }
-
+    refreshIfNeeded(executorService);
     return hostname;
   }
 
+  /**
+   * Schedules a lookup of the hostname on the given executor unless the cached value is fresh or a
+   * lookup is already pending.
+   *
+   * @param executorService the executor the lookup runs on
+   */
+  void refreshIfNeeded(final @NotNull ISentryExecutorService executorService) {
+    final long now = System.currentTimeMillis();
+    if (refreshTimestamp > now) {
+      return;
+    }
+    final long scheduledAt = updateScheduledAt.get();
+    if (scheduledAt != 0 && now - scheduledAt < MAX_UPDATE_DELAY) {
+      return;
+    }
+    if (!updateScheduledAt.compareAndSet(scheduledAt, now)) {
+      return;
+    }
+    try {
+      final Future<?> future = executorService.submit(this::updateCache);
+      if (future.isCancelled()) {
+        // the executor rejected the update, the next call will try again
+        updateScheduledAt.compareAndSet(now, 0);
+      }
+    } catch (Exception e) {
+      // the executor is shut down, the next call will try again
+      updateScheduledAt.compareAndSet(now, 0);
+    }
+  }
+
+  /** Waits for the first lookup, unless a lookup failed recently or waiting timed out before. */
+  private void awaitFirstLookup() {
+    final FutureTask<String> lookup;
+    synchronized (this) {
+      if (hostname != null
+          || firstLookupTimedOut
+          || refreshTimestamp > System.currentTimeMillis()) {
+        return;
+      }
+      lookup = startLookup();
+    }
+    try {
+      awaitLookup(lookup);
+    } catch (TimeoutException e) {
+      // the lookup keeps running, the refresh on the executor takes its result
+      firstLookupTimedOut = true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Exception e) {
+      refreshTimestamp = System.currentTimeMillis() + RETRY_INTERVAL;
+    }
+  }
+
   /** Force an update of the cache to get the current value of the hostname. */
   private void updateCache() {
-    final Callable<Void> hostRetriever =
-        () -> {
-          try {
-            hostname = getLocalhost.call().getCanonicalHostName();
-            expirationTimestamp = System.currentTimeMillis() + cacheDuration;
-          } finally {
-            updateRunning.set(false);
-          }
-
-          return null;
-        };
-
     try {
-      final Future<Void> futureTask = executorService.submit(hostRetriever);
-      futureTask.get(GET_HOSTNAME_TIMEOUT, TimeUnit.MILLISECONDS);
+      awaitLookup(startLookup());
     } catch (InterruptedException e) {
+      refreshTimestamp = System.currentTimeMillis() + RETRY_INTERVAL;
       Thread.currentThread().interrupt();
-      handleCacheUpdateFailure();
-    } catch (ExecutionException | TimeoutException | RuntimeException e) {
-      handleCacheUpdateFailure();
+    } catch (Exception e) {
+      // keep serving the last known hostname and retry later
+      refreshTimestamp = System.currentTimeMillis() + RETRY_INTERVAL;
+    } finally {
+      updateScheduledAt.set(0);
     }
   }
 
-  private void handleCacheUpdateFailure() {
-    expirationTimestamp = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(1);
+  /**
+   * Starts a lookup of the hostname on the lookup thread, unless the last lookup is still running,
+   * then that one is returned.
+   *
+   * @return the lookup
+   */
+  private synchronized @NotNull FutureTask<String> startLookup() {
+    FutureTask<String> lookup = this.lookup;
+    if (lookup == null) {
+      lookup = new FutureTask<>(() -> getLocalhost.call().getCanonicalHostName());
+      lookupExecutor.execute(lookup);
+      this.lookup = lookup;
+    }
+    return lookup;
   }
 
-  private static final class HostnameCacheThreadFactory implements ThreadFactory {
-    private int cnt;
+  /**
+   * Waits for the lookup and caches its result. A lookup that timed out is kept, the next update
+   * waits for it again or takes its result instead of starting another one.
+   *
+   * @param lookup the lookup
+   * @throws Exception if the lookup failed or didn't finish within {@link #GET_HOSTNAME_TIMEOUT}
+   */
+  private void awaitLookup(final @NotNull FutureTask<String> lookup) throws Exception {
+    final String hostname;
+    try {
+      hostname = lookup.get(GET_HOSTNAME_TIMEOUT, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      onLookupFinished(lookup);
+      throw e;
+    }
+    synchronized (this) {
+      onLookupFinished(lookup);
+      this.hostname = hostname;
+      refreshTimestamp = System.currentTimeMillis() + cacheDuration - refreshAhead;
+    }
+  }
 
-    @Override
-    public @NotNull Thread newThread(final @NotNull Runnable r) {
-      final Thread ret = new Thread(r, "SentryHostnameCache-" + cnt++);
-      ret.setDaemon(true);
-      return ret;
+  private synchronized void onLookupFinished(final @NotNull FutureTask<String> lookup) {
+    if (this.lookup == lookup) {
+      this.lookup = null;
     }
   }
 }
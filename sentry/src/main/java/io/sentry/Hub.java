@@ -643,6 +643,15 @@ public final class Hub implements IHub {
     return transaction;
   }
 
+  @ApiStatus.Internal
+  @Override
+  public @Nullable Boolean sampleTransaction(final @Nullable Boolean parentSampled) {
+    if (!isEnabled() || !options.isTracingEnabled()) {
+      return false;
+    }
+    return tracesSampler.sampleWithoutContext(parentSampled);
+  }
+
   @Override
   public @Nullable SentryTraceHeader traceHeaders() {
     SentryTraceHeader traceHeader = null;
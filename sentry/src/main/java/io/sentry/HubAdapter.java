@@ -198,6 +198,12 @@ public final class HubAdapter implements IHub {
         transactionContexts, customSamplingContext, bindToScope, startTimestamp, waitForChildren);
   }
 
+  @ApiStatus.Internal
+  @Override
+  public @Nullable Boolean sampleTransaction(final @Nullable Boolean parentSampled) {
+    return Sentry.getCurrentHub().sampleTransaction(parentSampled);
+  }
+
   @Override
   public @Nullable SentryTraceHeader traceHeaders() {
     return Sentry.traceHeaders();
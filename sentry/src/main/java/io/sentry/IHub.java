@@ -430,6 +430,19 @@ public interface IHub {
     return startTransaction(name, operation, (CustomSamplingContext) null, bindToScope);
   }
 
+  /**
+   * Takes the sampling decision for a transaction before it's created, which is possible when the
+   * decision doesn't depend on the {@link SamplingContext}. Integrations use it to skip creating
+   * the transaction and its {@link CustomSamplingContext} for requests that are not sampled.
+   *
+   * @param parentSampled the sampling decision of the parent transaction, if any
+   * @return the sampling decision or {@code null} if it can only be taken with a sampling context
+   */
+  @ApiStatus.Internal
+  default @Nullable Boolean sampleTransaction(final @Nullable Boolean parentSampled) {
+    return null;
+  }
+
   /**
    * Returns trace header of active transaction or {@code null} if no transaction is active.
    *
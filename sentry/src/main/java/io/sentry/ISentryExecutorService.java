@@ -15,6 +15,16 @@ interface ISentryExecutorService {
   @NotNull
   Future<?> submit(final @NotNull Runnable runnable);
 
+  /**
+   * Schedules a Runnable to run once after the given delay
+   *
+   * @param runnable the Runnable
+   * @param delayMillis the delay in millis
+   * @return a Future of the Runnable
+   */
+  @NotNull
+  Future<?> schedule(final @NotNull Runnable runnable, final long delayMillis);
+
   /**
    * Closes the ThreadExecutor and awaits for the timeout
    *
@@ -0,0 +1,72 @@
+package io.sentry;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A list whose values are only created when the list is first read or modified, for example when
+ * the event holding it gets serialized. Events that are dropped before that never pay for it.
+ *
+ * @param <T> the type of the values
+ */
+final class LazyList<T> extends AbstractList<T> {
+
+  /** Creates the values of a {@link LazyList} */
+  interface ValuesFactory<T> {
+    @NotNull
+    List<T> create();
+  }
+
+  private @Nullable ValuesFactory<T> factory;
+  private @Nullable List<T> values;
+
+  LazyList(final @NotNull ValuesFactory<T> factory) {
+    this.factory = factory;
+  }
+
+  /**
+   * Returns true if the values have been created already
+   *
+   * @return true if created or false otherwise
+   */
+  synchronized boolean isCreated() {
+    return values != null;
+  }
+
+  private synchronized @NotNull List<T> getValues() {
+    if (values == null) {
+      values = factory != null ? new ArrayList<>(factory.create()) : new ArrayList<>();
+      // the factory holds on to everything needed to create the values, let it go
+      factory = null;
+    }
+    return values;
+  }
+
+  @Override
+  public T get(final int index) {
+    return getValues().get(index);
+  }
+
+  @Override
+  public int size() {
+    return getValues().size();
+  }
+
+  @Override
+  public T set(final int index, final T element) {
+    return getValues().set(index, element);
+  }
+
+  @Override
+  public void add(final int index, final T element) {
+    getValues().add(index, element);
+  }
+
+  @Override
+  public T remove(final int index) {
+    return getValues().remove(index);
+  }
+}
@@ -29,13 +29,17 @@ public final class MainEventProcessor implements EventProcessor {
   private final @Nullable HostnameCache hostnameCache;
 
   MainEventProcessor(final @NotNull SentryOptions options) {
-    this(options, options.isAttachServerName() ? new HostnameCache() : null);
+    this(options, options.isAttachServerName() ? HostnameCache.getInstance() : null);
   }
 
   MainEventProcessor(
       final @NotNull SentryOptions options, final @Nullable HostnameCache hostnameCache) {
     this.options = Objects.requireNonNull(options, "The SentryOptions is required.");
     this.hostnameCache = hostnameCache;
+    if (hostnameCache != null) {
+      // resolve the hostname in the background so it's likely known by the first event
+      hostnameCache.refreshIfNeeded(options.getExecutorService());
+    }
 
     final SentryStackTraceFactory sentryStackTraceFactory =
         new SentryStackTraceFactory(
@@ -139,7 +143,7 @@ public final class MainEventProcessor implements EventProcessor {
     }
 
     if (options.isAttachServerName() && hostnameCache != null && event.getServerName() == null) {
-      event.setServerName(hostnameCache.getHostname());
+      event.setServerName(hostnameCache.getHostname(options.getExecutorService()));
     }
   }
 
@@ -154,6 +154,11 @@ public final class NoOpHub implements IHub {
     return NoOpTransaction.getInstance();
   }
 
+  @Override
+  public @NotNull Boolean sampleTransaction(final @Nullable Boolean parentSampled) {
+    return false;
+  }
+
   @Override
   public @NotNull SentryTraceHeader traceHeaders() {
     return new SentryTraceHeader(SentryId.EMPTY_ID, SpanId.EMPTY_ID, true);
@@ -18,6 +18,11 @@ final class NoOpSentryExecutorService implements ISentryExecutorService {
     return new FutureTask<>(() -> null);
   }
 
+  @Override
+  public @NotNull Future<?> schedule(final @NotNull Runnable runnable, final long delayMillis) {
+    return new FutureTask<>(() -> null);
+  }
+
   @Override
   public void close(long timeoutMillis) {}
 }
@@ -0,0 +1,50 @@
+package io.sentry;
+
+import io.sentry.transport.ITransport;
+import io.sentry.transport.RelayTransport;
+import io.sentry.util.Objects;
+import javax.net.SocketFactory;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Creates {@link RelayTransport}, which writes envelopes to a relay running next to the
+ * application instead of sending them to Sentry. The relay is configured with the DSN, the request
+ * details are not used.
+ */
+public final class RelayTransportFactory implements ITransportFactory {
+  private final @NotNull SocketFactory socketFactory;
+  private final @NotNull String host;
+  private final int port;
+
+  /**
+   * Creates a factory of transports that connect to the relay over TCP
+   *
+   * @param host the host of the relay, usually a loopback address
+   * @param port the port of the relay
+   */
+  public RelayTransportFactory(final @NotNull String host, final int port) {
+    this(SocketFactory.getDefault(), host, port);
+  }
+
+  /**
+   * Creates a factory of transports that connect to the relay with the given socket factory
+   *
+   * @param socketFactory the socket factory, for example one of a Unix domain socket library
+   * @param host the host of the relay, as the socket factory expects it
+   * @param port the port of the relay, as the socket factory expects it
+   */
+  public RelayTransportFactory(
+      final @NotNull SocketFactory socketFactory, final @NotNull String host, final int port) {
+    this.socketFactory = Objects.requireNonNull(socketFactory, "socketFactory is required");
+    this.host = Objects.requireNonNull(host, "host is required");
+    this.port = port;
+  }
+
+  @Override
+  public @NotNull ITransport create(
+      final @NotNull SentryOptions options, final @NotNull RequestDetails requestDetails) {
+    Objects.requireNonNull(options, "options is required");
+
+    return new RelayTransport(options, socketFactory, host, port);
+  }
+}
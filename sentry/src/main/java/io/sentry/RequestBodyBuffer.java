@@ -0,0 +1,114 @@
+package io.sentry;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Captures the beginning of a request body while the application reads it, so it can be attached
+ * to events captured during the request. Nothing is allocated until the body is read, and the
+ * backing array is reused by the next request handled on the same thread once it's released.
+ */
+@ApiStatus.Internal
+public final class RequestBodyBuffer {
+  /** The request attribute integrations store the buffer of a request in. */
+  public static final String REQUEST_ATTRIBUTE = RequestBodyBuffer.class.getName();
+
+  /** Arrays released by finished requests, taken by the next request on the same thread. */
+  private static final ThreadLocal<byte[]> RELEASED = new ThreadLocal<>();
+
+  private final int maxSize;
+  private @Nullable byte[] bytes;
+  private int size;
+  private boolean released;
+
+  public RequestBodyBuffer(final int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Captures a byte of the body
+   *
+   * @param b the byte
+   */
+  public synchronized void write(final int b) {
+    final byte[] bytes = takeArray();
+    if (bytes != null && size < maxSize) {
+      bytes[size++] = (byte) b;
+    }
+  }
+
+  /**
+   * Captures bytes of the body, the ones that don't fit anymore are ignored
+   *
+   * @param b the bytes
+   * @param off the offset
+   * @param len the number of bytes
+   */
+  public synchronized void write(final @NotNull byte[] b, final int off, final int len) {
+    final byte[] bytes = takeArray();
+    final int count = Math.min(len, maxSize - size);
+    if (bytes != null && count > 0) {
+      System.arraycopy(b, off, bytes, size, count);
+      size += count;
+    }
+  }
+
+  /**
+   * Captures the remaining bytes of the given buffer, the ones that don't fit anymore are ignored.
+   * The position of the buffer is advanced by the number of captured bytes.
+   *
+   * @param buffer the buffer
+   */
+  public synchronized void write(final @NotNull ByteBuffer buffer) {
+    final byte[] bytes = takeArray();
+    final int count = Math.min(buffer.remaining(), maxSize - size);
+    if (bytes != null && count > 0) {
+      buffer.get(bytes, size, count);
+      size += count;
+    }
+  }
+
+  /**
+   * Returns if no more bytes can be captured, callers can stop teeing the body then
+   *
+   * @return true if full or false otherwise
+   */
+  public synchronized boolean isFull() {
+    return released || size >= maxSize;
+  }
+
+  /**
+   * Decodes the captured bytes, this is only called when an event is captured during the request
+   *
+   * @param charset the charset of the body
+   * @return the captured body or null if nothing has been captured
+   */
+  public synchronized @Nullable String read(final @NotNull Charset charset) {
+    return bytes != null && size > 0 ? new String(bytes, 0, size, charset) : null;
+  }
+
+  /** Releases the backing array once the request has completed, nothing is captured anymore. */
+  public synchronized void release() {
+    if (bytes != null) {
+      RELEASED.set(bytes);
+      bytes = null;
+    }
+    released = true;
+  }
+
+  private @Nullable byte[] takeArray() {
+    if (bytes == null && !released && maxSize > 0) {
+      final byte[] reused = RELEASED.get();
+      if (reused != null && reused.length == maxSize) {
+        RELEASED.set(null);
+        bytes = reused;
+      } else {
+        bytes = new byte[maxSize];
+      }
+    }
+    return bytes;
+  }
+}
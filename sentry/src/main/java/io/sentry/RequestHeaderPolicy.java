@@ -0,0 +1,195 @@
+package io.sentry;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Decides which request headers are attached to events. It's compiled once from {@link
+ * SentryOptions}: header names are matched case insensitively without allocating, values are
+ * truncated to {@link SentryOptions#getMaxRequestHeaderValueLength()} and the headers are capped to
+ * {@link SentryOptions#getMaxRequestHeadersSize()} in total.
+ */
+@ApiStatus.Internal
+public final class RequestHeaderPolicy {
+  /** Headers that may contain personally identifiable information. */
+  private static final Set<String> SENSITIVE_HEADERS =
+      caseInsensitiveSet(Arrays.asList("X-Forwarded-For", "Authorization", "Cookie"));
+
+  /** Headers that are attached, null if all headers are attached. */
+  private final @Nullable Set<String> includes;
+
+  private final @NotNull Set<String> excludes;
+  /** If request header includes or excludes are configured. */
+  private final boolean configured;
+
+  private final int maxValueLength;
+  private final int maxTotalSize;
+
+  RequestHeaderPolicy(final @NotNull SentryOptions options) {
+    this.includes =
+        options.getRequestHeaderIncludes().isEmpty()
+            ? null
+            : caseInsensitiveSet(options.getRequestHeaderIncludes());
+    final Set<String> excludes = caseInsensitiveSet(options.getRequestHeaderExcludes());
+    if (!options.isSendDefaultPii()) {
+      excludes.addAll(SENSITIVE_HEADERS);
+    }
+    this.excludes = excludes;
+    this.configured =
+        !options.getRequestHeaderIncludes().isEmpty()
+            || !options.getRequestHeaderExcludes().isEmpty();
+    this.maxValueLength = options.getMaxRequestHeaderValueLength();
+    this.maxTotalSize = options.getMaxRequestHeadersSize();
+  }
+
+  private static @NotNull Set<String> caseInsensitiveSet(final @NotNull Collection<String> names) {
+    final Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    set.addAll(names);
+    return set;
+  }
+
+  /**
+   * Returns if a header with the given name is attached to events
+   *
+   * @param name the header name, in any case
+   * @return true if attached or false otherwise
+   */
+  public boolean isAllowed(final @NotNull String name) {
+    return (includes == null || includes.contains(name)) && !excludes.contains(name);
+  }
+
+  /**
+   * Starts collecting the headers of a request
+   *
+   * @return the collector
+   */
+  public @NotNull Collector newCollector() {
+    return new Collector(false);
+  }
+
+  /**
+   * Starts collecting the headers of a request for integrations that always left out the headers
+   * with personally identifiable information. They are left out even if {@link
+   * SentryOptions#isSendDefaultPii()} is set, unless request header includes or excludes are
+   * configured, then the policy alone decides.
+   *
+   * @return the collector
+   */
+  public @NotNull Collector newCollectorExcludingSensitiveHeaders() {
+    return new Collector(!configured);
+  }
+
+  /**
+   * Collects the allowed headers of a single request. Multi-valued headers are joined with a comma
+   * and nothing is allocated for headers that are not allowed. A header that doesn't fit in the max
+   * total size is skipped, smaller headers after it are still added.
+   */
+  public final class Collector {
+    private final @NotNull Map<String, String> headers = new HashMap<>();
+    private final boolean excludeSensitiveHeaders;
+    private int size;
+    private boolean full;
+
+    private Collector(final boolean excludeSensitiveHeaders) {
+      this.excludeSensitiveHeaders = excludeSensitiveHeaders;
+    }
+
+    /**
+     * Returns if the given header should be added, callers can skip reading its values otherwise
+     *
+     * @param name the header name
+     * @return true if the header should be added or false otherwise
+     */
+    public boolean accepts(final @NotNull String name) {
+      return !full
+          && isAllowed(name)
+          && !(excludeSensitiveHeaders && SENSITIVE_HEADERS.contains(name));
+    }
+
+    /**
+     * Returns if the headers take the max total size entirely, no other header is added then
+     *
+     * @return true if full or false otherwise
+     */
+    public boolean isFull() {
+      return full;
+    }
+
+    /**
+     * Adds a header if it's allowed and fits
+     *
+     * @param name the header name
+     * @param values the header values
+     */
+    public void add(final @NotNull String name, final @Nullable Enumeration<String> values) {
+      if (values != null && accepts(name) && values.hasMoreElements()) {
+        final String first = values.nextElement();
+        if (!values.hasMoreElements()) {
+          put(name, first);
+        } else {
+          final StringBuilder builder = new StringBuilder(first);
+          while (values.hasMoreElements() && builder.length() <= maxValueLength) {
+            builder.append(',').append(values.nextElement());
+          }
+          put(name, builder.toString());
+        }
+      }
+    }
+
+    /**
+     * Adds a header if it's allowed and fits
+     *
+     * @param name the header name
+     * @param values the header values
+     */
+    public void add(final @NotNull String name, final @Nullable Iterable<String> values) {
+      if (values == null || !accepts(name)) {
+        return;
+      }
+      final Iterator<String> iterator = values.iterator();
+      if (iterator.hasNext()) {
+        final String first = iterator.next();
+        if (!iterator.hasNext()) {
+          put(name, first);
+        } else {
+          final StringBuilder builder = new StringBuilder(first);
+          while (iterator.hasNext() && builder.length() <= maxValueLength) {
+            builder.append(',').append(iterator.next());
+          }
+          put(name, builder.toString());
+        }
+      }
+    }
+
+    private void put(final @NotNull String name, final @NotNull String value) {
+      final String truncated =
+          value.length() > maxValueLength ? value.substring(0, maxValueLength) : value;
+      final int headerSize = name.length() + truncated.length();
+      if (size + headerSize > maxTotalSize) {
+        // only this header is skipped, a smaller one may still fit
+        return;
+      }
+      size += headerSize;
+      headers.put(name, truncated);
+      full = size >= maxTotalSize;
+    }
+
+    /**
+     * Returns the collected headers
+     *
+     * @return the headers
+     */
+    public @NotNull Map<String, String> getHeaders() {
+      return headers;
+    }
+  }
+}
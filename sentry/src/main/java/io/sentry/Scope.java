@@ -38,7 +38,19 @@ public final class Scope {
   private @NotNull List<String> fingerprint = new ArrayList<>();
 
   /** Scope's breadcrumb queue */
-  private @NotNull Queue<Breadcrumb> breadcrumbs;
+  private @NotNull SynchronizedQueue<Breadcrumb> breadcrumbs;
+
+  /** The breadcrumb added last, repeats of it are merged into it if compaction is enabled */
+  private @Nullable Breadcrumb lastBreadcrumb;
+
+  /**
+   * If lastBreadcrumb is a copy made by this scope that wasn't handed out to an event yet, repeats
+   * are then counted on it in place
+   */
+  private boolean lastBreadcrumbUnshared;
+
+  /** Guards adding a breadcrumb together with lastBreadcrumb */
+  private final @NotNull Object breadcrumbsLock = new Object();
 
   /** Scope's tags */
   private @NotNull Map<String, @NotNull String> tags = new ConcurrentHashMap<>();
@@ -97,12 +109,17 @@ public final class Scope {
 
     final Queue<Breadcrumb> breadcrumbsRef = scope.breadcrumbs;
 
-    Queue<Breadcrumb> breadcrumbsClone = createBreadcrumbsList(scope.options.getMaxBreadcrumbs());
+    SynchronizedQueue<Breadcrumb> breadcrumbsClone =
+        createBreadcrumbsList(scope.options.getMaxBreadcrumbs());
 
-    for (Breadcrumb item : breadcrumbsRef) {
-      final Breadcrumb breadcrumbClone = new Breadcrumb(item);
-      breadcrumbsClone.add(breadcrumbClone);
+    synchronized (scope.breadcrumbsLock) {
+      for (Breadcrumb item : breadcrumbsRef) {
+        final Breadcrumb breadcrumbClone = new Breadcrumb(item);
+        breadcrumbsClone.add(breadcrumbClone);
+        this.lastBreadcrumb = breadcrumbClone;
+      }
     }
+    this.lastBreadcrumbUnshared = this.lastBreadcrumb != null;
     this.breadcrumbs = breadcrumbsClone;
 
     final Map<String, String> tagsRef = scope.tags;
@@ -279,6 +296,10 @@ public final class Scope {
    */
   @NotNull
   Queue<Breadcrumb> getBreadcrumbs() {
+    synchronized (breadcrumbsLock) {
+      // the caller may hold on to the last breadcrumb, repeats are counted on a copy from now on
+      lastBreadcrumbUnshared = false;
+    }
     return breadcrumbs;
   }
 
@@ -328,7 +349,12 @@ public final class Scope {
       breadcrumb = executeBeforeBreadcrumb(callback, breadcrumb, hint);
     }
     if (breadcrumb != null) {
-      this.breadcrumbs.add(breadcrumb);
+      if (!options.isEnableBreadcrumbCompaction()) {
+        this.breadcrumbs.add(breadcrumb);
+      } else if (compactBreadcrumb(breadcrumb)) {
+        // the last breadcrumb, that observers already got, counts the repeat
+        return;
+      }
 
       if (options.isEnableScopeSync()) {
         for (final IScopeObserver observer : options.getScopeObservers()) {
@@ -340,6 +366,41 @@ public final class Scope {
     }
   }
 
+  /**
+   * Merges the breadcrumb into the last breadcrumb if it repeats it, otherwise adds it
+   *
+   * @param breadcrumb the breadcrumb
+   * @return true if the breadcrumb was merged
+   */
+  private boolean compactBreadcrumb(final @NotNull Breadcrumb breadcrumb) {
+    synchronized (breadcrumbsLock) {
+      final Breadcrumb last = lastBreadcrumb;
+      if (last != null && last.isRepeatedBy(breadcrumb)) {
+        if (lastBreadcrumbUnshared) {
+          // breadcrumbs added while compaction was disabled don't update lastBreadcrumb
+          if (breadcrumbs.replaceLast(last, last)) {
+            last.countRepeat(breadcrumb);
+            return true;
+          }
+        } else {
+          // the last breadcrumb is the one the caller added or it may be attached to captured
+          // events, it's copied once and the copy counts this and the following repeats
+          final Breadcrumb repeated = new Breadcrumb(last);
+          repeated.countRepeat(breadcrumb);
+          if (breadcrumbs.replaceLast(last, repeated)) {
+            lastBreadcrumb = repeated;
+            lastBreadcrumbUnshared = true;
+            return true;
+          }
+        }
+      }
+      this.breadcrumbs.add(breadcrumb);
+      lastBreadcrumb = breadcrumb;
+      lastBreadcrumbUnshared = false;
+      return false;
+    }
+  }
+
   /**
    * Adds a breadcrumb to the breadcrumbs queue It also executes the BeforeBreadcrumb callback if
    * set
@@ -352,7 +413,11 @@ public final class Scope {
 
   /** Clear all the breadcrumbs */
   public void clearBreadcrumbs() {
-    breadcrumbs.clear();
+    synchronized (breadcrumbsLock) {
+      breadcrumbs.clear();
+      lastBreadcrumb = null;
+      lastBreadcrumbUnshared = false;
+    }
   }
 
   /** Clears the transaction. */
@@ -565,7 +630,7 @@ public final class Scope {
    * @param maxBreadcrumb the max number of breadcrumbs
    * @return the breadcrumbs queue
    */
-  private @NotNull Queue<Breadcrumb> createBreadcrumbsList(final int maxBreadcrumb) {
+  private @NotNull SynchronizedQueue<Breadcrumb> createBreadcrumbsList(final int maxBreadcrumb) {
     return SynchronizedQueue.synchronizedQueue(new CircularFifoQueue<>(maxBreadcrumb));
   }
 
@@ -63,19 +63,23 @@ public final class SendCachedEnvelopeFireAndForgetIntegration implements Integra
       return;
     }
 
-    final SendFireAndForget sender = factory.create(hub, options);
-
-    if (sender == null) {
-      options.getLogger().log(SentryLevel.ERROR, "SendFireAndForget factory is null.");
-      return;
-    }
-
     try {
+      // the sender is created on the executor too, so neither creating it nor scanning the cache
+      // dir delays the SDK init
       options
           .getExecutorService()
           .submit(
               () -> {
                 try {
+                  final SendFireAndForget sender = factory.create(hub, options);
+
+                  if (sender == null) {
+                    options
+                        .getLogger()
+                        .log(SentryLevel.ERROR, "SendFireAndForget factory is null.");
+                    return;
+                  }
+
                   sender.send();
                 } catch (Exception e) {
                   options
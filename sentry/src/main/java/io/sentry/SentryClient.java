@@ -30,6 +30,8 @@ public final class SentryClient implements ISentryClient {
   private final @NotNull SentryOptions options;
   private final @NotNull ITransport transport;
   private final @Nullable Random random;
+  private final @Nullable SessionAggregator sessionAggregator;
+  private final @NotNull EventSizeLimiter eventSizeLimiter;
 
   private final @NotNull SortBreadcrumbsByDate sortBreadcrumbsByDate = new SortBreadcrumbsByDate();
 
@@ -52,6 +54,9 @@ public final class SentryClient implements ISentryClient {
     transport = transportFactory.create(options, requestDetailsResolver.resolve());
 
     this.random = options.getSampleRate() == null ? null : new Random();
+    this.sessionAggregator =
+        options.isEnableSessionAggregation() ? new SessionAggregator(options, this) : null;
+    this.eventSizeLimiter = new EventSizeLimiter(options);
   }
 
   private boolean shouldApplyScopeData(
@@ -92,6 +97,16 @@ public final class SentryClient implements ISentryClient {
     if (event != null) {
       session = updateSessionData(event, hint, scope);
 
+      if (sessionAggregator != null && session != null) {
+        // aggregated sessions are not sent with events, only a session ended by a crash is
+        // counted here, any other session is counted once it's ended
+        if (hint instanceof DiskFlushNotification) {
+          sessionAggregator.record(session);
+          sessionAggregator.flush(true);
+        }
+        session = null;
+      }
+
       if (!sample()) {
         options
             .getLogger()
@@ -119,6 +134,8 @@ public final class SentryClient implements ISentryClient {
 
       if (event == null) {
         options.getLogger().log(SentryLevel.DEBUG, "Event was dropped by beforeSend");
+      } else {
+        eventSizeLimiter.trim(event);
       }
     }
 
@@ -359,9 +376,17 @@ public final class SentryClient implements ISentryClient {
     Objects.requireNonNull(session, "Session is required.");
 
     if (session.getRelease() == null || session.getRelease().isEmpty()) {
-      options
-          .getLogger()
-          .log(SentryLevel.WARNING, "Sessions can't be captured without setting a release.");
+      // the session aggregator warned once when it was created, sessions are per request then
+      if (sessionAggregator == null) {
+        options
+            .getLogger()
+            .log(SentryLevel.WARNING, "Sessions can't be captured without setting a release.");
+      }
+      return;
+    }
+
+    if (sessionAggregator != null) {
+      sessionAggregator.record(session);
       return;
     }
 
@@ -594,6 +619,9 @@ public final class SentryClient implements ISentryClient {
     options.getLogger().log(SentryLevel.INFO, "Closing SentryClient.");
 
     try {
+      if (sessionAggregator != null) {
+        sessionAggregator.close();
+      }
       flush(options.getShutdownTimeout());
       transport.close();
     } catch (IOException e) {
@@ -606,6 +634,9 @@ public final class SentryClient implements ISentryClient {
 
   @Override
   public void flush(final long timeoutMillis) {
+    if (sessionAggregator != null) {
+      sessionAggregator.flush(true);
+    }
     transport.flush(timeoutMillis);
   }
 
@@ -65,6 +65,18 @@ public final class SentryEnvelope {
         null, sdkVersion, SentryEnvelopeItem.fromSession(serializer, session));
   }
 
+  public static @NotNull SentryEnvelope from(
+      final @NotNull ISerializer serializer,
+      final @NotNull SessionAggregates sessionAggregates,
+      final @Nullable SdkVersion sdkVersion)
+      throws IOException {
+    Objects.requireNonNull(serializer, "Serializer is required.");
+    Objects.requireNonNull(sessionAggregates, "sessionAggregates is required.");
+
+    return new SentryEnvelope(
+        null, sdkVersion, SentryEnvelopeItem.fromSessionAggregates(serializer, sessionAggregates));
+  }
+
   public static @NotNull SentryEnvelope from(
       final @NotNull ISerializer serializer,
       final @NotNull SentryBaseEvent event,
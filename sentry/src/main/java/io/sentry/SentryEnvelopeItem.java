@@ -3,18 +3,17 @@ package io.sentry;
 import io.sentry.exception.SentryEnvelopeException;
 import io.sentry.protocol.SentryTransaction;
 import io.sentry.util.Objects;
-import java.io.BufferedInputStream;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.OutputStream;
 import java.io.Reader;
-import java.io.Writer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.util.concurrent.Callable;
 import org.jetbrains.annotations.ApiStatus;
@@ -28,8 +27,9 @@ public final class SentryEnvelopeItem {
   private static final Charset UTF_8 = Charset.forName("UTF-8");
 
   private final SentryEnvelopeItemHeader header;
-  // Either dataFactory is set or data needs to be set.
+  // Either dataFactory or cachedFile is set or data needs to be set.
   private final @Nullable Callable<byte[]> dataFactory;
+  private final @Nullable CachedFile cachedFile;
   // TODO: Can we have a slice or a reader here instead?
   private @Nullable byte[] data;
 
@@ -37,6 +37,7 @@ public final class SentryEnvelopeItem {
     this.header = Objects.requireNonNull(header, "SentryEnvelopeItemHeader is required.");
     this.data = data;
     this.dataFactory = null;
+    this.cachedFile = null;
   }
 
   SentryEnvelopeItem(
@@ -44,6 +45,15 @@ public final class SentryEnvelopeItem {
       final @Nullable Callable<byte[]> dataFactory) {
     this.header = Objects.requireNonNull(header, "SentryEnvelopeItemHeader is required.");
     this.dataFactory = Objects.requireNonNull(dataFactory, "DataFactory is required.");
+    this.cachedFile = null;
+    this.data = null;
+  }
+
+  private SentryEnvelopeItem(
+      final @NotNull SentryEnvelopeItemHeader header, final @NotNull CachedFile cachedFile) {
+    this.header = Objects.requireNonNull(header, "SentryEnvelopeItemHeader is required.");
+    this.cachedFile = Objects.requireNonNull(cachedFile, "CachedFile is required.");
+    this.dataFactory = null;
     this.data = null;
   }
 
@@ -52,12 +62,55 @@ public final class SentryEnvelopeItem {
   // always provide non-null values.
   @SuppressWarnings("NullAway")
   public @NotNull byte[] getData() throws Exception {
-    if (data == null && dataFactory != null) {
-      data = dataFactory.call();
+    if (data == null) {
+      if (dataFactory != null) {
+        data = dataFactory.call();
+      } else if (cachedFile != null) {
+        data = cachedFile.readBytes();
+      }
     }
     return data;
   }
 
+  /**
+   * Returns true if the payload of this item is streamed from disk when written, instead of being
+   * held in memory.
+   *
+   * @return true if the item is streamed
+   */
+  public boolean isStreamed() {
+    return data == null && cachedFile != null;
+  }
+
+  /**
+   * Resolves the length of the payload, failing the same way {@link #getData()} would. Streamed
+   * items resolve it from the file metadata without reading the file.
+   *
+   * @return the length in bytes
+   * @throws Exception if the payload can't be created
+   */
+  int getDataLength() throws Exception {
+    if (isStreamed() && cachedFile != null) {
+      return cachedFile.getLength();
+    }
+    return getData().length;
+  }
+
+  /**
+   * Writes the payload of this item to the given stream. Streamed items are copied from disk in
+   * small chunks, or transferred by the file system if the stream is a file.
+   *
+   * @param outputStream the stream to write to, it's not closed
+   * @throws Exception if the payload can't be created
+   */
+  public void writeData(final @NotNull OutputStream outputStream) throws Exception {
+    if (isStreamed() && cachedFile != null) {
+      cachedFile.writeTo(outputStream);
+    } else {
+      outputStream.write(getData());
+    }
+  }
+
   public @NotNull SentryEnvelopeItemHeader getHeader() {
     return header;
   }
@@ -68,14 +121,7 @@ public final class SentryEnvelopeItem {
     Objects.requireNonNull(session, "Session is required.");
 
     final CachedItem cachedItem =
-        new CachedItem(
-            () -> {
-              try (final ByteArrayOutputStream stream = new ByteArrayOutputStream();
-                  final Writer writer = new BufferedWriter(new OutputStreamWriter(stream, UTF_8))) {
-                serializer.serialize(session, writer);
-                return stream.toByteArray();
-              }
-            });
+        new CachedItem(() -> SerializationBuffer.serialize(serializer, session));
 
     SentryEnvelopeItemHeader itemHeader =
         new SentryEnvelopeItemHeader(
@@ -85,6 +131,23 @@ public final class SentryEnvelopeItem {
     return new SentryEnvelopeItem(itemHeader, () -> cachedItem.getBytes());
   }
 
+  public static @NotNull SentryEnvelopeItem fromSessionAggregates(
+      final @NotNull ISerializer serializer, final @NotNull SessionAggregates sessionAggregates)
+      throws IOException {
+    Objects.requireNonNull(serializer, "ISerializer is required.");
+    Objects.requireNonNull(sessionAggregates, "SessionAggregates is required.");
+
+    final CachedItem cachedItem =
+        new CachedItem(() -> SerializationBuffer.serialize(serializer, sessionAggregates));
+
+    SentryEnvelopeItemHeader itemHeader =
+        new SentryEnvelopeItemHeader(
+            SentryItemType.Sessions, () -> cachedItem.getBytes().length, "application/json", null);
+
+    // Don't use method reference. This can cause issues on Android
+    return new SentryEnvelopeItem(itemHeader, () -> cachedItem.getBytes());
+  }
+
   public @Nullable SentryEvent getEvent(final @NotNull ISerializer serializer) throws Exception {
     if (header == null || header.getType() != SentryItemType.Event) {
       return null;
@@ -102,14 +165,7 @@ public final class SentryEnvelopeItem {
     Objects.requireNonNull(event, "SentryEvent is required.");
 
     final CachedItem cachedItem =
-        new CachedItem(
-            () -> {
-              try (final ByteArrayOutputStream stream = new ByteArrayOutputStream();
-                  final Writer writer = new BufferedWriter(new OutputStreamWriter(stream, UTF_8))) {
-                serializer.serialize(event, writer);
-                return stream.toByteArray();
-              }
-            });
+        new CachedItem(() -> SerializationBuffer.serialize(serializer, event));
 
     SentryEnvelopeItemHeader itemHeader =
         new SentryEnvelopeItemHeader(
@@ -139,14 +195,7 @@ public final class SentryEnvelopeItem {
     Objects.requireNonNull(userFeedback, "UserFeedback is required.");
 
     final CachedItem cachedItem =
-        new CachedItem(
-            () -> {
-              try (final ByteArrayOutputStream stream = new ByteArrayOutputStream();
-                  final Writer writer = new BufferedWriter(new OutputStreamWriter(stream, UTF_8))) {
-                serializer.serialize(userFeedback, writer);
-                return stream.toByteArray();
-              }
-            });
+        new CachedItem(() -> SerializationBuffer.serialize(serializer, userFeedback));
 
     SentryEnvelopeItemHeader itemHeader =
         new SentryEnvelopeItemHeader(
@@ -162,6 +211,21 @@ public final class SentryEnvelopeItem {
   public static SentryEnvelopeItem fromAttachment(
       final @NotNull Attachment attachment, final long maxAttachmentSize) {
 
+    if (attachment.getBytes() == null && attachment.getPathname() != null) {
+      // Attachments located at a path are streamed from disk instead of being read into memory.
+      final CachedFile cachedFile = new CachedFile(attachment.getPathname(), maxAttachmentSize);
+
+      final SentryEnvelopeItemHeader itemHeader =
+          new SentryEnvelopeItemHeader(
+              SentryItemType.Attachment,
+              () -> cachedFile.getLength(),
+              attachment.getContentType(),
+              attachment.getFilename(),
+              attachment.getAttachmentType());
+
+      return new SentryEnvelopeItem(itemHeader, cachedFile);
+    }
+
     final CachedItem cachedItem =
         new CachedItem(
             () -> {
@@ -178,50 +242,6 @@ public final class SentryEnvelopeItem {
                           maxAttachmentSize));
                 }
                 return attachment.getBytes();
-              } else if (attachment.getPathname() != null) {
-
-                try {
-                  File file = new File(attachment.getPathname());
-
-                  if (!file.isFile()) {
-                    throw new SentryEnvelopeException(
-                        String.format(
-                            "Reading the attachment %s failed, because the file located at the path is not a file.",
-                            attachment.getPathname()));
-                  }
-
-                  if (!file.canRead()) {
-                    throw new SentryEnvelopeException(
-                        String.format(
-                            "Reading the attachment %s failed, because can't read the file.",
-                            attachment.getPathname()));
-                  }
-
-                  if (file.length() > maxAttachmentSize) {
-                    throw new SentryEnvelopeException(
-                        String.format(
-                            "Dropping attachment, because the size of the it located at "
-                                + "'%s' with %d bytes is bigger than the maximum "
-                                + "allowed attachment size of %d bytes.",
-                            attachment.getPathname(), file.length(), maxAttachmentSize));
-                  }
-
-                  try (FileInputStream fileInputStream =
-                          new FileInputStream(attachment.getPathname());
-                      BufferedInputStream inputStream = new BufferedInputStream(fileInputStream);
-                      ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-                    byte[] bytes = new byte[1024];
-                    int length;
-                    int offset = 0;
-                    while ((length = inputStream.read(bytes)) != -1) {
-                      outputStream.write(bytes, offset, length);
-                    }
-                    return outputStream.toByteArray();
-                  }
-                } catch (IOException | SecurityException exception) {
-                  throw new SentryEnvelopeException(
-                      String.format("Reading the attachment %s failed.", attachment.getPathname()));
-                }
               }
 
               throw new SentryEnvelopeException(
@@ -262,4 +282,149 @@ public final class SentryEnvelopeItem {
       return bytes != null ? bytes : new byte[] {};
     }
   }
+
+  /**
+   * A file on disk whose metadata is validated once and whose content is only read when the item
+   * is written, so the payload is never held in memory as a whole.
+   */
+  private static final class CachedFile {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final @NotNull String pathname;
+    private final long maxAttachmentSize;
+    private @Nullable File file;
+    private int length = -1;
+
+    CachedFile(final @NotNull String pathname, final long maxAttachmentSize) {
+      this.pathname = pathname;
+      this.maxAttachmentSize = maxAttachmentSize;
+    }
+
+    /**
+     * Returns the length of the file taken from its metadata. The length is resolved only once, so
+     * the item header and the streamed payload always agree even if the file keeps growing.
+     *
+     * @return the length in bytes
+     * @throws SentryEnvelopeException if the file can't be attached
+     */
+    synchronized int getLength() throws SentryEnvelopeException {
+      if (file == null) {
+        try {
+          final File candidate = new File(pathname);
+
+          if (!candidate.isFile()) {
+            throw new SentryEnvelopeException(
+                String.format(
+                    "Reading the attachment %s failed, because the file located at the path is not a file.",
+                    pathname));
+          }
+
+          if (!candidate.canRead()) {
+            throw new SentryEnvelopeException(
+                String.format(
+                    "Reading the attachment %s failed, because can't read the file.", pathname));
+          }
+
+          final long fileLength = candidate.length();
+          if (fileLength > maxAttachmentSize || fileLength > Integer.MAX_VALUE) {
+            throw new SentryEnvelopeException(
+                String.format(
+                    "Dropping attachment, because the size of the it located at "
+                        + "'%s' with %d bytes is bigger than the maximum "
+                        + "allowed attachment size of %d bytes.",
+                    pathname, fileLength, maxAttachmentSize));
+          }
+
+          length = (int) fileLength;
+          file = candidate;
+        } catch (SecurityException exception) {
+          throw new SentryEnvelopeException(
+              String.format("Reading the attachment %s failed.", pathname));
+        }
+      }
+      return length;
+    }
+
+    @NotNull
+    byte[] readBytes() throws SentryEnvelopeException {
+      final int length = getLength();
+      final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(length);
+      if (copyTo(outputStream) < length) {
+        throw new SentryEnvelopeException(
+            String.format(
+                "Reading the attachment %s failed, because the file was truncated.", pathname));
+      }
+      return outputStream.toByteArray();
+    }
+
+    /**
+     * Writes exactly {@link #getLength()} bytes into the given stream. When the stream is a file,
+     * the bytes are transferred by the file system without passing through the heap. If the file
+     * was truncated after its length was resolved, the missing bytes are written as zeros, as the
+     * item header already declared the length and the rest of the envelope follows the payload.
+     *
+     * @param outputStream the stream to write to, it's not closed
+     * @throws SentryEnvelopeException if the file can't be read
+     */
+    void writeTo(final @NotNull OutputStream outputStream) throws SentryEnvelopeException {
+      final int length = getLength();
+      int remaining = length - copyTo(outputStream);
+      if (remaining > 0) {
+        try {
+          final byte[] zeros = new byte[Math.min(BUFFER_SIZE, remaining)];
+          while (remaining > 0) {
+            final int count = Math.min(zeros.length, remaining);
+            outputStream.write(zeros, 0, count);
+            remaining -= count;
+          }
+        } catch (IOException exception) {
+          throw new SentryEnvelopeException(
+              String.format("Writing the attachment %s failed.", pathname));
+        }
+      }
+    }
+
+    /**
+     * Copies at most {@link #getLength()} bytes of the file into the given stream.
+     *
+     * @param outputStream the stream to write to, it's not closed
+     * @return the number of bytes copied, less than the length if the file was truncated
+     * @throws SentryEnvelopeException if the file can't be read
+     */
+    private int copyTo(final @NotNull OutputStream outputStream) throws SentryEnvelopeException {
+      final int length = getLength();
+      final File file = Objects.requireNonNull(this.file, "file is required.");
+
+      try (final FileInputStream inputStream = new FileInputStream(file);
+          final FileChannel channel = inputStream.getChannel()) {
+        if (outputStream instanceof FileOutputStream) {
+          final FileChannel target = ((FileOutputStream) outputStream).getChannel();
+          long position = 0;
+          while (position < length) {
+            final long transferred = channel.transferTo(position, length - position, target);
+            if (transferred <= 0) {
+              break;
+            }
+            position += transferred;
+          }
+          return (int) position;
+        } else {
+          final byte[] buffer = new byte[Math.min(BUFFER_SIZE, Math.max(length, 1))];
+          int copied = 0;
+          while (copied < length) {
+            final int read = inputStream.read(buffer, 0, Math.min(buffer.length, length - copied));
+            if (read == -1) {
+              break;
+            }
+            outputStream.write(buffer, 0, read);
+            copied += read;
+          }
+          return copied;
+        }
+      } catch (IOException | SecurityException exception) {
+        throw new SentryEnvelopeException(
+            String.format("Reading the attachment %s failed.", pathname));
+      }
+    }
+  }
 }
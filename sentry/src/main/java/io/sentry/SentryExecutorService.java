@@ -1,23 +1,30 @@
 package io.sentry;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.TestOnly;
 
 final class SentryExecutorService implements ISentryExecutorService {
 
-  private final @NotNull ExecutorService executorService;
+  private final @NotNull ScheduledExecutorService executorService;
 
   @TestOnly
-  SentryExecutorService(final @NotNull ExecutorService executorService) {
+  SentryExecutorService(final @NotNull ScheduledExecutorService executorService) {
     this.executorService = executorService;
   }
 
   SentryExecutorService() {
-    this(Executors.newSingleThreadExecutor());
+    this(createExecutor());
+  }
+
+  private static @NotNull ScheduledExecutorService createExecutor() {
+    final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+    // closing doesn't wait for the delayed tasks, their owners run them on close if needed
+    executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    return executor;
   }
 
   @Override
@@ -25,6 +32,11 @@ final class SentryExecutorService implements ISentryExecutorService {
     return executorService.submit(runnable);
   }
 
+  @Override
+  public @NotNull Future<?> schedule(final @NotNull Runnable runnable, final long delayMillis) {
+    return executorService.schedule(runnable, delayMillis, TimeUnit.MILLISECONDS);
+  }
+
   @Override
   public void close(final long timeoutMillis) {
     synchronized (executorService) {
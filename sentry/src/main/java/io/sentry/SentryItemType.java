@@ -6,6 +6,7 @@ import org.jetbrains.annotations.ApiStatus;
 @ApiStatus.Internal
 public enum SentryItemType {
   Session("session"),
+  Sessions("sessions"), // DataCategory.Session
   Event("event"), // DataCategory.Error
   UserFeedback("user_report"), // Sentry backend still uses user_report
   Attachment("attachment"),
@@ -21,6 +22,8 @@ public enum SentryItemType {
       return Transaction;
     } else if (item instanceof Session) {
       return Session;
+    } else if (item instanceof SessionAggregates) {
+      return Sessions;
     } else {
       return Attachment;
     }
@@ -9,6 +9,7 @@ import io.sentry.transport.NoOpEnvelopeCache;
 import io.sentry.transport.NoOpTransportGate;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -33,6 +34,12 @@ public class SentryOptions {
   /** The default HTTP proxy port to use if an HTTP Proxy hostname is set but port is not. */
   private static final String PROXY_PORT_DEFAULT = "80";
 
+  /** The default max length of a request header value. */
+  static final int DEFAULT_MAX_REQUEST_HEADER_VALUE_LENGTH = 8192;
+
+  /** The default max total size of the request headers attached to an event. */
+  static final int DEFAULT_MAX_REQUEST_HEADERS_SIZE = 65536;
+
   /**
    * Are callbacks that run for every event. They can either return a new event which in most cases
    * means just adding data OR return null in case the event will be dropped and not sent.
@@ -116,6 +123,12 @@ public class SentryOptions {
   /** Max. queue size before flushing events/envelopes to the disk */
   private int maxQueueSize = maxCacheItems;
 
+  /** Max. queue size of session envelopes, they don't take the place of errors in the queue */
+  private int maxSessionQueueSize = maxCacheItems;
+
+  /** Max. queue size of transaction envelopes, they don't take the place of errors in the queue */
+  private int maxTransactionQueueSize = maxCacheItems;
+
   /**
    * This variable controls the total amount of breadcrumbs that should be captured Default is 100
    */
@@ -157,6 +170,12 @@ public class SentryOptions {
    */
   private @Nullable TracesSamplerCallback tracesSampler;
 
+  /**
+   * A list of origins, as substrings or regular expressions matched against the URL, of outgoing
+   * HTTP requests that get a span and the sentry-trace header. Empty means all requests.
+   */
+  private final @NotNull List<String> tracingOrigins = new CopyOnWriteArrayList<>();
+
   /**
    * A list of string prefixes of module names that do not belong to the app, but rather third-party
    * packages. Modules considered not to be part of the app will be hidden from stack traces by
@@ -188,6 +207,12 @@ public class SentryOptions {
   /** When enabled, all the threads are automatically attached to all logged events. */
   private boolean attachThreads;
 
+  /**
+   * The duration in millis a dump of all threads is reused for the events captured after it, when
+   * {@link #attachThreads} is enabled. 0 dumps all threads for every event.
+   */
+  private long threadDumpCacheDurationMillis = 0;
+
   /**
    * When enabled, stack traces are automatically attached to all threads logged. Stack traces are
    * always attached to exceptions but when this is set stack traces are also sent with threads. If
@@ -204,6 +229,12 @@ public class SentryOptions {
    */
   private long sessionTrackingIntervalMillis = 30000; // 30s
 
+  /**
+   * Whether ended sessions are counted per minute and sent as aggregates instead of an envelope
+   * per session update. Meant for servers tracking a session per request.
+   */
+  private boolean enableSessionAggregation = false;
+
   /** The distinct Id (generated Guid) used for session tracking */
   private @Nullable String distinctId;
 
@@ -270,6 +301,42 @@ public class SentryOptions {
   /** Maximum number of spans that can be atteched to single transaction. */
   private int maxSpans = 1000;
 
+  /** Request headers attached to events, if empty all the headers are attached. */
+  private final @NotNull List<String> requestHeaderIncludes = new CopyOnWriteArrayList<>();
+
+  /** Request headers never attached to events. */
+  private final @NotNull List<String> requestHeaderExcludes = new CopyOnWriteArrayList<>();
+
+  /** Request header values longer than this are truncated. */
+  private int maxRequestHeaderValueLength = DEFAULT_MAX_REQUEST_HEADER_VALUE_LENGTH;
+
+  /** Maximum total size of the request headers attached to an event, names included. */
+  private int maxRequestHeadersSize = DEFAULT_MAX_REQUEST_HEADERS_SIZE;
+
+  /** The request header policy compiled from the options above, reset when any of them changes. */
+  private volatile @Nullable RequestHeaderPolicy requestHeaderPolicy;
+
+  /**
+   * Maximum number of bytes of a request body attached to events captured during the request, 0
+   * disables capturing request bodies.
+   */
+  private int maxRequestBodySize = 0;
+
+  /**
+   * Maximum estimated size of an event in bytes, larger events are trimmed before they are sent. 0
+   * disables trimming.
+   */
+  private long maxEventSize = 0;
+
+  /**
+   * Minimum time in milliseconds between two flushes of the current session file to the storage
+   * device. 0 leaves it to the operating system.
+   */
+  private long sessionFlushIntervalMillis = 0;
+
+  /** Merges consecutive breadcrumbs that only differ by their timestamp into one. */
+  private boolean enableBreadcrumbCompaction = false;
+
   /** Registers hook that flushes {@link Hub} when main thread shuts down. */
   private boolean enableShutdownHook = true;
 
@@ -313,6 +380,25 @@ public class SentryOptions {
     for (final String inAppExclude : propertiesProvider.getList("in-app-excludes")) {
       options.addInAppExclude(inAppExclude);
     }
+    for (final String tracingOrigin : propertiesProvider.getList("tracing-origins")) {
+      options.addTracingOrigin(tracingOrigin);
+    }
+    for (final String header : propertiesProvider.getList("request-header-includes")) {
+      options.addRequestHeaderInclude(header);
+    }
+    for (final String header : propertiesProvider.getList("request-header-excludes")) {
+      options.addRequestHeaderExclude(header);
+    }
+    final Integer maxRequestHeaderValueLength =
+        propertiesProvider.getIntegerProperty("max-request-header-value-length");
+    if (maxRequestHeaderValueLength != null) {
+      options.setMaxRequestHeaderValueLength(maxRequestHeaderValueLength);
+    }
+    final Integer maxRequestHeadersSize =
+        propertiesProvider.getIntegerProperty("max-request-headers-size");
+    if (maxRequestHeadersSize != null) {
+      options.setMaxRequestHeadersSize(maxRequestHeadersSize);
+    }
     for (final String ignoredExceptionType :
         propertiesProvider.getList("ignored-exceptions-for-type")) {
       try {
@@ -761,6 +847,203 @@ public class SentryOptions {
     this.tracesSampler = tracesSampler;
   }
 
+  /**
+   * Returns the origins of outgoing HTTP requests that are traced
+   *
+   * @return the tracing origins list
+   */
+  public @NotNull List<String> getTracingOrigins() {
+    return tracingOrigins;
+  }
+
+  /**
+   * Adds an origin of outgoing HTTP requests that are traced
+   *
+   * @param tracingOrigin a substring or a regular expression matched against the URL
+   */
+  public void addTracingOrigin(final @NotNull String tracingOrigin) {
+    tracingOrigins.add(tracingOrigin);
+  }
+
+  /**
+   * Returns the request headers attached to events, if empty all the headers are attached
+   *
+   * @return the request header includes list
+   */
+  public @NotNull List<String> getRequestHeaderIncludes() {
+    return Collections.unmodifiableList(requestHeaderIncludes);
+  }
+
+  /**
+   * Adds a request header that is attached to events, names are case insensitive. Headers with
+   * personally identifiable information are only attached if {@link #isSendDefaultPii()} is set.
+   *
+   * @param header the header name
+   */
+  public void addRequestHeaderInclude(final @NotNull String header) {
+    requestHeaderIncludes.add(header);
+    requestHeaderPolicy = null;
+  }
+
+  /**
+   * Returns the request headers never attached to events
+   *
+   * @return the request header excludes list
+   */
+  public @NotNull List<String> getRequestHeaderExcludes() {
+    return Collections.unmodifiableList(requestHeaderExcludes);
+  }
+
+  /**
+   * Adds a request header that is never attached to events, names are case insensitive.
+   *
+   * @param header the header name
+   */
+  public void addRequestHeaderExclude(final @NotNull String header) {
+    requestHeaderExcludes.add(header);
+    requestHeaderPolicy = null;
+  }
+
+  /**
+   * Returns the length request header values are truncated to
+   *
+   * @return the max length
+   */
+  public int getMaxRequestHeaderValueLength() {
+    return maxRequestHeaderValueLength;
+  }
+
+  /**
+   * Sets the length request header values are truncated to
+   *
+   * @param maxRequestHeaderValueLength the max length
+   */
+  public void setMaxRequestHeaderValueLength(final int maxRequestHeaderValueLength) {
+    this.maxRequestHeaderValueLength = maxRequestHeaderValueLength;
+    this.requestHeaderPolicy = null;
+  }
+
+  /**
+   * Returns the maximum total size of the request headers attached to an event
+   *
+   * @return the max size, names and values included
+   */
+  public int getMaxRequestHeadersSize() {
+    return maxRequestHeadersSize;
+  }
+
+  /**
+   * Sets the maximum total size of the request headers attached to an event. Headers that don't fit
+   * anymore are dropped.
+   *
+   * @param maxRequestHeadersSize the max size, names and values included
+   */
+  public void setMaxRequestHeadersSize(final int maxRequestHeadersSize) {
+    this.maxRequestHeadersSize = maxRequestHeadersSize;
+    this.requestHeaderPolicy = null;
+  }
+
+  /**
+   * Returns the maximum number of bytes of a request body attached to events
+   *
+   * @return the max size or 0 if request bodies are not captured
+   */
+  public int getMaxRequestBodySize() {
+    return maxRequestBodySize;
+  }
+
+  /**
+   * Sets the maximum number of bytes of a request body attached to events captured during the
+   * request. Integrations capture bodies only while the application reads them and only decode
+   * them when an event is captured, 0 disables capturing request bodies.
+   *
+   * @param maxRequestBodySize the max size or 0 to disable capturing request bodies
+   */
+  public void setMaxRequestBodySize(final int maxRequestBodySize) {
+    this.maxRequestBodySize = maxRequestBodySize;
+  }
+
+  /**
+   * Returns the maximum estimated size of an event in bytes
+   *
+   * @return the max size or 0 if events are not trimmed
+   */
+  public long getMaxEventSize() {
+    return maxEventSize;
+  }
+
+  /**
+   * Sets the maximum size of an event in bytes. The size of an event is estimated before it's
+   * serialized, and events that don't fit lose the frames in the middle of deep stack traces, then
+   * their oldest breadcrumbs and then their largest extra values until they do. 0 disables
+   * trimming.
+   *
+   * @param maxEventSize the max size or 0 to disable trimming events
+   */
+  public void setMaxEventSize(final long maxEventSize) {
+    this.maxEventSize = maxEventSize;
+  }
+
+  /**
+   * Returns the minimum time between two flushes of the current session file to the storage device
+   *
+   * @return the interval in milliseconds or 0 if flushing is left to the operating system
+   */
+  public long getSessionFlushIntervalMillis() {
+    return sessionFlushIntervalMillis;
+  }
+
+  /**
+   * Sets the minimum time between two flushes of the current session file to the storage device.
+   * Session updates are always written to the file right away, a flush makes sure they survive a
+   * power loss too. 0 leaves flushing to the operating system.
+   *
+   * @param sessionFlushIntervalMillis the interval in milliseconds or 0
+   */
+  public void setSessionFlushIntervalMillis(final long sessionFlushIntervalMillis) {
+    this.sessionFlushIntervalMillis = sessionFlushIntervalMillis;
+  }
+
+  /**
+   * Returns if consecutive breadcrumbs that only differ by their timestamp are merged into one
+   *
+   * @return true if enabled or false otherwise
+   */
+  public boolean isEnableBreadcrumbCompaction() {
+    return enableBreadcrumbCompaction;
+  }
+
+  /**
+   * Enables or not the compaction of breadcrumbs. A breadcrumb with the same message, category,
+   * level, type and data as the breadcrumb added right before it is not added again, the previous
+   * one gets the number of times it was added and the timestamp of the last time as data instead.
+   *
+   * <p>Scope observers are not told about repeats, they only get the first breadcrumb, so with
+   * {@link #isEnableScopeSync()} the breadcrumbs synced to the native SDKs don't have the repeat
+   * count and last timestamp.
+   *
+   * @param enableBreadcrumbCompaction true if enabled or false otherwise
+   */
+  public void setEnableBreadcrumbCompaction(final boolean enableBreadcrumbCompaction) {
+    this.enableBreadcrumbCompaction = enableBreadcrumbCompaction;
+  }
+
+  /**
+   * Returns the request header policy compiled from the request header options
+   *
+   * @return the request header policy
+   */
+  @ApiStatus.Internal
+  public @NotNull RequestHeaderPolicy getRequestHeaderPolicy() {
+    RequestHeaderPolicy policy = requestHeaderPolicy;
+    if (policy == null) {
+      // compiling it twice when racing is harmless, both policies are equal
+      policy = new RequestHeaderPolicy(this);
+      requestHeaderPolicy = policy;
+    }
+    return policy;
+  }
+
   /**
    * the list of inApp excludes
    *
@@ -888,6 +1171,28 @@ public class SentryOptions {
     this.attachThreads = attachThreads;
   }
 
+  /**
+   * Returns the duration in millis a dump of all threads is reused for the events captured after
+   * it. Only used if attachThreads is enabled.
+   *
+   * @return the duration in millis
+   */
+  public long getThreadDumpCacheDurationMillis() {
+    return threadDumpCacheDurationMillis;
+  }
+
+  /**
+   * Sets the duration in millis a dump of all threads is reused for the events captured after it.
+   * Dumping all threads pauses the whole VM, reusing the dump avoids repeated pauses when many
+   * events are captured at once. The stack trace of the thread capturing the event is always
+   * fresh. 0 dumps all threads for every event.
+   *
+   * @param threadDumpCacheDurationMillis the duration in millis
+   */
+  public void setThreadDumpCacheDurationMillis(final long threadDumpCacheDurationMillis) {
+    this.threadDumpCacheDurationMillis = threadDumpCacheDurationMillis;
+  }
+
   /**
    * Returns if the automatic session tracking is enabled or not
    *
@@ -921,6 +1226,25 @@ public class SentryOptions {
     setEnableAutoSessionTracking(enableSessionTracking);
   }
 
+  /**
+   * Returns if sessions are sent as aggregates
+   *
+   * @return true if enabled or false otherwise
+   */
+  public boolean isEnableSessionAggregation() {
+    return enableSessionAggregation;
+  }
+
+  /**
+   * Enable or disable sending sessions as aggregates. Only the outcome of ended sessions is sent,
+   * once a minute, counted per minute the sessions started in.
+   *
+   * @param enableSessionAggregation true if enabled or false otherwise
+   */
+  public void setEnableSessionAggregation(final boolean enableSessionAggregation) {
+    this.enableSessionAggregation = enableSessionAggregation;
+  }
+
   /**
    * Gets the default server name to be used in Sentry events.
    *
@@ -1137,6 +1461,49 @@ public class SentryOptions {
     }
   }
 
+  /**
+   * Returns the max queue size of session envelopes
+   *
+   * @return the max session queue size
+   */
+  public int getMaxSessionQueueSize() {
+    return maxSessionQueueSize;
+  }
+
+  /**
+   * Sets the max queue size of session envelopes if maxSessionQueueSize is bigger than 0. Sessions
+   * are queued apart from errors, which are capped by the max queue size.
+   *
+   * @param maxSessionQueueSize max session queue size
+   */
+  public void setMaxSessionQueueSize(int maxSessionQueueSize) {
+    if (maxSessionQueueSize > 0) {
+      this.maxSessionQueueSize = maxSessionQueueSize;
+    }
+  }
+
+  /**
+   * Returns the max queue size of transaction envelopes
+   *
+   * @return the max transaction queue size
+   */
+  public int getMaxTransactionQueueSize() {
+    return maxTransactionQueueSize;
+  }
+
+  /**
+   * Sets the max queue size of transaction envelopes if maxTransactionQueueSize is bigger than 0.
+   * Transactions are queued apart from errors, which are capped by the max queue size, and are sent
+   * after errors when the queue is saturated.
+   *
+   * @param maxTransactionQueueSize max transaction queue size
+   */
+  public void setMaxTransactionQueueSize(int maxTransactionQueueSize) {
+    if (maxTransactionQueueSize > 0) {
+      this.maxTransactionQueueSize = maxTransactionQueueSize;
+    }
+  }
+
   /**
    * Returns the SdkVersion object
    *
@@ -1198,6 +1565,7 @@ public class SentryOptions {
 
   public void setSendDefaultPii(boolean sendDefaultPii) {
     this.sendDefaultPii = sendDefaultPii;
+    this.requestHeaderPolicy = null;
   }
 
   /**
@@ -1550,6 +1918,23 @@ public class SentryOptions {
     for (final String inAppExclude : inAppExcludes) {
       addInAppExclude(inAppExclude);
     }
+    final List<String> tracingOrigins = new ArrayList<>(options.getTracingOrigins());
+    for (final String tracingOrigin : tracingOrigins) {
+      addTracingOrigin(tracingOrigin);
+    }
+    for (final String header : new ArrayList<>(options.getRequestHeaderIncludes())) {
+      addRequestHeaderInclude(header);
+    }
+    for (final String header : new ArrayList<>(options.getRequestHeaderExcludes())) {
+      addRequestHeaderExclude(header);
+    }
+    // sizes are not nullable, external options only override them when they are configured
+    if (options.getMaxRequestHeaderValueLength() != DEFAULT_MAX_REQUEST_HEADER_VALUE_LENGTH) {
+      setMaxRequestHeaderValueLength(options.getMaxRequestHeaderValueLength());
+    }
+    if (options.getMaxRequestHeadersSize() != DEFAULT_MAX_REQUEST_HEADERS_SIZE) {
+      setMaxRequestHeadersSize(options.getMaxRequestHeadersSize());
+    }
     for (final Class<? extends Throwable> exceptionType :
         new HashSet<>(options.getIgnoredExceptionsForType())) {
       addIgnoredExceptionForType(exceptionType);
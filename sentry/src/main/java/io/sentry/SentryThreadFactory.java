@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.TestOnly;
@@ -21,6 +22,9 @@ final class SentryThreadFactory {
   /** the SentryOptions. */
   private final @NotNull SentryOptions options;
 
+  /** the last dump of all threads, reused for the duration of threadDumpCacheDurationMillis */
+  private volatile @Nullable ThreadDump lastThreadDump;
+
   /**
    * ctor SentryThreadFactory that takes a SentryStackTraceFactory
    *
@@ -54,18 +58,44 @@ final class SentryThreadFactory {
    * Converts a list of all current threads to a list of SentryThread Assumes its being called from
    * the crashed thread.
    *
+   * <p>Dumping all threads stops the whole VM at a safepoint, so a dump is shared by all the events
+   * captured within {@link SentryOptions#getThreadDumpCacheDurationMillis()}. The stack trace of
+   * the current thread is always taken fresh.
+   *
    * @param mechanismThreadIds list of threadIds that came from exception mechanism
    * @return a list of SentryThread
    */
   @Nullable
   List<SentryThread> getCurrentThreads(final @Nullable List<Long> mechanismThreadIds) {
-    return getCurrentThreads(Thread.getAllStackTraces(), mechanismThreadIds);
+    final long cacheDurationMillis = options.getThreadDumpCacheDurationMillis();
+    if (cacheDurationMillis <= 0) {
+      return getCurrentThreads(Thread.getAllStackTraces(), mechanismThreadIds);
+    }
+
+    final long now = System.nanoTime();
+    ThreadDump threadDump = lastThreadDump;
+    if (threadDump == null
+        || now - threadDump.timestampNanos > TimeUnit.MILLISECONDS.toNanos(cacheDurationMillis)) {
+      threadDump = new ThreadDump(Thread.getAllStackTraces(), now);
+      lastThreadDump = threadDump;
+    }
+
+    // the cached dump is shared, so it's copied before the current thread is put in
+    final Map<Thread, StackTraceElement[]> threads = new HashMap<>(threadDump.stackTraces);
+    final Thread currentThread = Thread.currentThread();
+    threads.put(currentThread, currentThread.getStackTrace());
+
+    return getCurrentThreads(threads, mechanismThreadIds);
   }
 
   /**
    * Converts a list of all current threads to a list of SentryThread Assumes its being called from
    * the crashed thread.
    *
+   * <p>The name, priority, daemon flag and state of the threads are read right away, the conversion
+   * of the stack traces happens lazily, when the returned list is first read, which usually happens
+   * when the event is serialized.
+   *
    * @param threads a map with all the current threads and stacktraces
    * @param mechanismThreadIds list of threadIds that came from exception mechanism
    * @return a list of SentryThread or null if none
@@ -75,44 +105,48 @@ final class SentryThreadFactory {
   List<SentryThread> getCurrentThreads(
       final @NotNull Map<Thread, StackTraceElement[]> threads,
       final @Nullable List<Long> mechanismThreadIds) {
-    List<SentryThread> result = null;
+    if (threads.isEmpty()) {
+      return null;
+    }
 
     final Thread currentThread = Thread.currentThread();
 
-    if (!threads.isEmpty()) {
-      result = new ArrayList<>();
-
-      // https://issuetracker.google.com/issues/64122757
-      if (!threads.containsKey(currentThread)) {
-        threads.put(currentThread, currentThread.getStackTrace());
-      }
+    // https://issuetracker.google.com/issues/64122757
+    if (!threads.containsKey(currentThread)) {
+      threads.put(currentThread, currentThread.getStackTrace());
+    }
 
-      for (Map.Entry<Thread, StackTraceElement[]> item : threads.entrySet()) {
+    final List<SentryThread> sentryThreads = new ArrayList<>(threads.size());
+    final List<StackTraceElement[]> stackTraces = new ArrayList<>(threads.size());
+    for (Map.Entry<Thread, StackTraceElement[]> item : threads.entrySet()) {
 
-        final Thread thread = item.getKey();
-        final boolean crashed =
-            (thread == currentThread)
-                || (mechanismThreadIds != null && mechanismThreadIds.contains(thread.getId()));
+      final Thread thread = item.getKey();
+      final boolean crashed =
+          (thread == currentThread)
+              || (mechanismThreadIds != null && mechanismThreadIds.contains(thread.getId()));
 
-        result.add(getSentryThread(crashed, item.getValue(), item.getKey()));
-      }
+      sentryThreads.add(getSentryThread(crashed, thread));
+      stackTraces.add(item.getValue());
     }
 
-    return result;
+    return new LazyList<>(
+        () -> {
+          for (int i = 0; i < sentryThreads.size(); i++) {
+            setStackTrace(sentryThreads.get(i), stackTraces.get(i));
+          }
+          return sentryThreads;
+        });
   }
 
   /**
-   * Converts a current thread to a SentryThread
+   * Converts a current thread to a SentryThread, without its stack trace
    *
    * @param crashed if its the thread that has crashed or not
-   * @param stackFramesElements the stack traces of the current thread
    * @param thread the thread to be converted
    * @return a SentryThread
    */
   private @NotNull SentryThread getSentryThread(
-      final boolean crashed,
-      final @NotNull StackTraceElement[] stackFramesElements,
-      final @NotNull Thread thread) {
+      final boolean crashed, final @NotNull Thread thread) {
     final SentryThread sentryThread = new SentryThread();
 
     sentryThread.setName(thread.getName());
@@ -122,6 +156,18 @@ final class SentryThreadFactory {
     sentryThread.setState(thread.getState().name());
     sentryThread.setCrashed(crashed);
 
+    return sentryThread;
+  }
+
+  /**
+   * Converts the stack trace of a thread and sets it on the SentryThread
+   *
+   * @param sentryThread the SentryThread
+   * @param stackFramesElements the stack traces of the thread
+   */
+  private void setStackTrace(
+      final @NotNull SentryThread sentryThread,
+      final @NotNull StackTraceElement[] stackFramesElements) {
     final List<SentryStackFrame> frames =
         sentryStackTraceFactory.getStackFrames(stackFramesElements);
 
@@ -132,7 +178,17 @@ final class SentryThreadFactory {
 
       sentryThread.setStacktrace(sentryStackTrace);
     }
+  }
 
-    return sentryThread;
+  /** A dump of the stack traces of all threads and the time it was taken. */
+  private static final class ThreadDump {
+    private final @NotNull Map<Thread, StackTraceElement[]> stackTraces;
+    private final long timestampNanos;
+
+    ThreadDump(
+        final @NotNull Map<Thread, StackTraceElement[]> stackTraces, final long timestampNanos) {
+      this.stackTraces = stackTraces;
+      this.timestampNanos = timestampNanos;
+    }
   }
 }
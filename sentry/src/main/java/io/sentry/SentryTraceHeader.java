@@ -45,9 +45,9 @@ public final class SentryTraceHeader {
 
   public @NotNull String getValue() {
     if (sampled != null) {
-      return String.format("%s-%s-%s", traceId, spanId, sampled ? "1" : "0");
+      return traceId + "-" + spanId + (sampled ? "-1" : "-0");
     } else {
-      return String.format("%s-%s", traceId, spanId);
+      return traceId + "-" + spanId;
     }
   }
 
@@ -5,7 +5,6 @@ import io.sentry.protocol.Request;
 import io.sentry.protocol.SentryId;
 import io.sentry.protocol.SentryTransaction;
 import io.sentry.util.Objects;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -36,6 +35,15 @@ public final class SentryTracer implements ITransaction {
    */
   private @NotNull FinishStatus finishStatus = FinishStatus.NOT_FINISHED;
 
+  /** Finishes the tracer when the last child finishes after the tracer itself has been finished. */
+  private final @NotNull SpanListener childListener =
+      __ -> {
+        final FinishStatus finishStatus = this.finishStatus;
+        if (finishStatus.isFinishing) {
+          finish(finishStatus.spanStatus);
+        }
+      };
+
   public SentryTracer(final @NotNull TransactionContext context, final @NotNull IHub hub) {
     this(context, hub, null);
   }
@@ -131,12 +139,7 @@ public final class SentryTracer implements ITransaction {
             operation,
             this.hub,
             timestamp,
-            __ -> {
-              final FinishStatus finishStatus = this.finishStatus;
-              if (finishStatus.isFinishing) {
-                finish(finishStatus.spanStatus);
-              }
-            });
+            childListener);
     span.setDescription(description);
     this.children.add(span);
     return span;
@@ -207,12 +210,11 @@ public final class SentryTracer implements ITransaction {
   }
 
   private boolean hasAllChildrenFinished() {
-    final List<Span> spans = new ArrayList<>(this.children);
-    if (!spans.isEmpty()) {
-      for (final Span span : spans) {
-        if (!span.isFinished()) {
-          return false;
-        }
+    // the iterator of the copy-on-write list walks a snapshot, so the list isn't copied again on
+    // every child that finishes
+    for (final Span span : this.children) {
+      if (!span.isFinished()) {
+        return false;
       }
     }
     return true;
@@ -321,15 +323,14 @@ public final class SentryTracer implements ITransaction {
 
   @Override
   public @Nullable Span getLatestActiveSpan() {
-    final List<Span> spans = new ArrayList<>(this.children);
-    if (!spans.isEmpty()) {
-      for (int i = spans.size() - 1; i >= 0; i--) {
-        if (!spans.get(i).isFinished()) {
-          return spans.get(i);
-        }
+    // walks the snapshot of the copy-on-write list instead of copying it
+    Span latestActiveSpan = null;
+    for (final Span span : this.children) {
+      if (!span.isFinished()) {
+        latestActiveSpan = span;
       }
     }
-    return null;
+    return latestActiveSpan;
   }
 
   @Override
@@ -12,7 +12,8 @@ final class SentryValues<T> {
     if (values == null) {
       values = new ArrayList<>(0);
     }
-    this.values = new ArrayList<>(values);
+    // lazy values are kept as they are, copying them would create them right away
+    this.values = values instanceof LazyList ? values : new ArrayList<>(values);
   }
 
   public @NotNull List<T> getValues() {
@@ -0,0 +1,113 @@
+package io.sentry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A growable byte buffer with a UTF-8 writer on top, reused by the thread that serializes envelope
+ * items and headers. Serializing a large transaction used to allocate a new stream, writers and
+ * every intermediate array the stream grew through, now only the returned bytes are allocated.
+ *
+ * <p>Buffers are acquired and released in a try/finally block. A thread that needs a second buffer
+ * while holding one gets a buffer that isn't pooled, so envelopes serialize their items before
+ * they acquire the buffer for the headers.
+ */
+final class SerializationBuffer extends ByteArrayOutputStream {
+  @SuppressWarnings("CharsetObjectCanBeUsed")
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private static final int INITIAL_SIZE = 8192;
+
+  /** buffers that grew bigger than this are not kept around once released */
+  private static final int MAX_POOLED_SIZE = 1024 * 1024;
+
+  private static final ThreadLocal<SerializationBuffer> POOL =
+      new ThreadLocal<SerializationBuffer>() {
+        @Override
+        protected SerializationBuffer initialValue() {
+          return new SerializationBuffer(true);
+        }
+      };
+
+  private final boolean pooled;
+  private @Nullable Writer writer;
+  private boolean inUse;
+
+  private SerializationBuffer(final boolean pooled) {
+    super(INITIAL_SIZE);
+    this.pooled = pooled;
+  }
+
+  /**
+   * Returns the buffer of the calling thread, or a new one if the thread's buffer is in use
+   *
+   * @return an empty buffer
+   */
+  static @NotNull SerializationBuffer acquire() {
+    final SerializationBuffer buffer = POOL.get();
+    if (buffer.inUse) {
+      return new SerializationBuffer(false);
+    }
+    buffer.inUse = true;
+    return buffer;
+  }
+
+  /**
+   * Returns the UTF-8 writer of this buffer, the writer has to be flushed before the bytes are
+   * read.
+   *
+   * @return the writer
+   */
+  @NotNull
+  Writer getWriter() {
+    if (writer == null) {
+      writer = new OutputStreamWriter(this, UTF_8);
+    }
+    return writer;
+  }
+
+  /** Empties the buffer and gives it back to the thread, if it's pooled. */
+  void release() {
+    if (writer != null) {
+      try {
+        // drops whatever a failed serialization left in the encoder
+        writer.flush();
+      } catch (IOException e) {
+        writer = null;
+      }
+    }
+    reset();
+    if (buf.length > MAX_POOLED_SIZE) {
+      buf = new byte[INITIAL_SIZE];
+    }
+    if (pooled) {
+      inUse = false;
+    }
+  }
+
+  /**
+   * Serializes the given object to JSON and returns its UTF-8 bytes
+   *
+   * @param serializer the serializer
+   * @param object the object to serialize
+   * @return the bytes
+   * @throws IOException if the object can't be serialized
+   */
+  static @NotNull byte[] serialize(
+      final @NotNull ISerializer serializer, final @NotNull Object object) throws IOException {
+    final SerializationBuffer buffer = acquire();
+    try {
+      final Writer writer = buffer.getWriter();
+      serializer.serialize(object, writer);
+      writer.flush();
+      return buffer.toByteArray();
+    } finally {
+      buffer.release();
+    }
+  }
+}
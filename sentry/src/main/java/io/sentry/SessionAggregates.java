@@ -0,0 +1,84 @@
+package io.sentry;
+
+import io.sentry.util.Objects;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The outcomes of sessions grouped by the minute they started in, sent as a single {@link
+ * SentryItemType#Sessions} item instead of an envelope per session update.
+ */
+@ApiStatus.Internal
+public final class SessionAggregates {
+  private final @NotNull String release;
+  private final @Nullable String environment;
+  private final @NotNull List<Aggregate> aggregates = new ArrayList<>();
+
+  public SessionAggregates(final @NotNull String release, final @Nullable String environment) {
+    this.release = Objects.requireNonNull(release, "release is required");
+    this.environment = environment;
+  }
+
+  public @NotNull String getRelease() {
+    return release;
+  }
+
+  public @Nullable String getEnvironment() {
+    return environment;
+  }
+
+  public @NotNull List<Aggregate> getAggregates() {
+    return aggregates;
+  }
+
+  public void addAggregate(final @NotNull Aggregate aggregate) {
+    aggregates.add(aggregate);
+  }
+
+  /** The number of sessions per outcome that started in the same minute. */
+  public static final class Aggregate {
+    private final @NotNull Date started;
+    private final int exited;
+    private final int errored;
+    private final int abnormal;
+    private final int crashed;
+
+    public Aggregate(
+        final @NotNull Date started,
+        final int exited,
+        final int errored,
+        final int abnormal,
+        final int crashed) {
+      this.started = Objects.requireNonNull(started, "started is required");
+      this.exited = exited;
+      this.errored = errored;
+      this.abnormal = abnormal;
+      this.crashed = crashed;
+    }
+
+    @SuppressWarnings({"JdkObsolete", "JavaUtilDate"})
+    public @NotNull Date getStarted() {
+      return (Date) started.clone();
+    }
+
+    public int getExited() {
+      return exited;
+    }
+
+    public int getErrored() {
+      return errored;
+    }
+
+    public int getAbnormal() {
+      return abnormal;
+    }
+
+    public int getCrashed() {
+      return crashed;
+    }
+  }
+}
@@ -0,0 +1,167 @@
+package io.sentry;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import io.sentry.util.Objects;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+@ApiStatus.Internal
+public final class SessionAggregatesAdapter extends TypeAdapter<SessionAggregates> {
+
+  private final @NotNull SentryOptions options;
+
+  public SessionAggregatesAdapter(final @NotNull SentryOptions options) {
+    this.options = Objects.requireNonNull(options, "The SentryOptions is required.");
+  }
+
+  @Override
+  public void write(JsonWriter writer, SessionAggregates value) throws IOException {
+    if (value == null) {
+      writer.nullValue();
+      return;
+    }
+    writer.beginObject();
+
+    writer.name("aggregates").beginArray();
+    for (final SessionAggregates.Aggregate aggregate : value.getAggregates()) {
+      writer.beginObject();
+      writer.name("started").value(DateUtils.getTimestamp(aggregate.getStarted()));
+      writeCount(writer, "exited", aggregate.getExited());
+      writeCount(writer, "errored", aggregate.getErrored());
+      writeCount(writer, "abnormal", aggregate.getAbnormal());
+      writeCount(writer, "crashed", aggregate.getCrashed());
+      writer.endObject();
+    }
+    writer.endArray();
+
+    writer.name("attrs").beginObject();
+    writer.name("release").value(value.getRelease());
+    if (value.getEnvironment() != null) {
+      writer.name("environment").value(value.getEnvironment());
+    }
+    writer.endObject();
+
+    writer.endObject();
+  }
+
+  private static void writeCount(
+      final @NotNull JsonWriter writer, final @NotNull String name, final int count)
+      throws IOException {
+    if (count > 0) {
+      writer.name(name).value(count);
+    }
+  }
+
+  @Override
+  public @Nullable SessionAggregates read(JsonReader reader) throws IOException {
+    if (reader.peek() == JsonToken.NULL) {
+      reader.nextNull();
+      return null;
+    }
+    final List<SessionAggregates.Aggregate> aggregates = new ArrayList<>();
+    String release = null;
+    String environment = null;
+
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "aggregates":
+          reader.beginArray();
+          while (reader.hasNext()) {
+            final SessionAggregates.Aggregate aggregate = readAggregate(reader);
+            if (aggregate != null) {
+              aggregates.add(aggregate);
+            }
+          }
+          reader.endArray();
+          break;
+        case "attrs":
+          reader.beginObject();
+          while (reader.hasNext()) {
+            switch (reader.nextName()) {
+              case "release":
+                release = reader.nextString();
+                break;
+              case "environment":
+                environment = reader.nextString();
+                break;
+              default:
+                reader.skipValue();
+                break;
+            }
+          }
+          reader.endObject();
+          break;
+        default:
+          reader.skipValue();
+          break;
+      }
+    }
+    reader.endObject();
+
+    if (release == null || release.isEmpty()) {
+      options
+          .getLogger()
+          .log(SentryLevel.ERROR, "Session aggregates are gonna be dropped due to invalid fields.");
+      return null;
+    }
+
+    final SessionAggregates sessionAggregates = new SessionAggregates(release, environment);
+    for (final SessionAggregates.Aggregate aggregate : aggregates) {
+      sessionAggregates.addAggregate(aggregate);
+    }
+    return sessionAggregates;
+  }
+
+  private @Nullable SessionAggregates.Aggregate readAggregate(final @NotNull JsonReader reader)
+      throws IOException {
+    Date started = null;
+    int exited = 0;
+    int errored = 0;
+    int abnormal = 0;
+    int crashed = 0;
+
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "started":
+          try {
+            started = DateUtils.getDateTime(reader.nextString());
+          } catch (IllegalArgumentException e) {
+            options
+                .getLogger()
+                .log(SentryLevel.ERROR, e, "Error converting session aggregate started field.");
+          }
+          break;
+        case "exited":
+          exited = reader.nextInt();
+          break;
+        case "errored":
+          errored = reader.nextInt();
+          break;
+        case "abnormal":
+          abnormal = reader.nextInt();
+          break;
+        case "crashed":
+          crashed = reader.nextInt();
+          break;
+        default:
+          reader.skipValue();
+          break;
+      }
+    }
+    reader.endObject();
+
+    return started != null
+        ? new SessionAggregates.Aggregate(started, exited, errored, abnormal, crashed)
+        : null;
+  }
+}
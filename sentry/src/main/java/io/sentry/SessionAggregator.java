@@ -0,0 +1,259 @@
+package io.sentry;
+
+import io.sentry.transport.CurrentDateProvider;
+import io.sentry.transport.ICurrentDateProvider;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.TestOnly;
+
+/**
+ * Counts the outcome of ended sessions per minute they started in and periodically sends the
+ * counts as a single {@link SessionAggregates} item. Recording an outcome only increments atomic
+ * counters, so it's cheap enough to track a session per request on servers. The counts are flushed
+ * from the SDK executor, see {@link SentryOptions#getExecutorService()}.
+ */
+final class SessionAggregator implements Closeable {
+  static final long FLUSH_INTERVAL_MILLIS = 60 * 1000;
+  private static final long BUCKET_MILLIS = 60 * 1000;
+
+  private final @NotNull SentryOptions options;
+  private final @NotNull ISentryClient client;
+  private final @NotNull ConcurrentHashMap<Long, Bucket> buckets = new ConcurrentHashMap<>();
+  private final @NotNull ICurrentDateProvider currentDateProvider;
+  private final boolean scheduleFlush;
+  private volatile boolean closed;
+  private volatile @Nullable Future<?> scheduledFlush;
+
+  SessionAggregator(final @NotNull SentryOptions options, final @NotNull ISentryClient client) {
+    this(options, client, CurrentDateProvider.getInstance(), true);
+  }
+
+  @TestOnly
+  SessionAggregator(
+      final @NotNull SentryOptions options,
+      final @NotNull ISentryClient client,
+      final @NotNull ICurrentDateProvider currentDateProvider,
+      final boolean scheduleFlush) {
+    this.options = options;
+    this.client = client;
+    this.currentDateProvider = currentDateProvider;
+    this.scheduleFlush = scheduleFlush;
+    final String release = options.getRelease();
+    if (release == null || release.isEmpty()) {
+      options
+          .getLogger()
+          .log(
+              SentryLevel.WARNING,
+              "Session aggregation is enabled but no release is set, sessions are not sent.");
+    }
+    scheduleNextFlush();
+  }
+
+  /** Schedules the next flush on the SDK executor, each flush schedules the one after it. */
+  private void scheduleNextFlush() {
+    if (!scheduleFlush || closed) {
+      return;
+    }
+    try {
+      scheduledFlush =
+          options
+              .getExecutorService()
+              .schedule(
+                  () -> {
+                    try {
+                      flush(false);
+                    } finally {
+                      scheduleNextFlush();
+                    }
+                  },
+                  FLUSH_INTERVAL_MILLIS);
+    } catch (Exception e) {
+      // the executor is shut down, the counts are sent on close
+      options.getLogger().log(SentryLevel.DEBUG, "Failed to schedule the session flush.", e);
+    }
+  }
+
+  /**
+   * Counts the outcome of the given session, sessions that have not ended are ignored.
+   *
+   * @param session the session
+   */
+  void record(final @NotNull Session session) {
+    final Outcome outcome = Outcome.of(session);
+    final Date started = session.getStarted();
+    if (outcome == null || started == null) {
+      return;
+    }
+    final Long minute = started.getTime() / BUCKET_MILLIS;
+    while (true) {
+      Bucket bucket = buckets.get(minute);
+      if (bucket == null) {
+        final Bucket newBucket = new Bucket();
+        bucket = buckets.putIfAbsent(minute, newBucket);
+        if (bucket == null) {
+          bucket = newBucket;
+        }
+      }
+      if (bucket.add(outcome)) {
+        return;
+      }
+      // the bucket is being flushed, retry with a new one
+      buckets.remove(minute, bucket);
+    }
+  }
+
+  /**
+   * Sends the counted outcomes.
+   *
+   * @param all if the bucket of the current minute has to be sent too, otherwise it's left to
+   *     collect the outcomes of the running minute
+   */
+  void flush(final boolean all) {
+    final SessionAggregates aggregates = drain(all);
+    if (aggregates == null) {
+      return;
+    }
+    try {
+      client.captureEnvelope(
+          SentryEnvelope.from(options.getSerializer(), aggregates, options.getSdkVersion()));
+    } catch (IOException e) {
+      options.getLogger().log(SentryLevel.ERROR, "Failed to capture session aggregates.", e);
+    }
+  }
+
+  /**
+   * Removes the buckets to send and returns their counts.
+   *
+   * @param all if the bucket of the current minute has to be removed too
+   * @return the aggregates or null if there's nothing to send
+   */
+  @Nullable
+  SessionAggregates drain(final boolean all) {
+    final String release = options.getRelease();
+    if (release == null || release.isEmpty()) {
+      buckets.clear();
+      return null;
+    }
+    final long currentMinute = currentDateProvider.getCurrentTimeMillis() / BUCKET_MILLIS;
+
+    final List<SessionAggregates.Aggregate> aggregates = new ArrayList<>();
+    for (final Map.Entry<Long, Bucket> entry : buckets.entrySet()) {
+      final long minute = entry.getKey();
+      if (!all && minute >= currentMinute) {
+        continue;
+      }
+      final Bucket bucket = entry.getValue();
+      bucket.seal();
+      buckets.remove(minute, bucket);
+      if (!bucket.isEmpty()) {
+        aggregates.add(bucket.toAggregate(minute * BUCKET_MILLIS));
+      }
+    }
+    if (aggregates.isEmpty()) {
+      return null;
+    }
+
+    final SessionAggregates sessionAggregates =
+        new SessionAggregates(release, options.getEnvironment());
+    for (final SessionAggregates.Aggregate aggregate : aggregates) {
+      sessionAggregates.addAggregate(aggregate);
+    }
+    return sessionAggregates;
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+    final Future<?> scheduledFlush = this.scheduledFlush;
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel(false);
+    }
+    flush(true);
+  }
+
+  private enum Outcome {
+    EXITED,
+    ERRORED,
+    ABNORMAL,
+    CRASHED;
+
+    static @Nullable Outcome of(final @NotNull Session session) {
+      switch (session.getStatus()) {
+        case Exited:
+          return session.errorCount() > 0 ? ERRORED : EXITED;
+        case Abnormal:
+          return ABNORMAL;
+        case Crashed:
+          return CRASHED;
+        default:
+          return null;
+      }
+    }
+  }
+
+  /**
+   * The counters of a minute. Once sealed by a flush, recorders back off and start a new bucket,
+   * so no outcome is lost between reading the counters and removing the bucket.
+   */
+  private static final class Bucket {
+    private final @NotNull AtomicInteger[] counts = new AtomicInteger[Outcome.values().length];
+    private final @NotNull AtomicInteger writers = new AtomicInteger();
+    private volatile boolean sealed;
+
+    Bucket() {
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] = new AtomicInteger();
+      }
+    }
+
+    boolean add(final @NotNull Outcome outcome) {
+      writers.incrementAndGet();
+      try {
+        if (sealed) {
+          return false;
+        }
+        counts[outcome.ordinal()].incrementAndGet();
+        return true;
+      } finally {
+        writers.decrementAndGet();
+      }
+    }
+
+    void seal() {
+      sealed = true;
+      // writers that saw the bucket unsealed finish their increment in a few instructions
+      while (writers.get() > 0) {
+        Thread.yield();
+      }
+    }
+
+    boolean isEmpty() {
+      for (final AtomicInteger count : counts) {
+        if (count.get() > 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    @SuppressWarnings("JavaUtilDate")
+    @NotNull
+    SessionAggregates.Aggregate toAggregate(final long startedMillis) {
+      return new SessionAggregates.Aggregate(
+          new Date(startedMillis),
+          counts[Outcome.EXITED.ordinal()].get(),
+          counts[Outcome.ERRORED.ordinal()].get(),
+          counts[Outcome.ABNORMAL.ordinal()].get(),
+          counts[Outcome.CRASHED.ordinal()].get());
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package io.sentry;
 
+import io.sentry.util.IdUtils;
 import io.sentry.util.Objects;
 import java.util.UUID;
 import org.jetbrains.annotations.NotNull;
@@ -14,11 +15,7 @@ public final class SpanId {
   }
 
   public SpanId() {
-    this(UUID.randomUUID());
-  }
-
-  private SpanId(final @NotNull UUID uuid) {
-    this(uuid.toString().replace("-", "").substring(0, 16));
+    this(IdUtils.toHex(IdUtils.randomLong()));
   }
 
   @Override
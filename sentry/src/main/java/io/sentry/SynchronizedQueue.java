@@ -131,4 +131,19 @@ final class SynchronizedQueue<E> extends SynchronizedCollection<E> implements Qu
       return decorated().remove();
     }
   }
+
+  /**
+   * Replaces the element added last, if the decorated queue is a {@link CircularFifoQueue}
+   *
+   * @param expected the element that is expected to be the last one
+   * @param e the element that replaces it
+   * @return true if the element was replaced
+   */
+  boolean replaceLast(final E expected, final E e) {
+    synchronized (lock) {
+      final Queue<E> queue = decorated();
+      return queue instanceof CircularFifoQueue
+          && ((CircularFifoQueue<E>) queue).replaceLast(expected, e);
+    }
+  }
 }
@@ -3,6 +3,7 @@ package io.sentry;
 import io.sentry.util.Objects;
 import java.util.Random;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.TestOnly;
 
 final class TracesSampler {
@@ -38,6 +39,27 @@ final class TracesSampler {
     return false;
   }
 
+  /**
+   * Takes the sampling decision without a {@link SamplingContext}. It's only possible when no
+   * {@link SentryOptions#getTracesSampler()} callback is set, as the callback needs the context.
+   *
+   * @param parentSampled the sampling decision of the parent transaction, if any
+   * @return the sampling decision or null if it requires the sampling context
+   */
+  @Nullable
+  Boolean sampleWithoutContext(final @Nullable Boolean parentSampled) {
+    if (options.getTracesSampler() != null) {
+      return null;
+    }
+    if (parentSampled != null) {
+      return parentSampled;
+    }
+    if (options.getTracesSampleRate() != null) {
+      return sample(options.getTracesSampleRate());
+    }
+    return false;
+  }
+
   private boolean sample(final @NotNull Double aDouble) {
     return !(aDouble < random.nextDouble());
   }
@@ -0,0 +1,58 @@
+package io.sentry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/** Checks if outgoing HTTP requests match the {@link SentryOptions#getTracingOrigins()}. */
+@ApiStatus.Internal
+public final class TracingOrigins {
+
+  /** Origins are configured once, so their patterns are compiled only once. */
+  private static final @NotNull Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+
+  /** Stands in for origins that are not valid regular expressions, they match as substrings. */
+  private static final @NotNull Pattern INVALID = Pattern.compile("(?!)");
+
+  private TracingOrigins() {}
+
+  /**
+   * Checks if the URL matches any of the origins. An empty list matches every URL.
+   *
+   * @param origins the tracing origins
+   * @param url the URL of the outgoing request
+   * @return true if the request should be traced or false otherwise
+   */
+  public static boolean contain(final @NotNull List<String> origins, final @NotNull String url) {
+    if (origins.isEmpty()) {
+      return true;
+    }
+    for (final String origin : origins) {
+      if (url.contains(origin)) {
+        return true;
+      }
+      final Pattern pattern = compile(origin);
+      if (pattern != INVALID && pattern.matcher(url).matches()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static @NotNull Pattern compile(final @NotNull String origin) {
+    Pattern pattern = patterns.get(origin);
+    if (pattern == null) {
+      try {
+        pattern = Pattern.compile(origin);
+      } catch (PatternSyntaxException e) {
+        pattern = INVALID;
+      }
+      patterns.put(origin, pattern);
+    }
+    return pattern;
+  }
+}
@@ -4,19 +4,21 @@ import com.google.gson.FieldNamingStrategy;
 import com.google.gson.Gson;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import com.google.gson.TypeAdapter;
 import com.google.gson.TypeAdapterFactory;
-import com.google.gson.internal.Excluder;
+import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
 import java.lang.reflect.Field;
-import java.util.ArrayList;
-import java.util.Collection;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 final class UnknownPropertiesTypeAdapterFactory implements TypeAdapterFactory {
@@ -35,67 +37,66 @@ final class UnknownPropertiesTypeAdapterFactory implements TypeAdapterFactory {
     if (!IUnknownPropertiesConsumer.class.isAssignableFrom(typeToken.getRawType())) {
       return null;
     }
-    // If we can, we should get the backing class to fetch its fields from
-    @SuppressWarnings("unchecked")
-    final Class<IUnknownPropertiesConsumer> rawType =
-        (Class<IUnknownPropertiesConsumer>) typeToken.getRawType();
     @SuppressWarnings("unchecked")
     final TypeAdapter<IUnknownPropertiesConsumer> delegateTypeAdapter =
         (TypeAdapter<IUnknownPropertiesConsumer>) gson.getDelegateAdapter(this, typeToken);
-    // Excluder is necessary to check if the field can be processed
-    // Basically it's not required, but it makes the check more complete
-    final Excluder excluder = gson.excluder();
     // This is crucial to map fields and JSON object properties since Gson supports name remapping
     final FieldNamingStrategy fieldNamingStrategy = gson.fieldNamingStrategy();
     final TypeAdapter<IUnknownPropertiesConsumer> unknownPropertiesTypeAdapter =
-        UnknownPropertiesTypeAdapter.create(
-            rawType, delegateTypeAdapter, excluder, fieldNamingStrategy);
+        new UnknownPropertiesTypeAdapter<>(
+            delegateTypeAdapter,
+            getPropertyNames(typeToken.getRawType(), fieldNamingStrategy),
+            gson.getAdapter(JsonElement.class));
     @SuppressWarnings("unchecked")
     final TypeAdapter<T> castTypeAdapter = (TypeAdapter<T>) unknownPropertiesTypeAdapter;
     return castTypeAdapter;
   }
 
+  /**
+   * Returns the names of the properties the fields of the class are bound to. Static and transient
+   * fields are left out, as Gson excludes them by default.
+   */
+  private static @NotNull Set<String> getPropertyNames(
+      final @NotNull Class<?> clazz, final @NotNull FieldNamingStrategy fieldNamingStrategy) {
+    final Set<String> propertyNames = new HashSet<>();
+    // Class fields are declared per class so we have to traverse the whole hierarchy
+    for (Class<?> i = clazz;
+        i.getSuperclass() != null && i != Object.class;
+        i = i.getSuperclass()) {
+      for (final Field declaredField : i.getDeclaredFields()) {
+        final int modifiers = declaredField.getModifiers();
+        if (Modifier.isStatic(modifiers)
+            || Modifier.isTransient(modifiers)
+            || declaredField.isSynthetic()) {
+          continue;
+        }
+        final SerializedName serializedName = declaredField.getAnnotation(SerializedName.class);
+        if (serializedName == null) {
+          // We can translate the field name to its property name counter-part
+          propertyNames.add(fieldNamingStrategy.translateName(declaredField));
+        } else {
+          propertyNames.add(serializedName.value());
+          Collections.addAll(propertyNames, serializedName.alternate());
+        }
+      }
+    }
+    return propertyNames;
+  }
+
   private static final class UnknownPropertiesTypeAdapter<T extends IUnknownPropertiesConsumer>
       extends TypeAdapter<T> {
 
-    private final TypeAdapter<T> typeAdapter;
-    private final Collection<String> propertyNames;
+    private final @NotNull TypeAdapter<T> typeAdapter;
+    private final @NotNull Set<String> propertyNames;
+    private final @NotNull TypeAdapter<JsonElement> jsonElementAdapter;
 
     private UnknownPropertiesTypeAdapter(
-        final TypeAdapter<T> typeAdapter, final Collection<String> propertyNames) {
+        final @NotNull TypeAdapter<T> typeAdapter,
+        final @NotNull Set<String> propertyNames,
+        final @NotNull TypeAdapter<JsonElement> jsonElementAdapter) {
       this.typeAdapter = typeAdapter;
       this.propertyNames = propertyNames;
-    }
-
-    private static <T extends IUnknownPropertiesConsumer> TypeAdapter<T> create(
-        final Class<? super T> clazz,
-        final TypeAdapter<T> typeAdapter,
-        final Excluder excluder,
-        final FieldNamingStrategy fieldNamingStrategy) {
-      final Collection<String> propertyNames =
-          getPropertyNames(clazz, excluder, fieldNamingStrategy);
-      return new UnknownPropertiesTypeAdapter<>(typeAdapter, propertyNames);
-    }
-
-    private static Collection<String> getPropertyNames(
-        final Class<?> clazz,
-        final Excluder excluder,
-        final FieldNamingStrategy fieldNamingStrategy) {
-      final Collection<String> propertyNames = new ArrayList<>();
-      // Class fields are declared per class so we have to traverse the whole hierarchy
-      for (Class<?> i = clazz;
-          i.getSuperclass() != null && i != Object.class;
-          i = i.getSuperclass()) {
-        for (final Field declaredField : i.getDeclaredFields()) {
-          // If the class field is not excluded
-          if (!excluder.excludeField(declaredField, false)) {
-            // We can translate the field name to its property name counter-part
-            final String propertyName = fieldNamingStrategy.translateName(declaredField);
-            propertyNames.add(propertyName);
-          }
-        }
-      }
-      return propertyNames;
+      this.jsonElementAdapter = jsonElementAdapter;
     }
 
     @Override
@@ -104,31 +105,32 @@ final class UnknownPropertiesTypeAdapterFactory implements TypeAdapterFactory {
     }
 
     @Override
-    public @Nullable T read(final JsonReader in) {
-      // In its simplest solution, we can just collect a JSON tree because its much easier to
-      // process
-      JsonParser parser = new JsonParser();
-      JsonElement jsonElement = parser.parse(in);
-
+    public @Nullable T read(final JsonReader in) throws IOException {
+      // The object is read into a tree once, its keys tell the unknown properties apart and the
+      // tree is bound by the delegate adapter, so binding is left to Gson entirely
+      final JsonElement jsonElement = jsonElementAdapter.read(in);
       if (jsonElement == null || jsonElement.isJsonNull()) {
         return null;
       }
 
-      final JsonObject jsonObjectToParse = jsonElement.getAsJsonObject();
-      Map<String, Object> unknownProperties = new HashMap<>();
-      for (final Map.Entry<String, JsonElement> e : jsonObjectToParse.entrySet()) {
-        final String propertyName = e.getKey();
-        // Not in the object fields?
-        if (!propertyNames.contains(propertyName)) {
-          // Then we assume the property is unknown
-          unknownProperties.put(propertyName, e.getValue());
+      final T object = typeAdapter.fromJsonTree(jsonElement);
+      if (object != null && jsonElement.isJsonObject()) {
+        Map<String, Object> unknownProperties = null;
+        for (final Map.Entry<String, JsonElement> e : ((JsonObject) jsonElement).entrySet()) {
+          final String propertyName = e.getKey();
+          // Not in the object fields?
+          if (!propertyNames.contains(propertyName)) {
+            if (unknownProperties == null) {
+              unknownProperties = new HashMap<>();
+            }
+            // Then we assume the property is unknown
+            unknownProperties.put(propertyName, e.getValue());
+          }
+        }
+        if (unknownProperties != null) {
+          // And do the post-processing
+          object.acceptUnknownProperties(unknownProperties);
         }
-      }
-      // First convert the above JSON tree to an object
-      final T object = typeAdapter.fromJsonTree(jsonObjectToParse);
-      if (!unknownProperties.isEmpty()) {
-        // And do the post-processing
-        object.acceptUnknownProperties(unknownProperties);
       }
       return object;
     }
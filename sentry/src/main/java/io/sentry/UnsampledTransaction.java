@@ -0,0 +1,194 @@
+package io.sentry;
+
+import io.sentry.protocol.Contexts;
+import io.sentry.protocol.Request;
+import io.sentry.protocol.SentryId;
+import io.sentry.util.Objects;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A transaction that is not sampled. It is bound to the scope only to carry the trace onwards,
+ * through the sentry-trace header and the trace context of events, so unlike {@link SentryTracer}
+ * it doesn't keep any spans: children are no-ops and nothing is captured when it finishes.
+ */
+@ApiStatus.Internal
+public final class UnsampledTransaction implements ITransaction {
+  private final @NotNull TransactionContext context;
+  private final @NotNull IHub hub;
+  private volatile @NotNull String name;
+  private volatile @Nullable Throwable throwable;
+  private volatile boolean finished;
+
+  public UnsampledTransaction(final @NotNull TransactionContext context, final @NotNull IHub hub) {
+    this.context = Objects.requireNonNull(context, "context is required");
+    this.hub = Objects.requireNonNull(hub, "hub is required");
+    this.name = context.getName();
+    context.setSampled(false);
+  }
+
+  @Override
+  public void setName(final @NotNull String name) {
+    this.name = name;
+  }
+
+  @Override
+  public @NotNull String getName() {
+    return name;
+  }
+
+  @Override
+  public @NotNull ISpan startChild(final @NotNull String operation) {
+    return NoOpSpan.getInstance();
+  }
+
+  @Override
+  public @NotNull ISpan startChild(
+      final @NotNull String operation,
+      final @Nullable String description,
+      final @Nullable Date timestamp) {
+    return NoOpSpan.getInstance();
+  }
+
+  @Override
+  public @NotNull ISpan startChild(
+      final @NotNull String operation, final @Nullable String description) {
+    return NoOpSpan.getInstance();
+  }
+
+  /** @deprecated use {@link Scope#setRequest(Request)} */
+  @Override
+  @Deprecated
+  @ApiStatus.ScheduledForRemoval
+  public void setRequest(final @Nullable Request request) {}
+
+  /** @deprecated use {@link Scope#getRequest()} */
+  @Override
+  @Deprecated
+  @ApiStatus.ScheduledForRemoval
+  @SuppressWarnings("InlineMeSuggester")
+  public @Nullable Request getRequest() {
+    return null;
+  }
+
+  /** @deprecated use {@link Scope#getContexts()} */
+  @Override
+  @Deprecated
+  @ApiStatus.ScheduledForRemoval
+  @SuppressWarnings("InlineMeSuggester")
+  public @NotNull Contexts getContexts() {
+    return new Contexts();
+  }
+
+  @Override
+  public @NotNull List<Span> getSpans() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public @Nullable Span getLatestActiveSpan() {
+    return null;
+  }
+
+  @Override
+  public @NotNull SentryId getEventId() {
+    return SentryId.EMPTY_ID;
+  }
+
+  @Override
+  public @Nullable Boolean isSampled() {
+    return false;
+  }
+
+  @Override
+  public @NotNull SentryTraceHeader toSentryTrace() {
+    return new SentryTraceHeader(context.getTraceId(), context.getSpanId(), false);
+  }
+
+  /** Unbinds the transaction from the scope, nothing is sent to Sentry. */
+  @Override
+  public void finish() {
+    finish(context.getStatus());
+  }
+
+  @Override
+  public void finish(final @Nullable SpanStatus status) {
+    if (finished) {
+      return;
+    }
+    finished = true;
+    context.setStatus(status);
+    hub.configureScope(
+        scope ->
+            scope.withTransaction(
+                transaction -> {
+                  if (transaction == this) {
+                    scope.clearTransaction();
+                  }
+                }));
+  }
+
+  @Override
+  public boolean isFinished() {
+    return finished;
+  }
+
+  @Override
+  public void setOperation(final @NotNull String operation) {
+    context.setOperation(operation);
+  }
+
+  @Override
+  public @NotNull String getOperation() {
+    return context.getOperation();
+  }
+
+  @Override
+  public void setDescription(final @Nullable String description) {
+    context.setDescription(description);
+  }
+
+  @Override
+  public @Nullable String getDescription() {
+    return context.getDescription();
+  }
+
+  @Override
+  public void setStatus(final @Nullable SpanStatus status) {
+    context.setStatus(status);
+  }
+
+  @Override
+  public @Nullable SpanStatus getStatus() {
+    return context.getStatus();
+  }
+
+  @Override
+  public void setThrowable(final @Nullable Throwable throwable) {
+    this.throwable = throwable;
+  }
+
+  @Override
+  public @Nullable Throwable getThrowable() {
+    return throwable;
+  }
+
+  @Override
+  public @NotNull SpanContext getSpanContext() {
+    return context;
+  }
+
+  @Override
+  public void setTag(final @NotNull String key, final @NotNull String value) {
+    context.setTag(key, value);
+  }
+
+  @Override
+  public @Nullable String getTag(final @NotNull String key) {
+    return context.getTags().get(key);
+  }
+}
@@ -0,0 +1,176 @@
+package io.sentry.cache;
+
+import io.sentry.ISerializer;
+import io.sentry.SentryOptions;
+import io.sentry.Session;
+import io.sentry.util.Objects;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.UUID;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The file of the session that is currently running. The file is created when the session starts,
+ * with room to spare, and every update of the session is written over the previous one, padded
+ * with whitespace so the file always holds a single JSON document. Updating the session doesn't
+ * create, delete or resize the file.
+ *
+ * <p>This class is not public because it is used solely in {@link EnvelopeCache}.
+ */
+final class CurrentSessionFile {
+
+  /** the size of a new file, a serialized session takes a few hundred bytes */
+  static final int INITIAL_SIZE = 4096;
+
+  @SuppressWarnings("CharsetObjectCanBeUsed")
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private final @NotNull File file;
+  private final @NotNull SentryOptions options;
+  private final @NotNull ISerializer serializer;
+  private final @NotNull SessionBuffer buffer = new SessionBuffer();
+
+  private @Nullable RandomAccessFile randomAccessFile;
+  private @Nullable UUID sessionId;
+  private long lastFlushMillis;
+
+  CurrentSessionFile(final @NotNull File file, final @NotNull SentryOptions options) {
+    this.file = Objects.requireNonNull(file, "file is required");
+    this.options = Objects.requireNonNull(options, "options is required");
+    this.serializer = options.getSerializer();
+  }
+
+  @NotNull
+  File getFile() {
+    return file;
+  }
+
+  /**
+   * Checks if the file exists, it may be left over from a session that wasn't ended
+   *
+   * @return true if the file exists
+   */
+  boolean exists() {
+    return file.exists();
+  }
+
+  /**
+   * Checks if a session was started and not ended yet
+   *
+   * @return true if there is a current session
+   */
+  synchronized boolean isStarted() {
+    return sessionId != null;
+  }
+
+  /**
+   * Writes a session that just started, it becomes the current session
+   *
+   * @param session the session
+   * @throws IOException if the session can't be written
+   */
+  synchronized void start(final @NotNull Session session) throws IOException {
+    closeQuietly();
+    sessionId = session.getSessionId();
+    write(session);
+  }
+
+  /**
+   * Writes a new state of the current session over the previous one
+   *
+   * @param session the session
+   * @return false if the session isn't the current session
+   * @throws IOException if the session can't be written
+   */
+  synchronized boolean update(final @NotNull Session session) throws IOException {
+    if (sessionId == null || !sessionId.equals(session.getSessionId())) {
+      return false;
+    }
+    write(session);
+    return true;
+  }
+
+  /**
+   * Ends the current session and deletes the file
+   *
+   * @return true if the file was deleted
+   */
+  synchronized boolean delete() {
+    sessionId = null;
+    closeQuietly();
+    return file.delete();
+  }
+
+  private void write(final @NotNull Session session) throws IOException {
+    buffer.reset();
+    try (final Writer writer = new BufferedWriter(new OutputStreamWriter(buffer, UTF_8))) {
+      serializer.serialize(session, writer);
+    }
+
+    RandomAccessFile randomAccessFile = this.randomAccessFile;
+    if (randomAccessFile == null) {
+      randomAccessFile = new RandomAccessFile(file, "rw");
+      this.randomAccessFile = randomAccessFile;
+    }
+    long size = Math.max(randomAccessFile.length(), INITIAL_SIZE);
+    while (size < buffer.size()) {
+      size *= 2;
+    }
+    buffer.padTo((int) size);
+    buffer.writeTo(randomAccessFile);
+    flushIfDue(randomAccessFile);
+  }
+
+  private void flushIfDue(final @NotNull RandomAccessFile randomAccessFile) throws IOException {
+    final long interval = options.getSessionFlushIntervalMillis();
+    if (interval <= 0) {
+      return;
+    }
+    final long now = System.currentTimeMillis();
+    if (now - lastFlushMillis >= interval) {
+      randomAccessFile.getFD().sync();
+      lastFlushMillis = now;
+    }
+  }
+
+  private void closeQuietly() {
+    final RandomAccessFile randomAccessFile = this.randomAccessFile;
+    this.randomAccessFile = null;
+    if (randomAccessFile != null) {
+      try {
+        randomAccessFile.close();
+      } catch (IOException ignored) {
+        // the file is written again or deleted next
+      }
+    }
+  }
+
+  /** A buffer that is padded with whitespace and written to the start of the file in one call. */
+  private static final class SessionBuffer extends ByteArrayOutputStream {
+    SessionBuffer() {
+      super(INITIAL_SIZE);
+    }
+
+    synchronized void padTo(final int size) {
+      if (buf.length < size) {
+        buf = Arrays.copyOf(buf, size);
+      }
+      Arrays.fill(buf, count, size, (byte) ' ');
+      count = Math.max(count, size);
+    }
+
+    synchronized void writeTo(final @NotNull RandomAccessFile randomAccessFile)
+        throws IOException {
+      randomAccessFile.seek(0);
+      randomAccessFile.write(buf, 0, count);
+    }
+  }
+}
@@ -19,7 +19,6 @@ import io.sentry.transport.NoOpEnvelopeCache;
 import io.sentry.util.Objects;
 import java.io.BufferedInputStream;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -29,9 +28,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.Reader;
-import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
@@ -54,6 +51,7 @@ public final class EnvelopeCache extends CacheStrategy implements IEnvelopeCache
   static final String CRASH_MARKER_FILE = ".sentry-native/last_crash";
 
   private final @NotNull Map<SentryEnvelope, String> fileNameMap = new WeakHashMap<>();
+  private final @NotNull CurrentSessionFile currentSessionFile;
 
   public static @NotNull IEnvelopeCache create(final @NotNull SentryOptions options) {
     final String cacheDirPath = options.getCacheDirPath();
@@ -71,6 +69,12 @@ public final class EnvelopeCache extends CacheStrategy implements IEnvelopeCache
       final @NotNull String cacheDirPath,
       final int maxCacheItems) {
     super(options, cacheDirPath, maxCacheItems);
+    this.currentSessionFile =
+        new CurrentSessionFile(
+            new File(
+                directory.getAbsolutePath(),
+                PREFIX_CURRENT_SESSION_FILE + SUFFIX_CURRENT_SESSION_FILE),
+            options);
   }
 
   @Override
@@ -79,8 +83,6 @@ public final class EnvelopeCache extends CacheStrategy implements IEnvelopeCache
 
     rotateCacheIfNeeded(allEnvelopeFiles());
 
-    final File currentSessionFile = getCurrentSessionFile();
-
     if (hint instanceof SessionEnd) {
       if (!currentSessionFile.delete()) {
         options.getLogger().log(WARNING, "Current envelope doesn't exist.");
@@ -96,7 +98,8 @@ public final class EnvelopeCache extends CacheStrategy implements IEnvelopeCache
 
         try (final Reader reader =
             new BufferedReader(
-                new InputStreamReader(new FileInputStream(currentSessionFile), UTF_8))) {
+                new InputStreamReader(
+                    new FileInputStream(currentSessionFile.getFile()), UTF_8))) {
 
           final Session session = serializer.deserialize(reader, Session.class);
           if (session == null) {
@@ -105,7 +108,7 @@ public final class EnvelopeCache extends CacheStrategy implements IEnvelopeCache
                 .log(
                     SentryLevel.ERROR,
                     "Stream from path %s resulted in a null envelope.",
-                    currentSessionFile.getAbsolutePath());
+                    currentSessionFile.getFile().getAbsolutePath());
           } else {
             final File crashMarkerFile = new File(options.getCacheDirPath(), CRASH_MARKER_FILE);
             Date timestamp = null;
@@ -145,12 +148,13 @@ public final class EnvelopeCache extends CacheStrategy implements IEnvelopeCache
           options.getLogger().log(WARNING, "Failed to delete the current session file.");
         }
       }
-      updateCurrentSession(currentSessionFile, envelope);
+      updateCurrentSession(envelope);
+    } else if (!(hint instanceof SessionEnd)) {
+      // keeps the current session file up to date, e.g. with the errors of the session, so the
+      // session is ended with its last state if the app is killed or crashes natively
+      updateStartedSession(envelope);
     }
 
-    // TODO: probably we need to update the current session file for session updates to because of
-    // hardcrash events
-
     final File envelopeFile = getEnvelopeFile(envelope);
     if (envelopeFile.exists()) {
       options
@@ -189,8 +193,7 @@ public final class EnvelopeCache extends CacheStrategy implements IEnvelopeCache
     return null;
   }
 
-  private void updateCurrentSession(
-      final @NotNull File currentSessionFile, final @NotNull SentryEnvelope envelope) {
+  private void updateCurrentSession(final @NotNull SentryEnvelope envelope) {
     final Iterable<SentryEnvelopeItem> items = envelope.getItems();
 
     // we know that an envelope with a SessionStart hint has a single item inside
@@ -198,22 +201,13 @@ public final class EnvelopeCache extends CacheStrategy implements IEnvelopeCache
       final SentryEnvelopeItem item = items.iterator().next();
 
       if (SentryItemType.Session.equals(item.getHeader().getType())) {
-        try (final Reader reader =
-            new BufferedReader(
-                new InputStreamReader(new ByteArrayInputStream(item.getData()), UTF_8))) {
-          final Session session = serializer.deserialize(reader, Session.class);
-          if (session == null) {
-            options
-                .getLogger()
-                .log(
-                    SentryLevel.ERROR,
-                    "Item of type %s returned null by the parser.",
-                    item.getHeader().getType());
-          } else {
-            writeSessionToDisk(currentSessionFile, session);
+        final Session session = readSession(item);
+        if (session != null) {
+          try {
+            currentSessionFile.start(session);
+          } catch (IOException e) {
+            logSessionWriteError(e, session);
           }
-        } catch (Exception e) {
-          options.getLogger().log(ERROR, "Item failed to process.", e);
         }
       } else {
         options
@@ -226,47 +220,80 @@ public final class EnvelopeCache extends CacheStrategy implements IEnvelopeCache
     } else {
       options
           .getLogger()
-          .log(INFO, "Current envelope %s is empty", currentSessionFile.getAbsolutePath());
+          .log(
+              INFO,
+              "Current envelope %s is empty",
+              currentSessionFile.getFile().getAbsolutePath());
     }
   }
 
-  private void writeEnvelopeToDisk(
-      final @NotNull File file, final @NotNull SentryEnvelope envelope) {
-    if (file.exists()) {
-      options
-          .getLogger()
-          .log(DEBUG, "Overwriting envelope to offline storage: %s", file.getAbsolutePath());
-      if (!file.delete()) {
-        options.getLogger().log(SentryLevel.ERROR, "Failed to delete: %s", file.getAbsolutePath());
+  /**
+   * Writes the session updates of the envelope over the current session file, if they belong to
+   * the current session
+   *
+   * @param envelope the envelope
+   */
+  private void updateStartedSession(final @NotNull SentryEnvelope envelope) {
+    if (!currentSessionFile.isStarted()) {
+      return;
+    }
+    for (final SentryEnvelopeItem item : envelope.getItems()) {
+      if (SentryItemType.Session.equals(item.getHeader().getType())) {
+        final Session session = readSession(item);
+        if (session != null) {
+          try {
+            currentSessionFile.update(session);
+          } catch (IOException e) {
+            logSessionWriteError(e, session);
+          }
+        }
       }
     }
+  }
 
-    try (final OutputStream outputStream = new FileOutputStream(file)) {
-      serializer.serialize(envelope, outputStream);
+  private @Nullable Session readSession(final @NotNull SentryEnvelopeItem item) {
+    try (final Reader reader =
+        new BufferedReader(
+            new InputStreamReader(new ByteArrayInputStream(item.getData()), UTF_8))) {
+      final Session session = serializer.deserialize(reader, Session.class);
+      if (session == null) {
+        options
+            .getLogger()
+            .log(
+                SentryLevel.ERROR,
+                "Item of type %s returned null by the parser.",
+                item.getHeader().getType());
+      }
+      return session;
     } catch (Exception e) {
-      options
-          .getLogger()
-          .log(ERROR, e, "Error writing Envelope %s to offline storage", file.getAbsolutePath());
+      options.getLogger().log(ERROR, "Item failed to process.", e);
+      return null;
     }
   }
 
-  private void writeSessionToDisk(final @NotNull File file, final @NotNull Session session) {
+  private void logSessionWriteError(final @NotNull Exception e, final @NotNull Session session) {
+    options
+        .getLogger()
+        .log(ERROR, e, "Error writing Session to offline storage: %s", session.getSessionId());
+  }
+
+  private void writeEnvelopeToDisk(
+      final @NotNull File file, final @NotNull SentryEnvelope envelope) {
     if (file.exists()) {
       options
           .getLogger()
-          .log(DEBUG, "Overwriting session to offline storage: %s", session.getSessionId());
+          .log(DEBUG, "Overwriting envelope to offline storage: %s", file.getAbsolutePath());
       if (!file.delete()) {
         options.getLogger().log(SentryLevel.ERROR, "Failed to delete: %s", file.getAbsolutePath());
       }
     }
 
-    try (final OutputStream outputStream = new FileOutputStream(file);
-        final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, UTF_8))) {
-      serializer.serialize(session, writer);
+    try (final OutputStream outputStream = new FileOutputStream(file)) {
+      serializer.serialize(envelope, outputStream);
     } catch (Exception e) {
       options
           .getLogger()
-          .log(ERROR, e, "Error writing Session to offline storage: %s", session.getSessionId());
+          .log(ERROR, e, "Error writing Envelope %s to offline storage", file.getAbsolutePath());
     }
   }
 
@@ -314,11 +341,6 @@ public final class EnvelopeCache extends CacheStrategy implements IEnvelopeCache
     return new File(directory.getAbsolutePath(), fileName);
   }
 
-  private @NotNull File getCurrentSessionFile() {
-    return new File(
-        directory.getAbsolutePath(), PREFIX_CURRENT_SESSION_FILE + SUFFIX_CURRENT_SESSION_FILE);
-  }
-
   @Override
   public @NotNull Iterator<SentryEnvelope> iterator() {
     final File[] allCachedEnvelopes = allEnvelopeFiles();
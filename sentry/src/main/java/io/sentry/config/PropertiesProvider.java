@@ -74,4 +74,16 @@ public interface PropertiesProvider {
     final String result = getProperty(property);
     return result != null ? Double.valueOf(result) : null;
   }
+
+  /**
+   * Resolves an {@link Integer} property given by it's name.
+   *
+   * @param property - the property name
+   * @return property value or the default value if not found.
+   */
+  @Nullable
+  default Integer getIntegerProperty(final @NotNull String property) {
+    final String result = getProperty(property);
+    return result != null ? Integer.valueOf(result) : null;
+  }
 }
@@ -1,32 +1,69 @@
 package io.sentry.protocol;
 
+import io.sentry.util.IdUtils;
+import java.util.Locale;
 import java.util.UUID;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 public final class SentryId {
-  private final @NotNull UUID uuid;
+  private final long mostSigBits;
+  private final long leastSigBits;
+
+  /** the hex representation, computed once it's needed */
+  private volatile @Nullable String value;
 
   public static final SentryId EMPTY_ID = new SentryId(new UUID(0, 0));
 
   public SentryId() {
-    this((UUID) null);
+    // a version 4 (random) UUID, as UUID.randomUUID() would create
+    this(
+        (IdUtils.randomLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L,
+        (IdUtils.randomLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L);
   }
 
   public SentryId(@Nullable UUID uuid) {
     if (uuid == null) {
-      uuid = UUID.randomUUID();
+      final SentryId random = new SentryId();
+      this.mostSigBits = random.mostSigBits;
+      this.leastSigBits = random.leastSigBits;
+    } else {
+      this.mostSigBits = uuid.getMostSignificantBits();
+      this.leastSigBits = uuid.getLeastSignificantBits();
     }
-    this.uuid = uuid;
   }
 
   public SentryId(final @NotNull String sentryIdString) {
-    this.uuid = fromStringSentryId(sentryIdString);
+    if (sentryIdString.length() == 32) {
+      // expected format, SentryId is a UUID without dashes
+      this.mostSigBits = IdUtils.parseHex(sentryIdString, 0);
+      this.leastSigBits = IdUtils.parseHex(sentryIdString, 16);
+      this.value = sentryIdString.toLowerCase(Locale.ROOT);
+    } else if (sentryIdString.length() == 36) {
+      final UUID uuid = UUID.fromString(sentryIdString);
+      this.mostSigBits = uuid.getMostSignificantBits();
+      this.leastSigBits = uuid.getLeastSignificantBits();
+    } else {
+      throw new IllegalArgumentException(
+          "String representation of SentryId has either 32 (UUID no dashes) "
+              + "or 36 characters long (completed UUID). Received: "
+              + sentryIdString);
+    }
+  }
+
+  private SentryId(final long mostSigBits, final long leastSigBits) {
+    this.mostSigBits = mostSigBits;
+    this.leastSigBits = leastSigBits;
   }
 
   @Override
   public String toString() {
-    return uuid.toString().replace("-", "");
+    String value = this.value;
+    if (value == null) {
+      value = IdUtils.toHex(mostSigBits, leastSigBits);
+      this.value = value;
+    }
+    return value;
   }
 
   @Override
@@ -34,32 +71,13 @@ public final class SentryId {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
     SentryId sentryId = (SentryId) o;
-    return uuid.compareTo(sentryId.uuid) == 0;
+    return mostSigBits == sentryId.mostSigBits && leastSigBits == sentryId.leastSigBits;
   }
 
   @Override
   public int hashCode() {
-    return uuid.hashCode();
-  }
-
-  private @NotNull UUID fromStringSentryId(@NotNull String sentryIdString) {
-    if (sentryIdString.length() == 32) {
-      // expected format, SentryId is a UUID without dashes
-      sentryIdString =
-          new StringBuilder(sentryIdString)
-              .insert(8, "-")
-              .insert(13, "-")
-              .insert(18, "-")
-              .insert(23, "-")
-              .toString();
-    }
-    if (sentryIdString.length() != 36) {
-      throw new IllegalArgumentException(
-          "String representation of SentryId has either 32 (UUID no dashes) "
-              + "or 36 characters long (completed UUID). Received: "
-              + sentryIdString);
-    }
-
-    return UUID.fromString(sentryIdString);
+    // same as UUID#hashCode
+    final long bits = mostSigBits ^ leastSigBits;
+    return ((int) (bits >> 32)) ^ (int) bits;
   }
 }
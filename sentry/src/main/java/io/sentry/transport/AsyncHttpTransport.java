@@ -3,6 +3,8 @@ package io.sentry.transport;
 import io.sentry.ILogger;
 import io.sentry.RequestDetails;
 import io.sentry.SentryEnvelope;
+import io.sentry.SentryEnvelopeItem;
+import io.sentry.SentryItemType;
 import io.sentry.SentryLevel;
 import io.sentry.SentryOptions;
 import io.sentry.cache.IEnvelopeCache;
@@ -32,6 +34,12 @@ public final class AsyncHttpTransport implements ITransport {
   private final @NotNull ITransportGate transportGate;
   private final @NotNull HttpConnection connection;
 
+  /**
+   * the envelopes of this transport that are queued or being sent, only counted when the executor
+   * is shared with the transports of other DSNs
+   */
+  private final @Nullable ReusableCountLatch sharedExecutorPending;
+
   public AsyncHttpTransport(
       final @NotNull SentryOptions options,
       final @NotNull RateLimiter rateLimiter,
@@ -39,7 +47,11 @@ public final class AsyncHttpTransport implements ITransport {
       final @NotNull RequestDetails requestDetails) {
     this(
         initExecutor(
-            options.getMaxQueueSize(), options.getEnvelopeDiskCache(), options.getLogger()),
+            options.getMaxQueueSize(),
+            options.getMaxSessionQueueSize(),
+            options.getMaxTransactionQueueSize(),
+            options.getEnvelopeDiskCache(),
+            options.getLogger()),
         options,
         rateLimiter,
         transportGate,
@@ -52,6 +64,20 @@ public final class AsyncHttpTransport implements ITransport {
       final @NotNull RateLimiter rateLimiter,
       final @NotNull ITransportGate transportGate,
       final @NotNull HttpConnection httpConnection) {
+    this(executor, options, rateLimiter, transportGate, httpConnection, null);
+  }
+
+  /**
+   * Creates a transport that sends its envelopes with an executor shared with other transports,
+   * see {@link SharedAsyncHttpTransportFactory}. Closing it doesn't shut down the executor.
+   */
+  AsyncHttpTransport(
+      final @NotNull QueuedThreadPoolExecutor executor,
+      final @NotNull SentryOptions options,
+      final @NotNull RateLimiter rateLimiter,
+      final @NotNull ITransportGate transportGate,
+      final @NotNull HttpConnection httpConnection,
+      final @Nullable ReusableCountLatch sharedExecutorPending) {
     this.executor = Objects.requireNonNull(executor, "executor is required");
     this.envelopeCache =
         Objects.requireNonNull(options.getEnvelopeDiskCache(), "envelopeCache is required");
@@ -59,6 +85,7 @@ public final class AsyncHttpTransport implements ITransport {
     this.rateLimiter = Objects.requireNonNull(rateLimiter, "rateLimiter is required");
     this.transportGate = Objects.requireNonNull(transportGate, "transportGate is required");
     this.connection = Objects.requireNonNull(httpConnection, "httpConnection is required");
+    this.sharedExecutorPending = sharedExecutorPending;
   }
 
   @Override
@@ -80,18 +107,54 @@ public final class AsyncHttpTransport implements ITransport {
       if (cached) {
         envelopeCache.discard(envelope);
       }
+    } else if (sharedExecutorPending != null) {
+      submitToSharedExecutor(
+          new EnvelopeSender(filteredEnvelope, hint, currentEnvelopeCache), sharedExecutorPending);
     } else {
       executor.submit(new EnvelopeSender(filteredEnvelope, hint, currentEnvelopeCache));
     }
   }
 
+  private void submitToSharedExecutor(
+      final @NotNull EnvelopeSender envelopeSender, final @NotNull ReusableCountLatch pending) {
+    // the queue of the executor is shared by all DSNs, a DSN that sends a burst of envelopes can't
+    // take more than its own max queue size of it
+    if (!envelopeSender.isUrgent() && pending.getCount() >= options.getMaxQueueSize()) {
+      options
+          .getLogger()
+          .log(SentryLevel.WARNING, "Submit cancelled, the queue of this DSN is full");
+      return;
+    }
+    if (executor.isShutdown()) {
+      options.getLogger().log(SentryLevel.WARNING, "Submit cancelled, the executor is shut down");
+      return;
+    }
+    pending.increment();
+    // cancelled when the executor is full or it rejected the envelope, which is never run then
+    if (executor.submit(envelopeSender).isCancelled()) {
+      pending.decrement();
+    }
+  }
+
   @Override
   public void flush(long timeoutMillis) {
-    executor.waitTillIdle(timeoutMillis);
+    final ReusableCountLatch pending = sharedExecutorPending;
+    if (pending == null) {
+      executor.waitTillIdle(timeoutMillis);
+      return;
+    }
+    try {
+      pending.waitTillZero(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      options.getLogger().log(SentryLevel.ERROR, "Failed to flush events", e);
+      Thread.currentThread().interrupt();
+    }
   }
 
   private static QueuedThreadPoolExecutor initExecutor(
       final int maxQueueSize,
+      final int maxSessionQueueSize,
+      final int maxTransactionQueueSize,
       final @NotNull IEnvelopeCache envelopeCache,
       final @NotNull ILogger logger) {
 
@@ -110,11 +173,23 @@ public final class AsyncHttpTransport implements ITransport {
         };
 
     return new QueuedThreadPoolExecutor(
-        1, maxQueueSize, new AsyncConnectionThreadFactory(), storeEvents, logger);
+        1,
+        maxQueueSize,
+        maxSessionQueueSize,
+        maxTransactionQueueSize,
+        new AsyncConnectionThreadFactory(),
+        storeEvents,
+        logger);
   }
 
   @Override
   public void close() throws IOException {
+    if (sharedExecutorPending != null) {
+      // the executor keeps sending the envelopes of other DSNs
+      options.getLogger().log(SentryLevel.DEBUG, "Shutting down");
+      flush(options.getShutdownTimeout());
+      return;
+    }
     executor.shutdown();
     options.getLogger().log(SentryLevel.DEBUG, "Shutting down");
     try {
@@ -150,6 +225,32 @@ public final class AsyncHttpTransport implements ITransport {
     }
   }
 
+  /**
+   * Resolves the lane of the envelope from its items, an envelope that contains anything else than
+   * sessions or transactions is queued with errors.
+   *
+   * @param envelope the envelope
+   * @return the lane
+   */
+  static @NotNull PrioritizedSendQueue.Lane resolveLane(final @NotNull SentryEnvelope envelope) {
+    boolean hasSession = false;
+    boolean hasTransaction = false;
+    for (final SentryEnvelopeItem item : envelope.getItems()) {
+      final SentryItemType type = item.getHeader().getType();
+      if (SentryItemType.Session.equals(type) || SentryItemType.Sessions.equals(type)) {
+        hasSession = true;
+      } else if (SentryItemType.Transaction.equals(type)) {
+        hasTransaction = true;
+      } else {
+        return PrioritizedSendQueue.Lane.ERROR;
+      }
+    }
+    if (hasSession) {
+      return PrioritizedSendQueue.Lane.SESSION;
+    }
+    return hasTransaction ? PrioritizedSendQueue.Lane.TRANSACTION : PrioritizedSendQueue.Lane.ERROR;
+  }
+
   private static final class AsyncConnectionThreadFactory implements ThreadFactory {
     private int cnt;
 
@@ -161,10 +262,11 @@ public final class AsyncHttpTransport implements ITransport {
     }
   }
 
-  private final class EnvelopeSender implements Runnable {
+  private final class EnvelopeSender implements Runnable, PrioritizedSendQueue.Prioritized {
     private final @NotNull SentryEnvelope envelope;
     private final @Nullable Object hint;
     private final @NotNull IEnvelopeCache envelopeCache;
+    private final @NotNull PrioritizedSendQueue.Lane lane;
     private final TransportResult failedResult = TransportResult.error();
 
     EnvelopeSender(
@@ -174,6 +276,18 @@ public final class AsyncHttpTransport implements ITransport {
       this.envelope = Objects.requireNonNull(envelope, "Envelope is required.");
       this.hint = hint;
       this.envelopeCache = Objects.requireNonNull(envelopeCache, "EnvelopeCache is required.");
+      this.lane = resolveLane(envelope);
+    }
+
+    @Override
+    public @NotNull PrioritizedSendQueue.Lane getLane() {
+      return lane;
+    }
+
+    @Override
+    public boolean isUrgent() {
+      // the app is about to crash, the envelope has to be sent before anything else
+      return hint instanceof DiskFlushNotification;
     }
 
     @Override
@@ -192,6 +306,9 @@ public final class AsyncHttpTransport implements ITransport {
               .log(SentryLevel.DEBUG, "Marking envelope submission result: %s", result.isSuccess());
           ((SubmissionResult) hint).setResult(result.isSuccess());
         }
+        if (sharedExecutorPending != null) {
+          sharedExecutorPending.decrement();
+        }
       }
     }
 
@@ -6,6 +6,7 @@ import static java.net.HttpURLConnection.HTTP_OK;
 
 import io.sentry.RequestDetails;
 import io.sentry.SentryEnvelope;
+import io.sentry.SentryEnvelopeItem;
 import io.sentry.SentryOptions;
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -35,6 +36,9 @@ final class HttpConnection {
   private final @NotNull SentryOptions options;
   private final @NotNull RateLimiter rateLimiter;
 
+  /** keeps connections open after a response was read, so other requests to the host reuse them */
+  private final boolean keepAlive;
+
   /**
    * Constructs a new HTTP transport instance. Notably, the provided {@code requestUpdater} must set
    * the appropriate content encoding header for the {@link io.sentry.ISerializer} instance obtained
@@ -48,7 +52,15 @@ final class HttpConnection {
       final @NotNull SentryOptions options,
       final @NotNull RequestDetails requestDetails,
       final @NotNull RateLimiter rateLimiter) {
-    this(options, requestDetails, AuthenticatorWrapper.getInstance(), rateLimiter);
+    this(options, requestDetails, AuthenticatorWrapper.getInstance(), rateLimiter, false);
+  }
+
+  HttpConnection(
+      final @NotNull SentryOptions options,
+      final @NotNull RequestDetails requestDetails,
+      final @NotNull RateLimiter rateLimiter,
+      final boolean keepAlive) {
+    this(options, requestDetails, AuthenticatorWrapper.getInstance(), rateLimiter, keepAlive);
   }
 
   HttpConnection(
@@ -56,9 +68,19 @@ final class HttpConnection {
       final @NotNull RequestDetails requestDetails,
       final @NotNull AuthenticatorWrapper authenticatorWrapper,
       final @NotNull RateLimiter rateLimiter) {
+    this(options, requestDetails, authenticatorWrapper, rateLimiter, false);
+  }
+
+  private HttpConnection(
+      final @NotNull SentryOptions options,
+      final @NotNull RequestDetails requestDetails,
+      final @NotNull AuthenticatorWrapper authenticatorWrapper,
+      final @NotNull RateLimiter rateLimiter,
+      final boolean keepAlive) {
     this.requestDetails = requestDetails;
     this.options = options;
     this.rateLimiter = rateLimiter;
+    this.keepAlive = keepAlive;
 
     this.proxy = resolveProxy(options.getProxy());
 
@@ -107,10 +129,12 @@ final class HttpConnection {
   /**
    * Create a HttpURLConnection connection Sets specific content-type if its an envelope or not
    *
+   * @param envelope the envelope to be sent
    * @return the HttpURLConnection
    * @throws IOException if connection has a problem
    */
-  private @NotNull HttpURLConnection createConnection() throws IOException {
+  private @NotNull HttpURLConnection createConnection(final @NotNull SentryEnvelope envelope)
+      throws IOException {
     HttpURLConnection connection = open();
 
     for (Map.Entry<String, String> header : requestDetails.getHeaders().entrySet()) {
@@ -124,12 +148,20 @@ final class HttpConnection {
     connection.setRequestProperty("Content-Type", "application/x-sentry-envelope");
     connection.setRequestProperty("Accept", "application/json");
 
-    // https://stackoverflow.com/questions/52726909/java-io-ioexception-unexpected-end-of-stream-on-connection/53089882
-    connection.setRequestProperty("Connection", "close");
+    if (!keepAlive) {
+      // https://stackoverflow.com/questions/52726909/java-io-ioexception-unexpected-end-of-stream-on-connection/53089882
+      connection.setRequestProperty("Connection", "close");
+    }
 
     connection.setConnectTimeout(options.getConnectionTimeoutMillis());
     connection.setReadTimeout(options.getReadTimeoutMillis());
 
+    // HttpURLConnection buffers the whole body unless streaming is enabled, which would defeat
+    // attachments that are streamed from disk
+    if (hasStreamedItems(envelope)) {
+      connection.setChunkedStreamingMode(0);
+    }
+
     final HostnameVerifier hostnameVerifier = options.getHostnameVerifier();
 
     if (connection instanceof HttpsURLConnection && hostnameVerifier != null) {
@@ -147,7 +179,7 @@ final class HttpConnection {
   }
 
   public @NotNull TransportResult send(final @NotNull SentryEnvelope envelope) throws IOException {
-    final HttpURLConnection connection = createConnection();
+    final HttpURLConnection connection = createConnection(envelope);
     TransportResult result;
 
     try (final OutputStream outputStream = connection.getOutputStream();
@@ -166,6 +198,15 @@ final class HttpConnection {
     return result;
   }
 
+  private static boolean hasStreamedItems(final @NotNull SentryEnvelope envelope) {
+    for (final SentryEnvelopeItem item : envelope.getItems()) {
+      if (item.isStreamed()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Read responde code, retry after header and its error stream if there are errors and log it
    *
@@ -227,6 +268,9 @@ final class HttpConnection {
    * @param connection the HttpURLConnection
    */
   private void closeAndDisconnect(final @NotNull HttpURLConnection connection) {
+    if (keepAlive && drain(connection)) {
+      return;
+    }
     try {
       connection.getInputStream().close();
     } catch (IOException ignored) {
@@ -236,6 +280,40 @@ final class HttpConnection {
     }
   }
 
+  /**
+   * Reads the rest of the response, the connection goes back to the keep-alive cache of the JVM
+   * once the response stream is read entirely and closed
+   *
+   * @param connection the HttpURLConnection
+   * @return true if the response was read, false if the connection has to be disconnected
+   */
+  private boolean drain(final @NotNull HttpURLConnection connection) {
+    InputStream inputStream;
+    try {
+      inputStream = connection.getInputStream();
+    } catch (IOException e) {
+      inputStream = connection.getErrorStream();
+    }
+    if (inputStream == null) {
+      return false;
+    }
+    try {
+      final byte[] buffer = new byte[1024];
+      while (inputStream.read(buffer) != -1) {
+        // responses are small, they are read and dropped
+      }
+      return true;
+    } catch (IOException e) {
+      return false;
+    } finally {
+      try {
+        inputStream.close();
+      } catch (IOException ignored) {
+        // the connection is disconnected or already closed
+      }
+    }
+  }
+
   /**
    * Reads the error message from the error stream
    *
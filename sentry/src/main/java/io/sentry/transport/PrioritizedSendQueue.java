@@ -0,0 +1,314 @@
+package io.sentry.transport;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A work queue that keeps a lane per {@link Lane} and hands out tasks in weighted round robin, so
+ * errors are sent before performance data when the transport can't keep up, without starving
+ * sessions and transactions completely. Urgent tasks, like crashes, skip the lanes and are always
+ * handed out first.
+ *
+ * <p>The queue itself is unbounded, capacities are enforced by {@link QueuedThreadPoolExecutor}
+ * when a task is submitted.
+ */
+final class PrioritizedSendQueue extends AbstractQueue<Runnable>
+    implements BlockingQueue<Runnable> {
+
+  /** The lanes tasks are queued in, in the order of their priority. */
+  enum Lane {
+    ERROR(4),
+    SESSION(2),
+    TRANSACTION(1);
+
+    /** how many tasks of this lane are handed out in a round */
+    private final int weight;
+
+    Lane(final int weight) {
+      this.weight = weight;
+    }
+  }
+
+  /** A task that knows which lane it belongs to. */
+  interface Prioritized {
+    @NotNull
+    Lane getLane();
+
+    /**
+     * Returns true if the task has to be handed out before any other queued task
+     *
+     * @return true if urgent or false otherwise
+     */
+    boolean isUrgent();
+  }
+
+  private static final Lane[] LANES = Lane.values();
+
+  private final @NotNull ReentrantLock lock = new ReentrantLock();
+  private final @NotNull Condition notEmpty = lock.newCondition();
+  private final @NotNull ArrayDeque<Runnable> urgent = new ArrayDeque<>();
+  private final @NotNull List<ArrayDeque<Runnable>> lanes = new ArrayList<>(LANES.length);
+  private final @NotNull int[] credits = new int[LANES.length];
+  private int count;
+
+  PrioritizedSendQueue() {
+    for (final Lane lane : LANES) {
+      lanes.add(new ArrayDeque<>());
+      credits[lane.ordinal()] = lane.weight;
+    }
+  }
+
+  /**
+   * Returns the lane of the given task, tasks that don't know their lane are queued with errors.
+   *
+   * @param task the task
+   * @return the lane
+   */
+  static @NotNull Lane laneOf(final @Nullable Object task) {
+    return task instanceof Prioritized ? ((Prioritized) task).getLane() : Lane.ERROR;
+  }
+
+  private static boolean isUrgent(final @NotNull Object task) {
+    return task instanceof Prioritized && ((Prioritized) task).isUrgent();
+  }
+
+  @Override
+  public boolean offer(final @NotNull Runnable task) {
+    lock.lock();
+    try {
+      if (isUrgent(task)) {
+        urgent.add(task);
+      } else {
+        lanes.get(laneOf(task).ordinal()).add(task);
+      }
+      count++;
+      notEmpty.signal();
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void put(final @NotNull Runnable task) {
+    offer(task);
+  }
+
+  @Override
+  public boolean offer(
+      final @NotNull Runnable task, final long timeout, final @NotNull TimeUnit unit) {
+    return offer(task);
+  }
+
+  @Override
+  public @NotNull Runnable take() throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (count == 0) {
+        notEmpty.await();
+      }
+      return dequeue();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public @Nullable Runnable poll(final long timeout, final @NotNull TimeUnit unit)
+      throws InterruptedException {
+    long nanos = unit.toNanos(timeout);
+    lock.lockInterruptibly();
+    try {
+      while (count == 0) {
+        if (nanos <= 0) {
+          return null;
+        }
+        nanos = notEmpty.awaitNanos(nanos);
+      }
+      return dequeue();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public @Nullable Runnable poll() {
+    lock.lock();
+    try {
+      return count == 0 ? null : dequeue();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public @Nullable Runnable peek() {
+    lock.lock();
+    try {
+      if (!urgent.isEmpty()) {
+        return urgent.peek();
+      }
+      for (final ArrayDeque<Runnable> lane : lanes) {
+        if (!lane.isEmpty()) {
+          return lane.peek();
+        }
+      }
+      return null;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Removes the next task, must be called holding the lock and with at least one task queued.
+   *
+   * @return the next task
+   */
+  @SuppressWarnings("NullAway")
+  private @NotNull Runnable dequeue() {
+    count--;
+    if (!urgent.isEmpty()) {
+      return urgent.poll();
+    }
+    // a second pass is only needed if every non empty lane used up its credits in this round
+    for (int pass = 0; pass < 2; pass++) {
+      for (final Lane lane : LANES) {
+        final ArrayDeque<Runnable> tasks = lanes.get(lane.ordinal());
+        if (!tasks.isEmpty() && credits[lane.ordinal()] > 0) {
+          credits[lane.ordinal()]--;
+          return tasks.poll();
+        }
+      }
+      for (final Lane lane : LANES) {
+        credits[lane.ordinal()] = lane.weight;
+      }
+    }
+    throw new IllegalStateException("The queue is empty.");
+  }
+
+  @Override
+  public boolean remove(final @Nullable Object task) {
+    if (task == null) {
+      return false;
+    }
+    lock.lock();
+    try {
+      boolean removed = urgent.remove(task);
+      for (int i = 0; !removed && i < lanes.size(); i++) {
+        removed = lanes.get(i).remove(task);
+      }
+      if (removed) {
+        count--;
+      }
+      return removed;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int size() {
+    lock.lock();
+    try {
+      return count;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of tasks queued in the given lane, urgent tasks are not counted.
+   *
+   * @param lane the lane
+   * @return the number of tasks
+   */
+  int size(final @NotNull Lane lane) {
+    lock.lock();
+    try {
+      return lanes.get(lane.ordinal()).size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int remainingCapacity() {
+    return Integer.MAX_VALUE;
+  }
+
+  @Override
+  public int drainTo(final @NotNull Collection<? super Runnable> collection) {
+    return drainTo(collection, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public int drainTo(
+      final @NotNull Collection<? super Runnable> collection, final int maxElements) {
+    lock.lock();
+    try {
+      int drained = 0;
+      while (drained < maxElements && count > 0) {
+        collection.add(dequeue());
+        drained++;
+      }
+      return drained;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns an iterator over a snapshot of the queued tasks. Removing through the iterator removes
+   * the task from the queue.
+   *
+   * @return the iterator
+   */
+  @Override
+  public @NotNull Iterator<Runnable> iterator() {
+    final List<Runnable> snapshot = new ArrayList<>();
+    lock.lock();
+    try {
+      snapshot.addAll(urgent);
+      for (final ArrayDeque<Runnable> lane : lanes) {
+        snapshot.addAll(lane);
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    final Iterator<Runnable> iterator = snapshot.iterator();
+    return new Iterator<Runnable>() {
+      private @Nullable Runnable last;
+
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public Runnable next() {
+        last = iterator.next();
+        return last;
+      }
+
+      @Override
+      public void remove() {
+        if (last == null) {
+          throw new IllegalStateException();
+        }
+        PrioritizedSendQueue.this.remove(last);
+        last = null;
+      }
+    };
+  }
+}
@@ -2,13 +2,16 @@ package io.sentry.transport;
 
 import io.sentry.ILogger;
 import io.sentry.SentryLevel;
+import java.util.Locale;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.RunnableFuture;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -16,19 +19,49 @@ import org.jetbrains.annotations.Nullable;
  * This is a thread pool executor enriched for the possibility of queueing (with max queue size) the
  * supplied tasks.
  *
- * <p>The {@link Runnable} instances.
+ * <p>The {@link Runnable} instances are queued by their {@link PrioritizedSendQueue.Lane}, each
+ * lane with its own max queue size, so a burst of one kind of envelope can't take the place of
+ * another.
  *
  * <p>This class is not public because it is used solely in {@link AsyncHttpTransport}.
  */
 final class QueuedThreadPoolExecutor extends ThreadPoolExecutor {
-  private final int maxQueueSize;
+  private final @NotNull int[] maxQueueSizes;
+  private final @NotNull AtomicInteger[] unfinishedTasksPerLane;
   private final @NotNull ILogger logger;
   private final @NotNull ReusableCountLatch unfinishedTasksCount = new ReusableCountLatch();
 
+  /**
+   * Creates a new instance of the thread pool where every lane has the same max queue size.
+   *
+   * @param corePoolSize the minimum number of threads started
+   * @param threadFactory the thread factory to construct new threads
+   * @param rejectedExecutionHandler specifies what to do with the tasks that cannot be run (e.g.
+   *     during the shutdown)
+   */
+  public QueuedThreadPoolExecutor(
+      final int corePoolSize,
+      final int maxQueueSize,
+      final @NotNull ThreadFactory threadFactory,
+      final @NotNull RejectedExecutionHandler rejectedExecutionHandler,
+      final @NotNull ILogger logger) {
+    this(
+        corePoolSize,
+        maxQueueSize,
+        maxQueueSize,
+        maxQueueSize,
+        threadFactory,
+        rejectedExecutionHandler,
+        logger);
+  }
+
   /**
    * Creates a new instance of the thread pool.
    *
    * @param corePoolSize the minimum number of threads started
+   * @param maxQueueSize the max number of unfinished errors and other envelopes
+   * @param maxSessionQueueSize the max number of unfinished session envelopes
+   * @param maxTransactionQueueSize the max number of unfinished transaction envelopes
    * @param threadFactory the thread factory to construct new threads
    * @param rejectedExecutionHandler specifies what to do with the tasks that cannot be run (e.g.
    *     during the shutdown)
@@ -36,6 +69,8 @@ final class QueuedThreadPoolExecutor extends ThreadPoolExecutor {
   public QueuedThreadPoolExecutor(
       final int corePoolSize,
       final int maxQueueSize,
+      final int maxSessionQueueSize,
+      final int maxTransactionQueueSize,
       final @NotNull ThreadFactory threadFactory,
       final @NotNull RejectedExecutionHandler rejectedExecutionHandler,
       final @NotNull ILogger logger) {
@@ -45,35 +80,64 @@ final class QueuedThreadPoolExecutor extends ThreadPoolExecutor {
         corePoolSize,
         0L,
         TimeUnit.MILLISECONDS,
-        new LinkedBlockingQueue<>(),
+        new PrioritizedSendQueue(),
         threadFactory,
         rejectedExecutionHandler);
-    this.maxQueueSize = maxQueueSize;
+    this.maxQueueSizes = new int[PrioritizedSendQueue.Lane.values().length];
+    this.maxQueueSizes[PrioritizedSendQueue.Lane.ERROR.ordinal()] = maxQueueSize;
+    this.maxQueueSizes[PrioritizedSendQueue.Lane.SESSION.ordinal()] = maxSessionQueueSize;
+    this.maxQueueSizes[PrioritizedSendQueue.Lane.TRANSACTION.ordinal()] = maxTransactionQueueSize;
+    this.unfinishedTasksPerLane = new AtomicInteger[maxQueueSizes.length];
+    for (int i = 0; i < unfinishedTasksPerLane.length; i++) {
+      unfinishedTasksPerLane[i] = new AtomicInteger();
+    }
     this.logger = logger;
+    // tasks rejected by the pool never run, so they have to be released here
+    setRejectedExecutionHandler(
+        (r, executor) -> {
+          release(r);
+          rejectedExecutionHandler.rejectedExecution(r, executor);
+        });
   }
 
   @Override
   public Future<?> submit(final @NotNull Runnable task) {
-    if (isSchedulingAllowed()) {
+    final PrioritizedSendQueue.Lane lane = PrioritizedSendQueue.laneOf(task);
+    if (isSchedulingAllowed(task, lane)) {
       unfinishedTasksCount.increment();
       return super.submit(task);
     } else {
       // if the thread pool is full, we don't cache it
-      logger.log(SentryLevel.WARNING, "Submit cancelled");
+      logger.log(
+          SentryLevel.WARNING,
+          "Submit cancelled, the queue for %s is full",
+          lane.name().toLowerCase(Locale.ROOT));
       return new CancelledFuture<>();
     }
   }
 
+  @Override
+  protected <T> @NotNull RunnableFuture<T> newTaskFor(
+      final @NotNull Runnable runnable, final @Nullable T value) {
+    // the task wrapping the runnable has to carry its lane into the queue
+    return new PrioritizedFutureTask<>(runnable, value);
+  }
+
   @SuppressWarnings("FutureReturnValueIgnored")
   @Override
   protected void afterExecute(final @NotNull Runnable r, final @Nullable Throwable t) {
     try {
       super.afterExecute(r, t);
     } finally {
-      unfinishedTasksCount.decrement();
+      release(r);
     }
   }
 
+  private void release(final @NotNull Runnable task) {
+    unfinishedTasksPerLane[PrioritizedSendQueue.laneOf(task).ordinal()].decrementAndGet();
+    unfinishedTasksCount.decrement();
+  }
+
   /** Blocks the thread until there are no running tasks. */
   void waitTillIdle(final long timeoutMillis) {
     try {
@@ -84,8 +148,65 @@ final class QueuedThreadPoolExecutor extends ThreadPoolExecutor {
     }
   }
 
-  private boolean isSchedulingAllowed() {
-    return unfinishedTasksCount.getCount() < maxQueueSize;
+  /**
+   * Reserves a place in the lane of the task. Urgent tasks, like crashes, are always allowed.
+   *
+   * @param task the task
+   * @param lane the lane of the task
+   * @return true if the task can be scheduled or false otherwise
+   */
+  private boolean isSchedulingAllowed(
+      final @NotNull Runnable task, final @NotNull PrioritizedSendQueue.Lane lane) {
+    final AtomicInteger unfinishedTasks = unfinishedTasksPerLane[lane.ordinal()];
+    if (task instanceof PrioritizedSendQueue.Prioritized
+        && ((PrioritizedSendQueue.Prioritized) task).isUrgent()) {
+      unfinishedTasks.incrementAndGet();
+      return true;
+    }
+    final int maxQueueSize = maxQueueSizes[lane.ordinal()];
+    while (true) {
+      final int current = unfinishedTasks.get();
+      if (current >= maxQueueSize) {
+        return false;
+      }
+      if (unfinishedTasks.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of submitted tasks of the given lane that haven't finished yet.
+   *
+   * @param lane the lane
+   * @return the number of tasks
+   */
+  int getUnfinishedTasksCount(final @NotNull PrioritizedSendQueue.Lane lane) {
+    return unfinishedTasksPerLane[lane.ordinal()].get();
+  }
+
+  private static final class PrioritizedFutureTask<T> extends FutureTask<T>
+      implements PrioritizedSendQueue.Prioritized {
+    private final @NotNull PrioritizedSendQueue.Lane lane;
+    private final boolean urgent;
+
+    PrioritizedFutureTask(final @NotNull Runnable runnable, final @Nullable T value) {
+      super(runnable, value);
+      this.lane = PrioritizedSendQueue.laneOf(runnable);
+      this.urgent =
+          runnable instanceof PrioritizedSendQueue.Prioritized
+              && ((PrioritizedSendQueue.Prioritized) runnable).isUrgent();
+    }
+
+    @Override
+    public @NotNull PrioritizedSendQueue.Lane getLane() {
+      return lane;
+    }
+
+    @Override
+    public boolean isUrgent() {
+      return urgent;
+    }
   }
 
   private static final class CancelledFuture<T> implements Future<T> {
@@ -156,6 +156,7 @@ public final class RateLimiter {
       case "event":
         return DataCategory.Error;
       case "session":
+      case "sessions":
         return DataCategory.Session;
       case "attachment":
         return DataCategory.Attachment;
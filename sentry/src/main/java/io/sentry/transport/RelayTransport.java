@@ -0,0 +1,303 @@
+package io.sentry.transport;
+
+import io.sentry.SentryEnvelope;
+import io.sentry.SentryLevel;
+import io.sentry.SentryOptions;
+import io.sentry.hints.DiskFlushNotification;
+import io.sentry.hints.Retryable;
+import io.sentry.hints.SubmissionResult;
+import io.sentry.util.Objects;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.net.SocketFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.TestOnly;
+
+/**
+ * {@link ITransport} implementation that hands envelopes to a relay running next to the
+ * application, for example a sidecar that forwards them to Sentry. Envelopes are written to a
+ * connection that is kept open, there is no response to wait for and the relay takes care of
+ * batching and retries.
+ *
+ * <p>Every envelope is written as a frame: its size in bytes as a 4 byte big-endian integer,
+ * followed by the envelope as it would be sent to the envelope endpoint, uncompressed.
+ *
+ * <p>The connection is made by a {@link SocketFactory}, the default one connects over TCP, usually
+ * to the loopback interface. A factory of a Unix domain socket library can be given to connect to
+ * a socket file instead.
+ */
+public final class RelayTransport implements ITransport {
+
+  /** the time to wait before connecting again, after connecting to the relay failed */
+  private static final long RECONNECT_DELAY_MILLIS = 1000;
+
+  private final @NotNull SentryOptions options;
+  private final @NotNull SocketFactory socketFactory;
+  private final @NotNull String host;
+  private final int port;
+  private final @NotNull ICurrentDateProvider currentDateProvider;
+  private final @NotNull ThreadPoolExecutor executor;
+  private final @NotNull ReusableCountLatch currentlyRunning = new ReusableCountLatch();
+
+  // the fields below are only accessed by the writer thread
+  private final @NotNull FrameBuffer frame = new FrameBuffer();
+  private @Nullable Socket socket;
+  private @Nullable OutputStream outputStream;
+  private long reconnectAfterMillis;
+
+  public RelayTransport(
+      final @NotNull SentryOptions options,
+      final @NotNull SocketFactory socketFactory,
+      final @NotNull String host,
+      final int port) {
+    this(options, socketFactory, host, port, CurrentDateProvider.getInstance());
+  }
+
+  @TestOnly
+  RelayTransport(
+      final @NotNull SentryOptions options,
+      final @NotNull SocketFactory socketFactory,
+      final @NotNull String host,
+      final int port,
+      final @NotNull ICurrentDateProvider currentDateProvider) {
+    this.options = Objects.requireNonNull(options, "options is required");
+    this.socketFactory = Objects.requireNonNull(socketFactory, "socketFactory is required");
+    this.host = Objects.requireNonNull(host, "host is required");
+    this.port = port;
+    this.currentDateProvider =
+        Objects.requireNonNull(currentDateProvider, "currentDateProvider is required");
+
+    final RejectedExecutionHandler dropEnvelopes =
+        (r, e) -> {
+          if (r instanceof EnvelopeWriter) {
+            markHintWhenSendingFailed(((EnvelopeWriter) r).hint);
+            options.getLogger().log(SentryLevel.WARNING, "Envelope rejected");
+            currentlyRunning.decrement();
+          }
+        };
+    this.executor =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(options.getMaxQueueSize()),
+            new RelayWriterThreadFactory(),
+            dropEnvelopes);
+  }
+
+  @Override
+  public void send(final @NotNull SentryEnvelope envelope, final @Nullable Object hint)
+      throws IOException {
+    currentlyRunning.increment();
+    executor.execute(new EnvelopeWriter(envelope, hint));
+  }
+
+  @Override
+  public void flush(final long timeoutMillis) {
+    try {
+      if (!currentlyRunning.waitTillZero(timeoutMillis, TimeUnit.MILLISECONDS)) {
+        options
+            .getLogger()
+            .log(SentryLevel.WARNING, "Failed to flush all events within %s ms", timeoutMillis);
+      }
+    } catch (InterruptedException e) {
+      options.getLogger().log(SentryLevel.ERROR, "Failed to flush events", e);
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    options.getLogger().log(SentryLevel.DEBUG, "Shutting down");
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(options.getShutdownTimeout(), TimeUnit.MILLISECONDS)) {
+        options
+            .getLogger()
+            .log(
+                SentryLevel.WARNING,
+                "Failed to write all envelopes to the relay within %s ms.",
+                options.getShutdownTimeout());
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      options
+          .getLogger()
+          .log(SentryLevel.DEBUG, "Thread interrupted while closing the connection.");
+      Thread.currentThread().interrupt();
+    }
+    // also unblocks a writer that is stuck because the relay stopped reading
+    disconnect();
+  }
+
+  /**
+   * Writes the envelope to the relay, connecting to it first if needed
+   *
+   * @param envelope the envelope
+   * @return true if the envelope was written
+   */
+  private boolean write(final @NotNull SentryEnvelope envelope) {
+    try {
+      frame.reset();
+      options.getSerializer().serialize(envelope, frame);
+    } catch (Exception e) {
+      options.getLogger().log(SentryLevel.ERROR, e, "Failed to serialize the envelope.");
+      return false;
+    }
+
+    final OutputStream outputStream = connect();
+    if (outputStream == null) {
+      return false;
+    }
+    try {
+      frame.writeFrameTo(outputStream);
+      return true;
+    } catch (IOException e) {
+      options
+          .getLogger()
+          .log(SentryLevel.ERROR, e, "Failed to write the envelope to the relay, reconnecting.");
+      disconnect();
+      return false;
+    }
+  }
+
+  private @Nullable OutputStream connect() {
+    if (outputStream != null) {
+      return outputStream;
+    }
+    final long now = currentDateProvider.getCurrentTimeMillis();
+    if (now < reconnectAfterMillis) {
+      options
+          .getLogger()
+          .log(SentryLevel.DEBUG, "Relay is unreachable, dropping the envelope.");
+      return null;
+    }
+    try {
+      final Socket socket = socketFactory.createSocket(host, port);
+      try {
+        socket.setTcpNoDelay(true);
+      } catch (SocketException e) {
+        // sockets that aren't TCP sockets don't buffer small writes anyway
+      }
+      this.socket = socket;
+      this.outputStream = socket.getOutputStream();
+      options.getLogger().log(SentryLevel.DEBUG, "Connected to the relay at %s:%d.", host, port);
+      return outputStream;
+    } catch (IOException e) {
+      options
+          .getLogger()
+          .log(SentryLevel.ERROR, e, "Failed to connect to the relay at %s:%d.", host, port);
+      reconnectAfterMillis = now + RECONNECT_DELAY_MILLIS;
+      disconnect();
+      return null;
+    }
+  }
+
+  private void disconnect() {
+    final Socket socket = this.socket;
+    this.socket = null;
+    this.outputStream = null;
+    if (socket != null) {
+      try {
+        socket.close();
+      } catch (IOException e) {
+        options.getLogger().log(SentryLevel.DEBUG, "Failed to close the relay connection.");
+      }
+    }
+  }
+
+  private static void markHintWhenSendingFailed(final @Nullable Object hint) {
+    if (hint instanceof SubmissionResult) {
+      ((SubmissionResult) hint).setResult(false);
+    }
+    if (hint instanceof Retryable) {
+      ((Retryable) hint).setRetry(true);
+    }
+  }
+
+  /**
+   * A buffer that keeps 4 bytes in front of what is written to it, so the frame is written with a
+   * single call once its size is known.
+   */
+  private static final class FrameBuffer extends ByteArrayOutputStream {
+    private static final int HEADER_SIZE = 4;
+    private static final int INITIAL_SIZE = 8192;
+
+    /** buffers that grew bigger than this are not kept around for the next envelope */
+    private static final int MAX_RETAINED_SIZE = 1024 * 1024;
+
+    FrameBuffer() {
+      super(INITIAL_SIZE);
+      count = HEADER_SIZE;
+    }
+
+    @Override
+    public synchronized void reset() {
+      if (buf.length > MAX_RETAINED_SIZE) {
+        buf = new byte[INITIAL_SIZE];
+      }
+      count = HEADER_SIZE;
+    }
+
+    synchronized void writeFrameTo(final @NotNull OutputStream outputStream) throws IOException {
+      final int size = count - HEADER_SIZE;
+      buf[0] = (byte) (size >>> 24);
+      buf[1] = (byte) (size >>> 16);
+      buf[2] = (byte) (size >>> 8);
+      buf[3] = (byte) size;
+      outputStream.write(buf, 0, count);
+      outputStream.flush();
+    }
+  }
+
+  private static final class RelayWriterThreadFactory implements ThreadFactory {
+    private int cnt;
+
+    @Override
+    public @NotNull Thread newThread(final @NotNull Runnable r) {
+      final Thread ret = new Thread(r, "SentryRelayWriter-" + cnt++);
+      ret.setDaemon(true);
+      return ret;
+    }
+  }
+
+  private final class EnvelopeWriter implements Runnable {
+    private final @NotNull SentryEnvelope envelope;
+    private final @Nullable Object hint;
+
+    EnvelopeWriter(final @NotNull SentryEnvelope envelope, final @Nullable Object hint) {
+      this.envelope = Objects.requireNonNull(envelope, "Envelope is required.");
+      this.hint = hint;
+    }
+
+    @Override
+    public void run() {
+      try {
+        final boolean written = write(envelope);
+        if (written) {
+          options.getLogger().log(SentryLevel.DEBUG, "Envelope written to the relay.");
+          if (hint instanceof SubmissionResult) {
+            ((SubmissionResult) hint).setResult(true);
+          }
+        } else {
+          markHintWhenSendingFailed(hint);
+        }
+        if (hint instanceof DiskFlushNotification) {
+          ((DiskFlushNotification) hint).markFlushed();
+        }
+      } finally {
+        currentlyRunning.decrement();
+      }
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package io.sentry.transport;
+
+import io.sentry.ILogger;
+import io.sentry.ITransportFactory;
+import io.sentry.NoOpLogger;
+import io.sentry.RequestDetails;
+import io.sentry.SentryLevel;
+import io.sentry.SentryOptions;
+import io.sentry.util.Objects;
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Creates {@link AsyncHttpTransport}s that send their envelopes with one pool of threads, for
+ * applications that create many hubs with different DSNs, for example one per tenant. Every
+ * transport still has its own envelope cache and its own max queue size, the state of rate limits
+ * is shared by the transports of the same DSN.
+ *
+ * <p>Connections are kept open after a request, so the next envelope to the same host reuses them,
+ * at most one connection per thread of the pool is in use at a time.
+ *
+ * <p>The factory is set on the options of every hub, {@link #close()} stops the pool once all hubs
+ * are closed.
+ */
+public final class SharedAsyncHttpTransportFactory implements ITransportFactory, Closeable {
+  private static final int DEFAULT_THREADS = 4;
+  private static final int DEFAULT_MAX_QUEUE_SIZE = 1000;
+
+  private final @NotNull QueuedThreadPoolExecutor executor;
+  private final @NotNull ILogger logger;
+  private final @NotNull Map<String, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+  /** Creates a factory with 4 threads, that queues at most 1000 envelopes of each kind. */
+  public SharedAsyncHttpTransportFactory() {
+    this(DEFAULT_THREADS, DEFAULT_MAX_QUEUE_SIZE, NoOpLogger.getInstance());
+  }
+
+  /**
+   * Creates a factory.
+   *
+   * @param threads the number of threads that send envelopes
+   * @param maxQueueSize the max number of queued envelopes of each kind, of all DSNs together
+   * @param logger the logger of the pool, transports log with the logger of their options
+   */
+  public SharedAsyncHttpTransportFactory(
+      final int threads, final int maxQueueSize, final @NotNull ILogger logger) {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("threads must be greater than 0");
+    }
+    this.logger = Objects.requireNonNull(logger, "logger is required");
+
+    final RejectedExecutionHandler dropEnvelopes =
+        (r, e) -> {
+          // the transport that submitted the envelope sees the cancelled future
+          if (r instanceof Future) {
+            ((Future<?>) r).cancel(false);
+          }
+          logger.log(SentryLevel.WARNING, "Envelope rejected");
+        };
+    this.executor =
+        new QueuedThreadPoolExecutor(
+            threads, maxQueueSize, new SharedConnectionThreadFactory(), dropEnvelopes, logger);
+  }
+
+  @Override
+  public @NotNull ITransport create(
+      final @NotNull SentryOptions options, final @NotNull RequestDetails requestDetails) {
+    Objects.requireNonNull(options, "options is required");
+    Objects.requireNonNull(requestDetails, "requestDetails is required");
+
+    final RateLimiter rateLimiter = getRateLimiter(options, requestDetails);
+    return new AsyncHttpTransport(
+        executor,
+        options,
+        rateLimiter,
+        options.getTransportGate(),
+        new HttpConnection(options, requestDetails, rateLimiter, true),
+        new ReusableCountLatch());
+  }
+
+  /**
+   * Returns the rate limiter of the DSN, identified by the URL of the project and the auth header
+   * that contains its public key
+   */
+  private @NotNull RateLimiter getRateLimiter(
+      final @NotNull SentryOptions options, final @NotNull RequestDetails requestDetails) {
+    final String key =
+        requestDetails.getUrl() + " " + requestDetails.getHeaders().get("X-Sentry-Auth");
+    final RateLimiter rateLimiter = rateLimiters.get(key);
+    if (rateLimiter != null) {
+      return rateLimiter;
+    }
+    final RateLimiter newRateLimiter = new RateLimiter(options.getLogger());
+    final RateLimiter previous = rateLimiters.putIfAbsent(key, newRateLimiter);
+    return previous != null ? previous : newRateLimiter;
+  }
+
+  /** Stops the threads once the envelopes that are queued are sent, or the timeout expired. */
+  @Override
+  public void close() {
+    executor.shutdown();
+    logger.log(SentryLevel.DEBUG, "Shutting down");
+    try {
+      if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+        logger.log(
+            SentryLevel.WARNING,
+            "Failed to shutdown the shared sender within 1 minute. Trying to force it now.");
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      logger.log(SentryLevel.DEBUG, "Thread interrupted while shutting down the shared sender.");
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static final class SharedConnectionThreadFactory implements ThreadFactory {
+    private final @NotNull AtomicInteger cnt = new AtomicInteger();
+
+    @Override
+    public @NotNull Thread newThread(final @NotNull Runnable r) {
+      final Thread ret = new Thread(r, "SentrySharedConnection-" + cnt.getAndIncrement());
+      ret.setDaemon(true);
+      return ret;
+    }
+  }
+}
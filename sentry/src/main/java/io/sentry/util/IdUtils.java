@@ -0,0 +1,115 @@
+package io.sentry.util;
+
+import java.security.SecureRandom;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Generates and encodes the random IDs of events, traces and spans. IDs don't need cryptographic
+ * randomness, so each thread uses its own generator instead of contending on the shared {@link
+ * SecureRandom} behind {@link java.util.UUID#randomUUID()}. The generator of a thread is seeded
+ * once from {@link SecureRandom}.
+ */
+@ApiStatus.Internal
+public final class IdUtils {
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private static final ThreadLocal<SplitMix64> RANDOM =
+      new ThreadLocal<SplitMix64>() {
+        @Override
+        protected SplitMix64 initialValue() {
+          return new SplitMix64(SeedHolder.SEED_RANDOM.nextLong());
+        }
+      };
+
+  private IdUtils() {}
+
+  /**
+   * Returns a random long from the random of the calling thread
+   *
+   * @return the random long
+   */
+  public static long randomLong() {
+    return RANDOM.get().nextLong();
+  }
+
+  /**
+   * Returns the 16 lowercase hex digits of the given value
+   *
+   * @param value the value
+   * @return the hex string
+   */
+  public static @NotNull String toHex(final long value) {
+    final char[] chars = new char[16];
+    writeHex(value, chars, 0);
+    return new String(chars);
+  }
+
+  /**
+   * Returns the 32 lowercase hex digits of the given values, most significant first
+   *
+   * @param mostSigBits the most significant bits
+   * @param leastSigBits the least significant bits
+   * @return the hex string
+   */
+  public static @NotNull String toHex(final long mostSigBits, final long leastSigBits) {
+    final char[] chars = new char[32];
+    writeHex(mostSigBits, chars, 0);
+    writeHex(leastSigBits, chars, 16);
+    return new String(chars);
+  }
+
+  private static void writeHex(long value, final @NotNull char[] chars, final int offset) {
+    for (int i = offset + 15; i >= offset; i--) {
+      chars[i] = HEX_DIGITS[(int) (value & 0xF)];
+      value >>>= 4;
+    }
+  }
+
+  /**
+   * Parses 16 hex digits starting at the given index
+   *
+   * @param value the string to parse
+   * @param start the index of the first digit
+   * @return the parsed long
+   * @throws IllegalArgumentException if the string has a char that isn't a hex digit
+   */
+  public static long parseHex(final @NotNull String value, final int start) {
+    long result = 0;
+    for (int i = start; i < start + 16; i++) {
+      final int digit = Character.digit(value.charAt(i), 16);
+      if (digit < 0) {
+        throw new IllegalArgumentException("Invalid hex digit in: " + value);
+      }
+      result = (result << 4) | digit;
+    }
+    return result;
+  }
+
+  /** Creates the {@link SecureRandom} that seeds the generators on first use. */
+  private static final class SeedHolder {
+    static final @NotNull SecureRandom SEED_RANDOM = new SecureRandom();
+  }
+
+  /**
+   * The SplitMix64 generator, which {@link java.util.SplittableRandom} uses as well. Unlike {@link
+   * java.util.Random} its state has the full 64 bits, and SplittableRandom itself requires Android
+   * API 24. Instances are confined to a thread.
+   */
+  private static final class SplitMix64 {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long seed;
+
+    SplitMix64(final long seed) {
+      this.seed = seed;
+    }
+
+    long nextLong() {
+      long z = (seed += GOLDEN_GAMMA);
+      z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+      z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+      return z ^ (z >>> 31);
+    }
+  }
+}
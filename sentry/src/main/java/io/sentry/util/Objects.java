@@ -12,4 +12,8 @@ public final class Objects {
     if (obj == null) throw new IllegalArgumentException(message);
     return obj;
   }
+
+  public static boolean equals(final @Nullable Object a, final @Nullable Object b) {
+    return (a == b) || (a != null && a.equals(b));
+  }
 }
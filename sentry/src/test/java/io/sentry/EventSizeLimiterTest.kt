@@ -0,0 +1,196 @@
+package io.sentry
+
+import io.sentry.protocol.App
+import io.sentry.protocol.DebugImage
+import io.sentry.protocol.DebugMeta
+import io.sentry.protocol.Device
+import io.sentry.protocol.OperatingSystem
+import io.sentry.protocol.Request
+import io.sentry.protocol.SdkVersion
+import io.sentry.protocol.SentryException
+import io.sentry.protocol.SentryStackFrame
+import io.sentry.protocol.SentryStackTrace
+import java.io.StringWriter
+import java.util.Date
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertNotNull
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+class EventSizeLimiterTest {
+
+    private class Fixture {
+        val options = SentryOptions().apply {
+            setSerializer(GsonSerializer(this))
+        }
+
+        fun getSut(maxEventSize: Long = 0): EventSizeLimiter {
+            options.maxEventSize = maxEventSize
+            return EventSizeLimiter(options)
+        }
+    }
+
+    private val fixture = Fixture()
+
+    @Test
+    fun `does not trim events if maxEventSize is not set`() {
+        val event = eventWith(frames = 1000, breadcrumbs = 1000)
+
+        fixture.getSut().trim(event)
+
+        assertEquals(1000, event.exceptions!!.first().stacktrace!!.frames!!.size)
+        assertEquals(1000, event.breadcrumbs!!.size)
+    }
+
+    @Test
+    fun `does not trim events that fit`() {
+        val event = eventWith(frames = 50, breadcrumbs = 50)
+
+        fixture.getSut(EventSizeLimiter.estimate(event)).trim(event)
+
+        assertEquals(50, event.exceptions!!.first().stacktrace!!.frames!!.size)
+        assertEquals(50, event.breadcrumbs!!.size)
+    }
+
+    @Test
+    fun `trims frames in the middle of deep stack traces first`() {
+        val event = eventWith(frames = 1000, breadcrumbs = 10)
+        val frames = event.exceptions!!.first().stacktrace!!.frames!!.toList()
+        val maxEventSize = EventSizeLimiter.estimate(event) / 2
+
+        fixture.getSut(maxEventSize).trim(event)
+
+        val trimmedFrames = event.exceptions!!.first().stacktrace!!.frames!!
+        assertTrue(trimmedFrames.size < 1000)
+        assertTrue(trimmedFrames.size > 20)
+        assertEquals(frames.first(), trimmedFrames.first())
+        assertEquals(frames.last(), trimmedFrames.last())
+        assertEquals(10, event.breadcrumbs!!.size)
+        assertTrue(EventSizeLimiter.estimate(event) <= maxEventSize)
+    }
+
+    @Test
+    fun `keeps frames at both ends of stack traces and trims the oldest breadcrumbs`() {
+        val event = eventWith(frames = 100, breadcrumbs = 1000)
+        val newestBreadcrumb = event.breadcrumbs!!.last()
+        val maxEventSize = EventSizeLimiter.estimate(event) / 2
+
+        fixture.getSut(maxEventSize).trim(event)
+
+        assertEquals(20, event.exceptions!!.first().stacktrace!!.frames!!.size)
+        assertTrue(event.breadcrumbs!!.size < 1000)
+        assertEquals(newestBreadcrumb, event.breadcrumbs!!.last())
+        assertEquals("value", event.getExtra("small"))
+        assertTrue(EventSizeLimiter.estimate(event) <= maxEventSize)
+    }
+
+    @Test
+    fun `trims the largest extra values last`() {
+        val event = eventWith(frames = 0, breadcrumbs = 10).apply {
+            setExtra("large", "x".repeat(10000))
+            setExtra("larger", "x".repeat(20000))
+        }
+
+        fixture.getSut(15000).trim(event)
+
+        assertEquals(0, event.breadcrumbs!!.size)
+        assertNull(event.getExtra("larger"))
+        assertNotNull(event.getExtra("large"))
+        assertEquals("value", event.getExtra("small"))
+    }
+
+    @Test
+    fun `estimates the serialized size of an event`() {
+        val event = eventWith(frames = 200, breadcrumbs = 200)
+        val writer = StringWriter()
+        fixture.options.serializer.serialize(event, writer)
+        val serializedSize = writer.toString().length
+
+        val estimatedSize = EventSizeLimiter.estimate(event)
+
+        assertTrue(estimatedSize > serializedSize * 0.75)
+        assertTrue(estimatedSize < serializedSize * 1.5)
+    }
+
+    @Test
+    fun `estimates contexts, request data, modules, debug meta and sdk by their fields`() {
+        val event = SentryEvent().apply {
+            contexts.setApp(App().apply {
+                appIdentifier = "io.sentry.sample"
+                appName = "Sample"
+                appVersion = "1.0.0"
+                appBuild = "100"
+                appStartTime = Date()
+                deviceAppHash = "8f2b4b539cd33c2e"
+                buildType = "release"
+            })
+            contexts.setDevice(Device().apply {
+                name = "Pixel"
+                manufacturer = "Google"
+                brand = "google"
+                model = "Pixel 5"
+                modelId = "RQ3A.210805.001.A1"
+                archs = arrayOf("arm64-v8a", "armeabi-v7a", "armeabi")
+                memorySize = 7_800_000_000
+                freeMemory = 2_000_000_000
+                screenDensity = 2.75f
+                bootTime = Date()
+            })
+            contexts.setOperatingSystem(OperatingSystem().apply {
+                name = "Android"
+                version = "11"
+                kernelVersion = "4.19.113-g4f4f2b8e3a5c"
+                build = "RQ3A.210805.001.A1"
+            })
+            request = Request().apply {
+                url = "https://sentry.io/api/0/projects/"
+                method = "POST"
+                data = mapOf("items" to (0 until 50).map { mapOf("id" to it, "name" to "item $it") })
+            }
+            modules = (0 until 50).associate { "io.sentry:module-$it" to "5.0.$it" }
+            debugMeta = DebugMeta().apply {
+                images = (0 until 20).map {
+                    DebugImage().apply {
+                        uuid = "$it-8f2b-4b53-9cd3-3c2e0e0c3b6a"
+                        type = "proguard"
+                    }
+                }
+            }
+            sdk = SdkVersion("sentry.java", "5.0.0").apply {
+                addPackage("maven:io.sentry:sentry", "5.0.0")
+                addIntegration("UncaughtExceptionHandler")
+            }
+        }
+        val writer = StringWriter()
+        fixture.options.serializer.serialize(event, writer)
+        val serializedSize = writer.toString().length
+
+        val estimatedSize = EventSizeLimiter.estimate(event)
+
+        assertTrue(estimatedSize > serializedSize * 0.75)
+        assertTrue(estimatedSize < serializedSize * 1.5)
+    }
+
+    private fun eventWith(frames: Int, breadcrumbs: Int) = SentryEvent().apply {
+        exceptions = listOf(SentryException().apply {
+            type = "StackOverflowError"
+            value = "recursion"
+            stacktrace = SentryStackTrace((0 until frames).map {
+                SentryStackFrame().apply {
+                    module = "io.sentry.Recursion"
+                    function = "recurse$it"
+                    filename = "Recursion.java"
+                    lineno = it
+                }
+            })
+        })
+        this.breadcrumbs = (0 until breadcrumbs).map {
+            Breadcrumb(Date(it.toLong())).apply {
+                message = "breadcrumb $it"
+                category = "test"
+            }
+        }
+        setExtra("small", "value")
+    }
+}
@@ -3,6 +3,7 @@ package io.sentry
 import com.google.gson.JsonObject
 import com.google.gson.JsonParser
 import com.google.gson.JsonPrimitive
+import com.google.gson.JsonSyntaxException
 import com.nhaarman.mockitokotlin2.any
 import com.nhaarman.mockitokotlin2.check
 import com.nhaarman.mockitokotlin2.eq
@@ -14,10 +15,12 @@ import io.sentry.protocol.Device
 import io.sentry.protocol.SdkVersion
 import io.sentry.protocol.SentryId
 import io.sentry.protocol.SentrySpan
+import io.sentry.protocol.SentryStackFrame
 import io.sentry.protocol.SentryTransaction
 import java.io.BufferedWriter
 import java.io.ByteArrayInputStream
 import java.io.ByteArrayOutputStream
+import java.io.File
 import java.io.IOException
 import java.io.InputStream
 import java.io.InputStreamReader
@@ -30,6 +33,7 @@ import java.util.UUID
 import kotlin.test.BeforeTest
 import kotlin.test.Test
 import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
 import kotlin.test.assertFalse
 import kotlin.test.assertNotNull
 import kotlin.test.assertNull
@@ -163,6 +167,37 @@ class GsonSerializerTest {
         assertEquals(true, (actual.unknown!!["boolean"] as JsonPrimitive).asBoolean)
     }
 
+    @Test
+    fun `when deserializing known and unknown properties, only unknown ones are added to unknown field`() {
+        val jsonEvent = "{\"level\":\"error\",\"string\":\"test\",\"tags\":{\"key\":\"value\"}}"
+
+        val actual = fixture.serializer.deserialize(StringReader(jsonEvent), SentryEvent::class.java)
+
+        assertEquals(SentryLevel.ERROR, actual!!.level)
+        assertEquals("value", actual.getTag("key"))
+        assertEquals(setOf("string"), actual.unknown!!.keys)
+    }
+
+    @Test
+    fun `when deserializing a stack frame, properties with serialized names are known`() {
+        val jsonFrame = "{\"package\":\"io.sentry\",\"native\":true,\"lineno\":3}"
+
+        val actual = fixture.serializer.deserialize(StringReader(jsonFrame), SentryStackFrame::class.java)
+
+        assertEquals("io.sentry", actual!!.`package`)
+        assertEquals(true, actual.isNative)
+        assertEquals(3, actual.lineno)
+    }
+
+    @Test
+    fun `when deserializing a known property of the wrong type, it throws a JsonSyntaxException`() {
+        val jsonFrame = "{\"lineno\":{\"line\":3},\"string\":\"test\"}"
+
+        assertFailsWith<JsonSyntaxException> {
+            fixture.serializer.deserialize(StringReader(jsonFrame), SentryStackFrame::class.java)
+        }
+    }
+
     @Test
     fun `when deserializing unknown properties with nested objects, it should be added to unknown field`() {
         val sentryEvent = generateEmptySentryEvent()
@@ -619,6 +654,89 @@ class GsonSerializerTest {
                     any<SentryEnvelopeException>())
     }
 
+    @Test
+    fun `serialize envelope with attachment streamed from file`() {
+        val eventID = SentryId()
+        val header = SentryEnvelopeHeader(eventID)
+
+        val message = "hello from disk"
+        val file = File.createTempFile("sentry-attachment", ".txt")
+        try {
+            file.writeText(message)
+            val attachment = Attachment(file.path, "file.txt")
+            val item = SentryEnvelopeItem.fromAttachment(attachment, 1024)
+            val envelope = SentryEnvelope(header, listOf(item))
+
+            val actualJson = serializeToString(envelope)
+
+            val expectedJson = "{\"event_id\":\"${eventID}\"}\n" +
+                    "{\"content_type\":\"${attachment.contentType}\"," +
+                    "\"filename\":\"${attachment.filename}\"," +
+                    "\"type\":\"attachment\"," +
+                    "\"attachment_type\":\"event.attachment\"," +
+                    "\"length\":${message.length}}\n" +
+                    "$message\n"
+
+            assertEquals(expectedJson, actualJson)
+            assertTrue(item.isStreamed)
+        } finally {
+            file.delete()
+        }
+    }
+
+    @Test
+    fun `serialize envelope with attachment truncated after its length was resolved pads the payload`() {
+        val eventID = SentryId()
+        val header = SentryEnvelopeHeader(eventID)
+
+        val message = "hello from disk"
+        val file = File.createTempFile("sentry-attachment", ".txt")
+        try {
+            file.writeText(message)
+            val attachment = Attachment(file.path, "file.txt")
+            val item = SentryEnvelopeItem.fromAttachment(attachment, 1024)
+            val bytesAttachment = Attachment("bytes".toByteArray(), "bytes.txt")
+            val bytesItem = SentryEnvelopeItem.fromAttachment(bytesAttachment, 1024)
+            val envelope = SentryEnvelope(header, listOf(item, bytesItem))
+            item.dataLength
+            file.writeText("hello")
+
+            val actualJson = serializeToString(envelope)
+
+            val expectedJson = "{\"event_id\":\"${eventID}\"}\n" +
+                    "{\"content_type\":\"${attachment.contentType}\"," +
+                    "\"filename\":\"${attachment.filename}\"," +
+                    "\"type\":\"attachment\"," +
+                    "\"attachment_type\":\"event.attachment\"," +
+                    "\"length\":${message.length}}\n" +
+                    "hello" + "\u0000".repeat(message.length - 5) + "\n" +
+                    "{\"content_type\":\"${bytesAttachment.contentType}\"," +
+                    "\"filename\":\"bytes.txt\"," +
+                    "\"type\":\"attachment\"," +
+                    "\"attachment_type\":\"event.attachment\"," +
+                    "\"length\":5}\n" +
+                    "bytes\n"
+
+            assertEquals(expectedJson, actualJson)
+        } finally {
+            file.delete()
+        }
+    }
+
+    @Test
+    fun `serialize envelope with attachment deleted after its length was resolved fails the envelope`() {
+        val file = File.createTempFile("sentry-attachment", ".txt")
+        file.writeText("hello from disk")
+        val item = SentryEnvelopeItem.fromAttachment(Attachment(file.path, "file.txt"), 1024)
+        val envelope = SentryEnvelope(SentryEnvelopeHeader(SentryId()), listOf(item))
+        item.dataLength
+        file.delete()
+
+        assertFailsWith<SentryEnvelopeException> {
+            fixture.serializer.serialize(envelope, ByteArrayOutputStream())
+        }
+    }
+
     @Test
     fun `empty maps are serialized to null`() {
         val event = SentryEvent()
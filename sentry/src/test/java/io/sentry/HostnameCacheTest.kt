@@ -0,0 +1,141 @@
+package io.sentry
+
+import java.net.InetAddress
+import java.util.concurrent.CopyOnWriteArraySet
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Future
+import java.util.concurrent.FutureTask
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+class HostnameCacheTest {
+
+    class InlineExecutorService : ISentryExecutorService {
+        val submitted = AtomicInteger()
+
+        override fun submit(runnable: Runnable): Future<*> {
+            submitted.incrementAndGet()
+            return FutureTask(runnable, null).apply { run() }
+        }
+
+        override fun schedule(runnable: Runnable, delayMillis: Long): Future<*> = FutureTask(runnable, null)
+
+        override fun close(timeoutMillis: Long) {}
+    }
+
+    class CancellingExecutorService : ISentryExecutorService {
+        val submitted = AtomicInteger()
+
+        override fun submit(runnable: Runnable): Future<*> {
+            submitted.incrementAndGet()
+            return FutureTask(runnable, null).apply { cancel(false) }
+        }
+
+        override fun schedule(runnable: Runnable, delayMillis: Long): Future<*> = FutureTask(runnable, null)
+
+        override fun close(timeoutMillis: Long) {}
+    }
+
+    @Test
+    fun `waits for the first lookup instead of returning no hostname`() {
+        val sut = HostnameCache(TimeUnit.HOURS.toMillis(1)) { InetAddress.getLoopbackAddress() }
+        val executor = InlineExecutorService()
+
+        assertEquals(InetAddress.getLoopbackAddress().canonicalHostName, sut.getHostname(executor))
+        sut.getHostname(executor)
+
+        assertEquals(0, executor.submitted.get())
+    }
+
+    @Test
+    fun `refreshes the hostname on the executor once it expires`() {
+        val lookups = AtomicInteger()
+        val sut = HostnameCache(0) {
+            lookups.incrementAndGet()
+            InetAddress.getLoopbackAddress()
+        }
+        val executor = InlineExecutorService()
+
+        sut.getHostname(executor)
+        Thread.sleep(10)
+        sut.getHostname(executor)
+
+        assertEquals(2, executor.submitted.get())
+        assertEquals(3, lookups.get())
+    }
+
+    @Test
+    fun `runs the lookups on one reused thread`() {
+        val threads = CopyOnWriteArraySet<Thread>()
+        val sut = HostnameCache(0) {
+            threads.add(Thread.currentThread())
+            InetAddress.getLoopbackAddress()
+        }
+        val executor = InlineExecutorService()
+
+        sut.getHostname(executor)
+        Thread.sleep(10)
+        sut.getHostname(executor)
+
+        assertEquals("SentryHostnameLookup", threads.single().name)
+    }
+
+    @Test
+    fun `schedules the update again when the executor cancelled it`() {
+        val sut = HostnameCache(TimeUnit.HOURS.toMillis(1)) { InetAddress.getLoopbackAddress() }
+        val executor = CancellingExecutorService()
+
+        sut.refreshIfNeeded(executor)
+        sut.refreshIfNeeded(executor)
+
+        assertEquals(2, executor.submitted.get())
+    }
+
+    @Test
+    fun `schedules the update again when the executor threw`() {
+        val sut = HostnameCache(TimeUnit.HOURS.toMillis(1)) { InetAddress.getLoopbackAddress() }
+        val executor = object : ISentryExecutorService {
+            val submitted = AtomicInteger()
+            override fun submit(runnable: Runnable): Future<*> {
+                submitted.incrementAndGet()
+                throw IllegalStateException("shut down")
+            }
+            override fun schedule(runnable: Runnable, delayMillis: Long): Future<*> = throw IllegalStateException("shut down")
+            override fun close(timeoutMillis: Long) {}
+        }
+
+        sut.refreshIfNeeded(executor)
+        sut.refreshIfNeeded(executor)
+
+        assertEquals(2, executor.submitted.get())
+    }
+
+    @Test
+    fun `a hanging lookup is waited for once and is reused by the next update`() {
+        val release = CountDownLatch(1)
+        val lookups = AtomicInteger()
+        val sut = HostnameCache(TimeUnit.HOURS.toMillis(1)) {
+            lookups.incrementAndGet()
+            release.await()
+            InetAddress.getLoopbackAddress()
+        }
+        val executor = CancellingExecutorService()
+
+        val start = System.currentTimeMillis()
+        assertNull(sut.getHostname(executor))
+        assertTrue(System.currentTimeMillis() - start < 5000)
+        val secondStart = System.currentTimeMillis()
+        assertNull(sut.getHostname(executor))
+        assertTrue(System.currentTimeMillis() - secondStart < 500)
+
+        release.countDown()
+        Thread.sleep(100)
+
+        assertEquals(InetAddress.getLoopbackAddress().canonicalHostName, sut.getHostname(InlineExecutorService()))
+        assertEquals(1, lookups.get())
+    }
+}
@@ -1176,6 +1176,29 @@ class HubTest {
         val transaction = hub.startTransaction(TransactionContext("name", "op", true))
         assertTrue(transaction is NoOpTransaction)
     }
+
+    @Test
+    fun `when tracing is disabled, sampleTransaction returns false`() {
+        val hub = generateHub(Sentry.OptionsConfiguration {
+            it.tracesSampleRate = null
+        })
+        assertEquals(false, hub.sampleTransaction(true))
+    }
+
+    @Test
+    fun `when tracesSampler is set, sampleTransaction returns null`() {
+        val hub = generateHub(Sentry.OptionsConfiguration {
+            it.tracesSampler = SentryOptions.TracesSamplerCallback { 1.0 }
+        })
+        assertNull(hub.sampleTransaction(null))
+    }
+
+    @Test
+    fun `when hub is closed, sampleTransaction returns false`() {
+        val hub = generateHub()
+        hub.close()
+        assertEquals(false, hub.sampleTransaction(true))
+    }
     //endregion
 
     //region startTransaction tests
@@ -0,0 +1,47 @@
+package io.sentry
+
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+class LazyListTest {
+
+    @Test
+    fun `values are not created until the list is read`() {
+        var calls = 0
+        val list = LazyList<String> {
+            calls++
+            listOf("a", "b")
+        }
+
+        assertFalse(list.isCreated)
+        assertEquals(0, calls)
+
+        assertEquals(listOf("a", "b"), list.toList())
+        assertEquals(2, list.size)
+        assertTrue(list.isCreated)
+        assertEquals(1, calls)
+    }
+
+    @Test
+    fun `list can be modified`() {
+        val list = LazyList<String> { listOf("a") }
+
+        list.add("b")
+        list[0] = "c"
+        list.removeAt(1)
+
+        assertEquals(listOf("c"), list)
+    }
+
+    @Test
+    fun `SentryValues keeps lazy lists lazy`() {
+        val list = LazyList<String> { listOf("a") }
+
+        val values = SentryValues(list)
+
+        assertFalse(list.isCreated)
+        assertEquals(listOf("a"), values.values)
+    }
+}
@@ -305,9 +305,11 @@ class MainEventProcessorTest {
     @Test
     fun `sets servername retrieved from the local address`() {
         val processor = fixture.getSut(serverName = null, host = "aHost")
-        val event = SentryEvent()
-        processor.process(event, null)
-        assertEquals("aHost", event.serverName)
+        await.untilAsserted {
+            val event = SentryEvent()
+            processor.process(event, null)
+            assertEquals("aHost", event.serverName)
+        }
     }
 
     @Test
@@ -318,12 +320,22 @@ class MainEventProcessorTest {
         assertNull(event.serverName)
     }
 
+    @Test
+    fun `resolves servername in the background when the processor is created`() {
+        fixture.getSut(serverName = null, host = "aHost")
+        await.untilAsserted {
+            verify(fixture.getLocalhost).canonicalHostName
+        }
+    }
+
     @Test
     fun `uses cache to retrieve servername for subsequent events`() {
         val processor = fixture.getSut(serverName = null, host = "aHost", hostnameCacheDuration = 1000)
-        val firstEvent = SentryEvent()
-        processor.process(firstEvent, null)
-        assertEquals("aHost", firstEvent.serverName)
+        await.untilAsserted {
+            val firstEvent = SentryEvent()
+            processor.process(firstEvent, null)
+            assertEquals("aHost", firstEvent.serverName)
+        }
         val secondEvent = SentryEvent()
         processor.process(secondEvent, null)
         assertEquals("aHost", secondEvent.serverName)
@@ -333,9 +345,11 @@ class MainEventProcessorTest {
     @Test
     fun `when cache expires, retrieves new host name from the local address`() {
         val processor = fixture.getSut(serverName = null, host = "aHost")
-        val firstEvent = SentryEvent()
-        processor.process(firstEvent, null)
-        assertEquals("aHost", firstEvent.serverName)
+        await.untilAsserted {
+            val firstEvent = SentryEvent()
+            processor.process(firstEvent, null)
+            assertEquals("aHost", firstEvent.serverName)
+        }
 
         reset(fixture.getLocalhost)
         whenever(fixture.getLocalhost.canonicalHostName).thenReturn("newHost")
@@ -0,0 +1,56 @@
+package io.sentry
+
+import java.nio.ByteBuffer
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+class RequestBodyBufferTest {
+
+    @Test
+    fun `captures bytes up to the max size`() {
+        val sut = RequestBodyBuffer(5)
+        sut.write('h'.toInt())
+        sut.write("ello world".toByteArray(), 0, 10)
+        assertTrue(sut.isFull)
+        assertEquals("hello", sut.read(Charsets.UTF_8))
+    }
+
+    @Test
+    fun `captures remaining bytes of byte buffers`() {
+        val sut = RequestBodyBuffer(100)
+        val buffer = ByteBuffer.wrap("hello".toByteArray())
+        sut.write(buffer)
+        assertFalse(sut.isFull)
+        assertEquals(0, buffer.remaining())
+        assertEquals("hello", sut.read(Charsets.UTF_8))
+    }
+
+    @Test
+    fun `when nothing has been captured, read returns null`() {
+        assertNull(RequestBodyBuffer(5).read(Charsets.UTF_8))
+    }
+
+    @Test
+    fun `when released, nothing is captured anymore`() {
+        val sut = RequestBodyBuffer(5)
+        sut.write("hello".toByteArray(), 0, 5)
+        sut.release()
+        sut.write("hello".toByteArray(), 0, 5)
+        assertTrue(sut.isFull)
+        assertNull(sut.read(Charsets.UTF_8))
+    }
+
+    @Test
+    fun `released array is reused by the next buffer on the same thread`() {
+        val first = RequestBodyBuffer(5)
+        first.write("hello".toByteArray(), 0, 5)
+        first.release()
+
+        val second = RequestBodyBuffer(5)
+        second.write("abc".toByteArray(), 0, 3)
+        assertEquals("abc", second.read(Charsets.UTF_8))
+    }
+}
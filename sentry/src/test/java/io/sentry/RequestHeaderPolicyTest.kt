@@ -0,0 +1,112 @@
+package io.sentry
+
+import java.util.Collections
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNotSame
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+class RequestHeaderPolicyTest {
+    private class Fixture {
+        val options = SentryOptions()
+
+        fun getSut(): RequestHeaderPolicy = options.requestHeaderPolicy
+    }
+
+    private val fixture = Fixture()
+
+    @Test
+    fun `sensitive headers are not allowed, regardless of the case`() {
+        val sut = fixture.getSut()
+        assertFalse(sut.isAllowed("authorization"))
+        assertFalse(sut.isAllowed("X-FORWARDED-FOR"))
+        assertFalse(sut.isAllowed("Cookie"))
+        assertTrue(sut.isAllowed("Content-Type"))
+    }
+
+    @Test
+    fun `when sendDefaultPii is set, sensitive headers are allowed`() {
+        fixture.options.isSendDefaultPii = true
+        assertTrue(fixture.getSut().isAllowed("Authorization"))
+    }
+
+    @Test
+    fun `when includes are set, only included headers are allowed`() {
+        fixture.options.addRequestHeaderInclude("content-type")
+        val sut = fixture.getSut()
+        assertTrue(sut.isAllowed("Content-Type"))
+        assertFalse(sut.isAllowed("Accept"))
+    }
+
+    @Test
+    fun `excluded headers are not allowed`() {
+        fixture.options.addRequestHeaderExclude("X-Api-Key")
+        assertFalse(fixture.getSut().isAllowed("x-api-key"))
+    }
+
+    @Test
+    fun `policy is compiled once and recompiled when options change`() {
+        val sut = fixture.getSut()
+        assertSame(sut, fixture.getSut())
+        fixture.options.addRequestHeaderExclude("X-Api-Key")
+        assertNotSame(sut, fixture.getSut())
+    }
+
+    @Test
+    fun `collector joins multi-valued headers and skips not allowed ones`() {
+        val collector = fixture.getSut().newCollector()
+        collector.add("Accept", listOf("text/html", "application/json"))
+        collector.add("Cookie", Collections.enumeration(listOf("name=value")))
+        collector.add("Host", Collections.enumeration(listOf("sentry.io")))
+        assertEquals(mapOf("Accept" to "text/html,application/json", "Host" to "sentry.io"), collector.headers)
+    }
+
+    @Test
+    fun `collector truncates values`() {
+        fixture.options.maxRequestHeaderValueLength = 3
+        val collector = fixture.getSut().newCollector()
+        collector.add("Accept", listOf("text/html"))
+        assertEquals("tex", collector.headers["Accept"])
+    }
+
+    @Test
+    fun `collector skips a header that doesn't fit and adds smaller ones after it`() {
+        fixture.options.maxRequestHeadersSize = 10
+        val collector = fixture.getSut().newCollector()
+        collector.add("Host", listOf("abc"))
+        collector.add("Accept", listOf("text/html"))
+        collector.add("A", listOf("b"))
+        assertFalse(collector.isFull)
+        assertEquals(mapOf("Host" to "abc", "A" to "b"), collector.headers)
+    }
+
+    @Test
+    fun `collector stops once the max total size is taken entirely`() {
+        fixture.options.maxRequestHeadersSize = 9
+        val collector = fixture.getSut().newCollector()
+        collector.add("Host", listOf("abc"))
+        collector.add("A", listOf("b"))
+        assertTrue(collector.isFull)
+        assertFalse(collector.accepts("B"))
+        assertEquals(mapOf("Host" to "abc", "A" to "b"), collector.headers)
+    }
+
+    @Test
+    fun `collector excluding sensitive headers leaves them out even when sendDefaultPii is set`() {
+        fixture.options.isSendDefaultPii = true
+        val collector = fixture.getSut().newCollectorExcludingSensitiveHeaders()
+        assertFalse(collector.accepts("authorization"))
+        assertTrue(collector.accepts("Accept"))
+    }
+
+    @Test
+    fun `collector excluding sensitive headers follows the policy when header options are configured`() {
+        fixture.options.isSendDefaultPii = true
+        fixture.options.addRequestHeaderExclude("X-Api-Key")
+        val collector = fixture.getSut().newCollectorExcludingSensitiveHeaders()
+        assertTrue(collector.accepts("Authorization"))
+        assertFalse(collector.accepts("X-Api-Key"))
+    }
+}
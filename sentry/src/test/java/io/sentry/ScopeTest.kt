@@ -8,12 +8,14 @@ import com.nhaarman.mockitokotlin2.verify
 import io.sentry.protocol.Request
 import io.sentry.protocol.User
 import io.sentry.test.callMethod
+import io.sentry.test.getProperty
 import java.util.concurrent.CopyOnWriteArrayList
 import kotlin.test.Test
 import kotlin.test.assertEquals
 import kotlin.test.assertNotNull
 import kotlin.test.assertNotSame
 import kotlin.test.assertNull
+import kotlin.test.assertSame
 import kotlin.test.assertTrue
 import org.junit.Assert.assertArrayEquals
 
@@ -285,6 +287,101 @@ class ScopeTest {
         assertEquals(1, scope.breadcrumbs.count())
     }
 
+    @Test
+    fun `when breadcrumb compaction is enabled, repeated breadcrumbs are merged into the first one`() {
+        val scope = Scope(SentryOptions().apply { isEnableBreadcrumbCompaction = true })
+        val last = DateUtils.getDateTime("2020-03-27T08:52:58.015Z")
+
+        scope.addBreadcrumb(createBreadcrumb("retrying"))
+        scope.addBreadcrumb(createBreadcrumb("retrying"))
+        scope.addBreadcrumb(Breadcrumb(last).apply {
+            message = "retrying"
+            category = "http"
+            level = SentryLevel.WARNING
+        })
+
+        val breadcrumb = scope.breadcrumbs.single()
+        assertEquals(3, breadcrumb.getData("sentry:repeat_count"))
+        assertEquals("2020-03-27T08:52:58.015Z", breadcrumb.getData("sentry:last_timestamp"))
+    }
+
+    @Test
+    fun `when breadcrumb compaction is enabled, the added breadcrumb is copied once and the copy counts the repeats`() {
+        val scope = Scope(SentryOptions().apply { isEnableBreadcrumbCompaction = true })
+        val first = createBreadcrumb("retrying")
+
+        scope.addBreadcrumb(first)
+        scope.addBreadcrumb(createBreadcrumb("retrying"))
+        val copy = scope.getProperty<Breadcrumb>("lastBreadcrumb")
+        scope.addBreadcrumb(createBreadcrumb("retrying"))
+
+        assertNull(first.getData("sentry:repeat_count"))
+        assertNotSame(first, copy)
+        assertSame(copy, scope.breadcrumbs.single())
+        assertEquals(3, copy.getData("sentry:repeat_count"))
+    }
+
+    @Test
+    fun `when breadcrumb compaction is enabled, repeats after the breadcrumbs were handed out are counted on a new copy`() {
+        val scope = Scope(SentryOptions().apply { isEnableBreadcrumbCompaction = true })
+        scope.addBreadcrumb(createBreadcrumb("retrying"))
+        scope.addBreadcrumb(createBreadcrumb("retrying"))
+        val handedOut = scope.breadcrumbs.single()
+
+        scope.addBreadcrumb(createBreadcrumb("retrying"))
+
+        assertEquals(2, handedOut.getData("sentry:repeat_count"))
+        assertNotSame(handedOut, scope.breadcrumbs.single())
+        assertEquals(3, scope.breadcrumbs.single().getData("sentry:repeat_count"))
+    }
+
+    @Test
+    fun `when breadcrumb compaction is enabled, breadcrumbs that differ are not merged`() {
+        val scope = Scope(SentryOptions().apply { isEnableBreadcrumbCompaction = true })
+
+        scope.addBreadcrumb(createBreadcrumb("retrying"))
+        scope.addBreadcrumb(createBreadcrumb("retrying").apply { level = SentryLevel.ERROR })
+        scope.addBreadcrumb(createBreadcrumb("retrying").apply { setData("url", "https://sentry.io") })
+        scope.addBreadcrumb(createBreadcrumb("gave up"))
+        scope.addBreadcrumb(createBreadcrumb("retrying"))
+
+        assertEquals(5, scope.breadcrumbs.count())
+        assertTrue(scope.breadcrumbs.none { it.getData("sentry:repeat_count") != null })
+    }
+
+    @Test
+    fun `when breadcrumb compaction is enabled, repeats of a breadcrumb added before clearing are not merged`() {
+        val scope = Scope(SentryOptions().apply { isEnableBreadcrumbCompaction = true })
+
+        scope.addBreadcrumb(createBreadcrumb("retrying"))
+        scope.clearBreadcrumbs()
+        scope.addBreadcrumb(createBreadcrumb("retrying"))
+
+        assertNull(scope.breadcrumbs.single().getData("sentry:repeat_count"))
+    }
+
+    @Test
+    fun `when breadcrumb compaction is enabled, repeats are merged into the last breadcrumb of a cloned scope`() {
+        val scope = Scope(SentryOptions().apply { isEnableBreadcrumbCompaction = true })
+        scope.addBreadcrumb(createBreadcrumb("retrying"))
+
+        val clone = Scope(scope)
+        clone.addBreadcrumb(createBreadcrumb("retrying"))
+
+        assertEquals(2, clone.breadcrumbs.single().getData("sentry:repeat_count"))
+        assertNull(scope.breadcrumbs.single().getData("sentry:repeat_count"))
+    }
+
+    @Test
+    fun `when breadcrumb compaction is disabled, repeated breadcrumbs are added`() {
+        val scope = Scope(SentryOptions())
+
+        scope.addBreadcrumb(createBreadcrumb("retrying"))
+        scope.addBreadcrumb(createBreadcrumb("retrying"))
+
+        assertEquals(2, scope.breadcrumbs.count())
+    }
+
     @Test
     fun `when adding eventProcessor, eventProcessor should be in the list`() {
         val processor = CustomEventProcessor()
@@ -855,4 +952,10 @@ class ScopeTest {
             }
         }
     }
+
+    private fun createBreadcrumb(message: String) = Breadcrumb().apply {
+        this.message = message
+        category = "http"
+        level = SentryLevel.WARNING
+    }
 }
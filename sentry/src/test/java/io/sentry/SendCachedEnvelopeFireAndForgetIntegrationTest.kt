@@ -6,6 +6,9 @@ import com.nhaarman.mockitokotlin2.verify
 import com.nhaarman.mockitokotlin2.verifyNoMoreInteractions
 import kotlin.test.Test
 import kotlin.test.assertFalse
+import kotlin.test.assertNotNull
+import kotlin.test.assertNotSame
+import org.awaitility.kotlin.await
 
 class SendCachedEnvelopeFireAndForgetIntegrationTest {
     private class Fixture {
@@ -58,10 +61,30 @@ class SendCachedEnvelopeFireAndForgetIntegrationTest {
         val sut = SendCachedEnvelopeFireAndForgetIntegration(CustomFactory())
         fixture.options.cacheDirPath = "abc"
         sut.register(fixture.hub, fixture.options)
-        verify(fixture.logger).log(eq(SentryLevel.ERROR), eq("SendFireAndForget factory is null."))
+        await.untilAsserted {
+            verify(fixture.logger).log(eq(SentryLevel.ERROR), eq("SendFireAndForget factory is null."))
+        }
         verifyNoMoreInteractions(fixture.hub)
     }
 
+    @Test
+    fun `register does not create the sender on the calling thread`() {
+        val callingThread = Thread.currentThread()
+        var creatingThread: Thread? = null
+        val sut = SendCachedEnvelopeFireAndForgetIntegration(object : SendCachedEnvelopeFireAndForgetIntegration.SendFireAndForgetFactory {
+            override fun create(hub: IHub, options: SentryOptions): SendCachedEnvelopeFireAndForgetIntegration.SendFireAndForget? {
+                creatingThread = Thread.currentThread()
+                return null
+            }
+        })
+        fixture.options.cacheDirPath = "abc"
+        sut.register(fixture.hub, fixture.options)
+        await.untilAsserted {
+            assertNotNull(creatingThread)
+        }
+        assertNotSame(callingThread, creatingThread)
+    }
+
     private class CustomFactory : SendCachedEnvelopeFireAndForgetIntegration.SendFireAndForgetFactory {
         override fun create(hub: IHub, options: SentryOptions): SendCachedEnvelopeFireAndForgetIntegration.SendFireAndForget? {
             return null
@@ -167,6 +167,23 @@ class SentryClientTest {
         verifyNoMoreInteractions(fixture.transport)
     }
 
+    @Test
+    fun `when event is larger than maxEventSize, trimmed event is sent`() {
+        fixture.sentryOptions.maxEventSize = 2048
+        fixture.sentryOptions.isAttachStacktrace = false
+        val sut = fixture.getSut()
+        val event = SentryEvent().apply {
+            setExtra("small", "value")
+            setExtra("large", "x".repeat(4096))
+        }
+        sut.captureEvent(event)
+        verify(fixture.transport).send(check {
+            val actual = getEventFromData(it.items.first().data)
+            assertEquals("value", actual.getExtra("small"))
+            assertNull(actual.getExtra("large"))
+        }, anyOrNull())
+    }
+
     @Test
     fun `when beforeSend throws an exception, breadcrumb is added and event is sent`() {
         val exception = Exception("test")
@@ -306,6 +323,23 @@ class SentryClientTest {
         }
     }
 
+    @Test
+    fun `when breadcrumb compaction is enabled, repeats added after capturing do not change the event's breadcrumbs`() {
+        val scope = Scope(SentryOptions().apply { isEnableBreadcrumbCompaction = true }).apply {
+            addBreadcrumb(Breadcrumb("retrying"))
+        }
+        val event = SentryEvent()
+
+        fixture.getSut().captureEvent(event, scope)
+        scope.addBreadcrumb(Breadcrumb("retrying"))
+
+        assertNotNull(event.breadcrumbs) {
+            assertNull(it.single().getData("sentry:repeat_count"))
+            assertNull(it.single().getData("sentry:last_timestamp"))
+        }
+        assertEquals(2, scope.breadcrumbs.single().getData("sentry:repeat_count"))
+    }
+
     @Test
     fun `when captureEvent with scope, event data has priority over scope but level and it should append extras, tags and breadcrumbs`() {
         val event = createEvent()
@@ -629,6 +663,40 @@ class SentryClientTest {
         }, anyOrNull())
     }
 
+    @Test
+    fun `when captureSession and sessions are aggregated, sends the aggregates on flush`() {
+        fixture.sentryOptions.isEnableSessionAggregation = true
+        val sut = fixture.getSut()
+        val session = createSession()
+        sut.captureSession(session)
+        session.end()
+        sut.captureSession(session)
+        verify(fixture.transport, never()).send(any(), anyOrNull())
+
+        sut.flush(0)
+
+        verify(fixture.transport).send(check<SentryEnvelope> {
+            val item = it.items.single()
+            assertEquals(SentryItemType.Sessions, item.header.type)
+            val aggregates = fixture.sentryOptions.serializer.deserialize(
+                InputStreamReader(ByteArrayInputStream(item.data)), SessionAggregates::class.java)
+            assertEquals(1, aggregates!!.aggregates.single().exited)
+        }, anyOrNull())
+    }
+
+    @Test
+    fun `when captureEvent and sessions are aggregated, session is not sent with the event`() {
+        fixture.sentryOptions.isEnableSessionAggregation = true
+        val scope = Scope(fixture.sentryOptions)
+        scope.startSession()
+
+        fixture.getSut().captureEvent(SentryEvent().apply { level = SentryLevel.ERROR }, scope)
+
+        verify(fixture.transport).send(check<SentryEnvelope> {
+            assertEquals(SentryItemType.Event, it.items.single().header.type)
+        }, anyOrNull())
+    }
+
     @Test
     fun `when captureEnvelope and thres an exception, returns empty sentryId`() {
         whenever(fixture.transport.send(any(), anyOrNull())).thenThrow(IOException())
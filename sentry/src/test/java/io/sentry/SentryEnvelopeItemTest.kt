@@ -4,13 +4,17 @@ import com.nhaarman.mockitokotlin2.mock
 import io.sentry.exception.SentryEnvelopeException
 import io.sentry.protocol.User
 import io.sentry.test.injectForField
+import java.io.ByteArrayOutputStream
 import java.io.File
+import java.io.FileOutputStream
 import kotlin.test.AfterTest
 import kotlin.test.Test
 import kotlin.test.assertEquals
 import kotlin.test.assertFailsWith
+import kotlin.test.assertFalse
 import kotlin.test.assertNotNull
 import kotlin.test.assertNull
+import kotlin.test.assertTrue
 import org.junit.Assert.assertArrayEquals
 
 class SentryEnvelopeItemTest {
@@ -192,6 +196,84 @@ class SentryEnvelopeItemTest {
                 "allowed attachment size of ${fixture.maxAttachmentSize} bytes.", exception.message)
     }
 
+    @Test
+    fun `fromAttachment with file is streamed and its length comes from the file`() {
+        val file = File(fixture.pathname)
+        file.writeBytes(fixture.bytes)
+        val attachment = Attachment(file.path)
+
+        val item = SentryEnvelopeItem.fromAttachment(attachment, fixture.maxAttachmentSize)
+
+        assertTrue(item.isStreamed)
+        assertEquals(fixture.bytes.size, item.header.length)
+    }
+
+    @Test
+    fun `fromAttachment with bytes is not streamed`() {
+        val attachment = Attachment(fixture.bytes, fixture.filename)
+
+        val item = SentryEnvelopeItem.fromAttachment(attachment, fixture.maxAttachmentSize)
+
+        assertFalse(item.isStreamed)
+    }
+
+    @Test
+    fun `writeData streams the file into an output stream`() {
+        val file = File(fixture.pathname)
+        file.writeBytes(fixture.bytes)
+        val item = SentryEnvelopeItem.fromAttachment(Attachment(file.path), fixture.maxAttachmentSize)
+
+        val outputStream = ByteArrayOutputStream()
+        item.writeData(outputStream)
+
+        assertArrayEquals(fixture.bytes, outputStream.toByteArray())
+        assertTrue(item.isStreamed)
+    }
+
+    @Test
+    fun `writeData transfers the file into a file output stream`() {
+        val file = File(fixture.pathname)
+        file.writeBytes(fixture.bytes)
+        val item = SentryEnvelopeItem.fromAttachment(Attachment(file.path), fixture.maxAttachmentSize)
+
+        val target = File.createTempFile("sentry-attachment", ".tmp")
+        try {
+            FileOutputStream(target).use {
+                it.write("prefix".toByteArray())
+                item.writeData(it)
+            }
+
+            assertArrayEquals("prefix".toByteArray() + fixture.bytes, target.readBytes())
+        } finally {
+            target.delete()
+        }
+    }
+
+    @Test
+    fun `writeData writes only the length resolved for the header when the file grows`() {
+        val file = File(fixture.pathname)
+        file.writeBytes(fixture.bytes)
+        val item = SentryEnvelopeItem.fromAttachment(Attachment(file.path), fixture.maxAttachmentSize)
+        assertEquals(fixture.bytes.size, item.header.length)
+
+        file.appendBytes("world".toByteArray())
+
+        val outputStream = ByteArrayOutputStream()
+        item.writeData(outputStream)
+        assertArrayEquals(fixture.bytes, outputStream.toByteArray())
+    }
+
+    @Test
+    fun `fromAttachment with file too big returns -1 as header length`() {
+        val file = File(fixture.pathname)
+        file.writeBytes(fixture.bytesTooBig)
+
+        val item = SentryEnvelopeItem.fromAttachment(Attachment(file.path), fixture.maxAttachmentSize)
+
+        assertEquals(-1, item.header.length)
+        assertFailsWith<SentryEnvelopeException> { item.writeData(ByteArrayOutputStream()) }
+    }
+
     private fun createSession(): Session {
         return Session("dis", User(), "env", "rel")
     }
@@ -220,6 +220,24 @@ class SentryOptionsTest {
         assertEquals(listOf("io.off"), options.inAppExcludes)
     }
 
+    @Test
+    fun `merging options merges request header settings`() {
+        val externalOptions = SentryOptions()
+        externalOptions.addRequestHeaderInclude("Accept")
+        externalOptions.addRequestHeaderExclude("X-Api-Key")
+        externalOptions.maxRequestHeaderValueLength = 100
+        val options = SentryOptions()
+        options.maxRequestHeadersSize = 1000
+
+        options.merge(externalOptions)
+
+        assertEquals(listOf("Accept"), options.requestHeaderIncludes)
+        assertEquals(listOf("X-Api-Key"), options.requestHeaderExcludes)
+        assertEquals(100, options.maxRequestHeaderValueLength)
+        assertEquals(1000, options.maxRequestHeadersSize)
+        assertFalse(options.requestHeaderPolicy.isAllowed("x-api-key"))
+    }
+
     @Test
     fun `merging options when enableUncaughtExceptionHandler is not set preserves the default value`() {
         val externalOptions = SentryOptions()
@@ -348,6 +366,21 @@ class SentryOptionsTest {
         }
     }
 
+    @Test
+    fun `creates options with request header settings using external properties`() {
+        withPropertiesFile(listOf(
+            "request-header-includes=Accept,X-Request-Id",
+            "request-header-excludes=X-Api-Key",
+            "max-request-header-value-length=100",
+            "max-request-headers-size=1000"
+        )) {
+            assertEquals(listOf("Accept", "X-Request-Id"), it.requestHeaderIncludes)
+            assertEquals(listOf("X-Api-Key"), it.requestHeaderExcludes)
+            assertEquals(100, it.maxRequestHeaderValueLength)
+            assertEquals(1000, it.maxRequestHeadersSize)
+        }
+    }
+
     @Test
     fun `creates options with ignored exception types using external properties`() {
         val logger = mock<ILogger>()
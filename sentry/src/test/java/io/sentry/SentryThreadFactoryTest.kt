@@ -1,5 +1,6 @@
 package io.sentry
 
+import java.util.concurrent.CountDownLatch
 import kotlin.test.Test
 import kotlin.test.assertEquals
 import kotlin.test.assertFalse
@@ -11,8 +12,9 @@ import kotlin.test.assertTrue
 class SentryThreadFactoryTest {
 
     class Fixture {
-        internal fun getSut(attachStacktrace: Boolean = true) = SentryThreadFactory(SentryStackTraceFactory(listOf("io.sentry"), listOf()), with(SentryOptions()) {
+        internal fun getSut(attachStacktrace: Boolean = true, threadDumpCacheDurationMillis: Long = 0) = SentryThreadFactory(SentryStackTraceFactory(listOf("io.sentry"), listOf()), with(SentryOptions()) {
             isAttachStacktrace = attachStacktrace
+            this.threadDumpCacheDurationMillis = threadDumpCacheDurationMillis
             this
         })
     }
@@ -95,4 +97,70 @@ class SentryThreadFactoryTest {
         val threads = sut.currentThread
         assertEquals(1, threads!!.count())
     }
+
+    @Test
+    fun `when getCurrentThreads is called, threads are converted only when read`() {
+        val sut = fixture.getSut()
+        val threads = sut.getCurrentThreads(null) as LazyList<*>
+
+        assertFalse(threads.isCreated)
+        assertNotEquals(0, threads.size)
+        assertTrue(threads.isCreated)
+    }
+
+    @Test
+    fun `when getCurrentThreads is called, thread names and states are read before the list is`() {
+        val sut = fixture.getSut()
+        val latch = CountDownLatch(1)
+        val thread = Thread { latch.await() }
+        thread.name = "before"
+        thread.start()
+        val threads = sut.getCurrentThreads(null)!!
+
+        thread.name = "after"
+        latch.countDown()
+        thread.join()
+
+        val sentryThread = threads.first { it.id == thread.id }
+        assertEquals("before", sentryThread.name)
+        assertNotEquals(Thread.State.TERMINATED.name, sentryThread.state)
+    }
+
+    @Test
+    fun `when thread dump cache duration is set, the dump is reused by the next call`() {
+        val sut = fixture.getSut(threadDumpCacheDurationMillis = 60_000)
+        sut.getCurrentThreads(null)!!.size
+
+        val latch = CountDownLatch(1)
+        val thread = Thread { latch.await() }
+        thread.start()
+        try {
+            val threads = sut.getCurrentThreads(null)!!
+
+            assertNull(threads.firstOrNull { it.id == thread.id })
+            assertEquals(1, threads.filter { it.isCrashed == true }.count())
+            assertNotNull(threads.firstOrNull { it.id == Thread.currentThread().id })
+        } finally {
+            latch.countDown()
+            thread.join()
+        }
+    }
+
+    @Test
+    fun `when thread dump cache duration is not set, threads are dumped on every call`() {
+        val sut = fixture.getSut()
+        sut.getCurrentThreads(null)!!.size
+
+        val latch = CountDownLatch(1)
+        val thread = Thread { latch.await() }
+        thread.start()
+        try {
+            val threads = sut.getCurrentThreads(null)!!
+
+            assertNotNull(threads.firstOrNull { it.id == thread.id })
+        } finally {
+            latch.countDown()
+            thread.join()
+        }
+    }
 }
@@ -0,0 +1,81 @@
+package io.sentry
+
+import java.io.ByteArrayOutputStream
+import java.io.Writer
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertNotSame
+import kotlin.test.assertSame
+
+class SerializationBufferTest {
+
+    private val serializer = GsonSerializer(SentryOptions())
+
+    @Test
+    fun `serializes an object to UTF-8 JSON`() {
+        val bytes = SerializationBuffer.serialize(serializer, breadcrumb("é😀"))
+
+        assertEquals("{\"timestamp\":\"2020-02-07T14:16:00.000Z\",\"message\":\"é😀\"}", String(bytes, Charsets.UTF_8))
+    }
+
+    @Test
+    fun `a released buffer is reused by the same thread`() {
+        val buffer = SerializationBuffer.acquire()
+        buffer.write(1)
+        buffer.release()
+
+        val reused = SerializationBuffer.acquire()
+        try {
+            assertSame(buffer, reused)
+            assertEquals(0, reused.size())
+        } finally {
+            reused.release()
+        }
+    }
+
+    @Test
+    fun `a buffer in use is not handed out twice`() {
+        val buffer = SerializationBuffer.acquire()
+        try {
+            val nested = SerializationBuffer.acquire()
+            assertNotSame(buffer, nested)
+            nested.release()
+        } finally {
+            buffer.release()
+        }
+    }
+
+    @Test
+    fun `writer keeps working after the buffer is released`() {
+        repeat(3) {
+            val bytes = SerializationBuffer.serialize(serializer, breadcrumb("message $it"))
+
+            assertEquals("{\"timestamp\":\"2020-02-07T14:16:00.000Z\",\"message\":\"message $it\"}", String(bytes, Charsets.UTF_8))
+        }
+    }
+
+    @Test
+    fun `payloads of an envelope are serialized with the buffer of the thread`() {
+        val writers = mutableListOf<Writer>()
+        val recordingSerializer = object : ISerializer by serializer {
+            override fun <T : Any> serialize(entity: T, writer: Writer) {
+                writers.add(writer)
+                serializer.serialize(entity, writer)
+            }
+        }
+        val envelope = SentryEnvelope.from(recordingSerializer, SentryEvent(), null)
+
+        serializer.serialize(envelope, ByteArrayOutputStream())
+
+        val buffer = SerializationBuffer.acquire()
+        try {
+            assertSame(buffer.writer, writers.single())
+        } finally {
+            buffer.release()
+        }
+    }
+
+    private fun breadcrumb(message: String) = Breadcrumb(DateUtils.getDateTime("2020-02-07T14:16:00.000Z")).apply {
+        this.message = message
+    }
+}
@@ -0,0 +1,227 @@
+package io.sentry
+
+import com.nhaarman.mockitokotlin2.any
+import com.nhaarman.mockitokotlin2.check
+import com.nhaarman.mockitokotlin2.mock
+import com.nhaarman.mockitokotlin2.eq
+import com.nhaarman.mockitokotlin2.never
+import com.nhaarman.mockitokotlin2.times
+import com.nhaarman.mockitokotlin2.verify
+import io.sentry.transport.ICurrentDateProvider
+import java.io.StringReader
+import java.io.StringWriter
+import java.util.UUID
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.FutureTask
+import java.util.concurrent.TimeUnit
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertNotNull
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+class SessionAggregatorTest {
+
+    private class Fixture {
+        val client = mock<ISentryClient>()
+        val options = SentryOptions().apply {
+            release = "io.sentry@1.0+123"
+            environment = "production"
+            setSerializer(GsonSerializer(this))
+        }
+        var currentTimeMillis = DateUtils.getDateTime("2020-02-07T14:17:30.000Z").time
+
+        fun getSut() = SessionAggregator(options, client, ICurrentDateProvider { currentTimeMillis }, false)
+    }
+
+    private class SchedulingExecutorService : ISentryExecutorService {
+        val scheduled = mutableListOf<Pair<FutureTask<*>, Long>>()
+
+        override fun submit(runnable: Runnable): Future<*> = FutureTask(runnable, null).apply { run() }
+
+        override fun schedule(runnable: Runnable, delayMillis: Long): Future<*> =
+            FutureTask(runnable, null).also { scheduled.add(it to delayMillis) }
+
+        override fun close(timeoutMillis: Long) {}
+    }
+
+    private val fixture = Fixture()
+
+    @Test
+    fun `schedules the flush on the SDK executor and the next flush after each one`() {
+        val executor = SchedulingExecutorService()
+        fixture.options.executorService = executor
+        SessionAggregator(fixture.options, fixture.client, ICurrentDateProvider { fixture.currentTimeMillis }, true)
+
+        assertEquals(SessionAggregator.FLUSH_INTERVAL_MILLIS, executor.scheduled.single().second)
+        executor.scheduled.single().first.run()
+
+        assertEquals(2, executor.scheduled.size)
+    }
+
+    @Test
+    fun `close cancels the scheduled flush and sends everything`() {
+        val executor = SchedulingExecutorService()
+        fixture.options.executorService = executor
+        val sut = SessionAggregator(fixture.options, fixture.client, ICurrentDateProvider { fixture.currentTimeMillis }, true)
+        sut.record(session(Session.State.Exited, "2020-02-07T14:17:01.000Z"))
+
+        sut.close()
+
+        assertTrue(executor.scheduled.single().first.isCancelled)
+        verify(fixture.client).captureEnvelope(any())
+    }
+
+    @Test
+    fun `warns once when it is created without a release`() {
+        val logger = mock<ILogger>()
+        fixture.options.release = null
+        fixture.options.setLogger(logger)
+        fixture.options.isDebug = true
+        val sut = fixture.getSut()
+
+        sut.record(session(Session.State.Exited, "2020-02-07T14:16:01.000Z"))
+        sut.flush(true)
+
+        verify(logger, times(1)).log(eq(SentryLevel.WARNING), eq("Session aggregation is enabled but no release is set, sessions are not sent."))
+        verify(fixture.client, never()).captureEnvelope(any())
+    }
+
+    @Test
+    fun `counts the outcome of ended sessions per minute they started in`() {
+        val sut = fixture.getSut()
+        sut.record(session(Session.State.Exited, "2020-02-07T14:16:01.000Z"))
+        sut.record(session(Session.State.Exited, "2020-02-07T14:16:59.000Z"))
+        sut.record(session(Session.State.Exited, "2020-02-07T14:16:10.000Z", errors = 2))
+        sut.record(session(Session.State.Crashed, "2020-02-07T14:15:10.000Z", errors = 1))
+        sut.record(session(Session.State.Abnormal, "2020-02-07T14:15:20.000Z"))
+
+        val aggregates = sut.drain(false)
+
+        assertNotNull(aggregates) {
+            assertEquals("io.sentry@1.0+123", it.release)
+            assertEquals("production", it.environment)
+            val byMinute = it.aggregates.associateBy { aggregate -> DateUtils.getTimestamp(aggregate.started) }
+            assertEquals(2, byMinute.size)
+            assertNotNull(byMinute["2020-02-07T14:16:00.000Z"]) { aggregate ->
+                assertEquals(2, aggregate.exited)
+                assertEquals(1, aggregate.errored)
+                assertEquals(0, aggregate.crashed)
+            }
+            assertNotNull(byMinute["2020-02-07T14:15:00.000Z"]) { aggregate ->
+                assertEquals(0, aggregate.exited)
+                assertEquals(1, aggregate.abnormal)
+                assertEquals(1, aggregate.crashed)
+            }
+        }
+        assertNull(sut.drain(true))
+    }
+
+    @Test
+    fun `ignores sessions that have not ended`() {
+        val sut = fixture.getSut()
+        sut.record(session(Session.State.Ok, "2020-02-07T14:16:01.000Z"))
+
+        assertNull(sut.drain(true))
+    }
+
+    @Test
+    fun `keeps the running minute unless everything is flushed`() {
+        val sut = fixture.getSut()
+        sut.record(session(Session.State.Exited, "2020-02-07T14:17:01.000Z"))
+
+        assertNull(sut.drain(false))
+        assertNotNull(sut.drain(true)) {
+            assertEquals(1, it.aggregates.single().exited)
+        }
+    }
+
+    @Test
+    fun `flush sends a single sessions item`() {
+        val sut = fixture.getSut()
+        sut.record(session(Session.State.Exited, "2020-02-07T14:16:01.000Z"))
+        sut.record(session(Session.State.Exited, "2020-02-07T14:15:01.000Z"))
+
+        sut.flush(false)
+
+        verify(fixture.client).captureEnvelope(check {
+            assertEquals(SentryItemType.Sessions, it.items.single().header.type)
+        })
+    }
+
+    @Test
+    fun `flush does not send anything if no session ended`() {
+        val sut = fixture.getSut()
+
+        sut.flush(true)
+
+        verify(fixture.client, never()).captureEnvelope(any())
+    }
+
+    @Test
+    fun `does not lose outcomes recorded while flushing`() {
+        val sut = fixture.getSut()
+        val threads = 4
+        val sessionsPerThread = 5000
+        val executor = Executors.newFixedThreadPool(threads)
+        val done = CountDownLatch(threads)
+        repeat(threads) {
+            executor.submit {
+                repeat(sessionsPerThread) { sut.record(session(Session.State.Exited, "2020-02-07T14:16:01.000Z")) }
+                done.countDown()
+            }
+        }
+
+        var exited = 0
+        while (!done.await(1, TimeUnit.MILLISECONDS)) {
+            exited += sut.drain(true)?.aggregates?.sumBy { it.exited } ?: 0
+        }
+        exited += sut.drain(true)?.aggregates?.sumBy { it.exited } ?: 0
+        executor.shutdown()
+
+        assertEquals(threads * sessionsPerThread, exited)
+    }
+
+    @Test
+    fun `serializes and deserializes aggregates`() {
+        val expected = SessionAggregates("io.sentry@1.0+123", "production")
+        expected.addAggregate(SessionAggregates.Aggregate(
+            DateUtils.getDateTime("2020-02-07T14:16:00.000Z"), 3, 2, 0, 1))
+
+        val writer = StringWriter()
+        fixture.options.serializer.serialize(expected, writer)
+        val json = writer.toString()
+        val actual = fixture.options.serializer.deserialize(StringReader(json), SessionAggregates::class.java)
+
+        assertEquals("{\"aggregates\":[{\"started\":\"2020-02-07T14:16:00.000Z\",\"exited\":3,\"errored\":2,\"crashed\":1}]," +
+            "\"attrs\":{\"release\":\"io.sentry@1.0+123\",\"environment\":\"production\"}}", json)
+        assertNotNull(actual) {
+            assertEquals(expected.release, it.release)
+            assertEquals(expected.environment, it.environment)
+            val aggregate = it.aggregates.single()
+            assertEquals(DateUtils.getDateTime("2020-02-07T14:16:00.000Z"), aggregate.started)
+            assertEquals(3, aggregate.exited)
+            assertEquals(2, aggregate.errored)
+            assertEquals(0, aggregate.abnormal)
+            assertEquals(1, aggregate.crashed)
+        }
+    }
+
+    private fun session(status: Session.State, started: String, errors: Int = 0) = Session(
+        status,
+        DateUtils.getDateTime(started),
+        null,
+        errors,
+        null,
+        UUID.randomUUID(),
+        null,
+        null,
+        null,
+        null,
+        null,
+        "production",
+        "io.sentry@1.0+123"
+    )
+}
@@ -4,7 +4,9 @@ import com.nhaarman.mockitokotlin2.mock
 import com.nhaarman.mockitokotlin2.whenever
 import java.util.Random
 import kotlin.test.Test
+import kotlin.test.assertEquals
 import kotlin.test.assertFalse
+import kotlin.test.assertNull
 import kotlin.test.assertTrue
 
 class TracesSamplerTest {
@@ -92,4 +94,24 @@ class TracesSamplerTest {
         transactionContextSampled.sampled = true
         assertTrue(sampler.sample(SamplingContext(transactionContextSampled, CustomSamplingContext())))
     }
+
+    @Test
+    fun `when tracesSampler is set, sampling without context is not possible`() {
+        val sampler = fixture.getSut(tracesSampleRate = 1.0, tracesSamplerResult = 1.0)
+        assertNull(sampler.sampleWithoutContext(null))
+    }
+
+    @Test
+    fun `when sampling without context and parentSampled is set, sampler uses it as a sampling decision`() {
+        val sampler = fixture.getSut(randomResult = 0.1, tracesSampleRate = 0.2, tracesSamplerResult = Double.MIN_VALUE)
+        assertEquals(false, sampler.sampleWithoutContext(false))
+        assertEquals(true, sampler.sampleWithoutContext(true))
+    }
+
+    @Test
+    fun `when sampling without context, sampler uses tracesSampleRate`() {
+        assertEquals(false, fixture.getSut(randomResult = 0.9, tracesSampleRate = 0.2).sampleWithoutContext(null))
+        assertEquals(true, fixture.getSut(randomResult = 0.1, tracesSampleRate = 0.2).sampleWithoutContext(null))
+        assertEquals(false, fixture.getSut().sampleWithoutContext(null))
+    }
 }
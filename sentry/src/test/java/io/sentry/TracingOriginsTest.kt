@@ -0,0 +1,30 @@
+package io.sentry
+
+import kotlin.test.Test
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+class TracingOriginsTest {
+
+    @Test
+    fun `empty origins match every url`() {
+        assertTrue(TracingOrigins.contain(emptyList(), "http://example.com/api"))
+    }
+
+    @Test
+    fun `origin matches url containing it`() {
+        assertTrue(TracingOrigins.contain(listOf("example.com"), "http://example.com/api"))
+        assertFalse(TracingOrigins.contain(listOf("sentry.io"), "http://example.com/api"))
+    }
+
+    @Test
+    fun `origin matches url as regular expression`() {
+        assertTrue(TracingOrigins.contain(listOf("^https?://(www\\.)?example\\.com/.*"), "https://www.example.com/api"))
+        assertFalse(TracingOrigins.contain(listOf("^https://example\\.com/.*"), "http://example.com/api"))
+    }
+
+    @Test
+    fun `invalid regular expression does not match`() {
+        assertFalse(TracingOrigins.contain(listOf("[example"), "http://example.com/api"))
+    }
+}
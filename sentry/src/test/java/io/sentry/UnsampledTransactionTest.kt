@@ -0,0 +1,68 @@
+package io.sentry
+
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNull
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+class UnsampledTransactionTest {
+
+    private class Fixture {
+        val options = SentryOptions().apply {
+            dsn = "https://key@sentry.io/proj"
+        }
+        val hub = Hub(options)
+
+        fun getSut() = UnsampledTransaction(TransactionContext("name", "op"), hub)
+    }
+
+    private val fixture = Fixture()
+
+    @Test
+    fun `propagates an unsampled trace`() {
+        val sut = fixture.getSut()
+
+        val header = sut.toSentryTrace()
+
+        assertEquals(sut.spanContext.traceId, header.traceId)
+        assertEquals(sut.spanContext.spanId, header.spanId)
+        assertEquals(false, header.isSampled)
+        assertEquals(false, sut.spanContext.sampled)
+        assertEquals(false, sut.isSampled)
+    }
+
+    @Test
+    fun `children are no-op spans`() {
+        val sut = fixture.getSut()
+
+        assertSame(NoOpSpan.getInstance(), sut.startChild("op"))
+        assertTrue(sut.spans.isEmpty())
+        assertNull(sut.latestActiveSpan)
+    }
+
+    @Test
+    fun `finish unbinds the transaction from the scope`() {
+        val sut = fixture.getSut()
+        fixture.hub.configureScope { it.transaction = sut }
+
+        sut.finish(SpanStatus.OK)
+
+        assertTrue(sut.isFinished)
+        assertEquals(SpanStatus.OK, sut.status)
+        fixture.hub.configureScope { assertNull(it.transaction) }
+    }
+
+    @Test
+    fun `finish does not unbind another transaction`() {
+        val sut = fixture.getSut()
+        val other = fixture.getSut()
+        fixture.hub.configureScope { it.transaction = other }
+
+        sut.finish()
+
+        fixture.hub.configureScope { assertSame(other, it.transaction) }
+        assertFalse(other.isFinished)
+    }
+}
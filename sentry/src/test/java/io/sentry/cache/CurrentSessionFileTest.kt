@@ -0,0 +1,113 @@
+package io.sentry.cache
+
+import io.sentry.SentryOptions
+import io.sentry.Session
+import io.sentry.protocol.User
+import java.io.File
+import java.nio.file.Files
+import kotlin.test.AfterTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNotNull
+import kotlin.test.assertTrue
+
+class CurrentSessionFileTest {
+
+    private class Fixture {
+        val dir: File = Files.createTempDirectory("sentry-current-session-test").toFile()
+        val file = File(dir, "session.json")
+        val options = SentryOptions()
+
+        fun getSut() = CurrentSessionFile(file, options)
+
+        fun readSession(): Session? = file.bufferedReader(Charsets.UTF_8).use {
+            options.serializer.deserialize(it, Session::class.java)
+        }
+    }
+
+    private val fixture = Fixture()
+
+    @AfterTest
+    fun `delete dir`() {
+        fixture.dir.deleteRecursively()
+    }
+
+    @Test
+    fun `start writes the session padded to the initial size`() {
+        val sut = fixture.getSut()
+        val session = createSession()
+
+        sut.start(session)
+
+        assertTrue(sut.isStarted)
+        assertEquals(CurrentSessionFile.INITIAL_SIZE.toLong(), fixture.file.length())
+        assertEquals(session.sessionId, fixture.readSession()?.sessionId)
+    }
+
+    @Test
+    fun `update writes over the previous state of the session`() {
+        val sut = fixture.getSut()
+        val session = createSession()
+        sut.start(session)
+
+        session.update(null, "agent", true)
+        assertTrue(sut.update(session))
+
+        val read = assertNotNull(fixture.readSession())
+        assertEquals(1, read.errorCount())
+        assertEquals("agent", read.userAgent)
+        assertEquals(CurrentSessionFile.INITIAL_SIZE.toLong(), fixture.file.length())
+    }
+
+    @Test
+    fun `update ignores other sessions`() {
+        val sut = fixture.getSut()
+        val session = createSession()
+        sut.start(session)
+
+        assertFalse(sut.update(createSession()))
+
+        assertEquals(session.sessionId, fixture.readSession()?.sessionId)
+    }
+
+    @Test
+    fun `grows the file for sessions that do not fit`() {
+        val sut = fixture.getSut()
+        val session = Session("x".repeat(CurrentSessionFile.INITIAL_SIZE), User(), "env", "rel")
+
+        sut.start(session)
+
+        assertEquals(2L * CurrentSessionFile.INITIAL_SIZE, fixture.file.length())
+        assertEquals(session.distinctId, fixture.readSession()?.distinctId)
+    }
+
+    @Test
+    fun `delete ends the session and deletes the file`() {
+        val sut = fixture.getSut()
+        val session = createSession()
+        sut.start(session)
+
+        assertTrue(sut.delete())
+
+        assertFalse(sut.isStarted)
+        assertFalse(fixture.file.exists())
+        assertFalse(sut.update(session))
+        assertFalse(fixture.file.exists())
+    }
+
+    @Test
+    fun `flushes the file when a flush interval is set`() {
+        fixture.options.sessionFlushIntervalMillis = 1000
+        val sut = fixture.getSut()
+        val session = createSession()
+
+        sut.start(session)
+        session.update(null, null, true)
+        sut.update(session)
+
+        assertEquals(1, fixture.readSession()?.errorCount())
+    }
+
+    private fun createSession() = Session("dis", User(), "env", "rel")
+}
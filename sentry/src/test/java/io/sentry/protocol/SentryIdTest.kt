@@ -0,0 +1,50 @@
+package io.sentry.protocol
+
+import java.util.UUID
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertNotEquals
+
+class SentryIdTest {
+
+    @Test
+    fun `random ids are version 4 UUIDs`() {
+        val id = SentryId().toString()
+
+        val uuid = UUID.fromString(id.replaceFirst(Regex("(.{8})(.{4})(.{4})(.{4})(.{12})"), "$1-$2-$3-$4-$5"))
+        assertEquals(4, uuid.version())
+        assertEquals(2, uuid.variant())
+        assertNotEquals(SentryId(), SentryId())
+    }
+
+    @Test
+    fun `toString has no dashes`() {
+        val uuid = UUID.randomUUID()
+
+        assertEquals(uuid.toString().replace("-", ""), SentryId(uuid).toString())
+    }
+
+    @Test
+    fun `parses ids with and without dashes`() {
+        val uuid = UUID.randomUUID()
+        val expected = SentryId(uuid)
+
+        assertEquals(expected, SentryId(uuid.toString()))
+        assertEquals(expected, SentryId(uuid.toString().replace("-", "")))
+        assertEquals(expected, SentryId(uuid.toString().replace("-", "").toUpperCase()))
+        assertEquals(expected.hashCode(), SentryId(uuid.toString()).hashCode())
+        assertEquals(uuid.hashCode(), expected.hashCode())
+    }
+
+    @Test
+    fun `fails on ids with the wrong length or chars`() {
+        assertFailsWith<IllegalArgumentException> { SentryId("abc") }
+        assertFailsWith<IllegalArgumentException> { SentryId("z".repeat(32)) }
+    }
+
+    @Test
+    fun `empty id is zeros`() {
+        assertEquals("0".repeat(32), SentryId.EMPTY_ID.toString())
+    }
+}
@@ -261,6 +261,22 @@ class AsyncHttpTransportTest {
         verify(fixture.executor).waitTillIdle(500)
     }
 
+    @Test
+    fun `session envelopes are queued in the session lane`() {
+        val envelope = SentryEnvelope.from(fixture.sentryOptions.serializer, createSession(), null)
+
+        assertEquals(PrioritizedSendQueue.Lane.SESSION, AsyncHttpTransport.resolveLane(envelope))
+    }
+
+    @Test
+    fun `envelopes with an event are queued in the error lane`() {
+        val sessionItem = SentryEnvelopeItem.fromSession(fixture.sentryOptions.serializer, createSession())
+        val eventItem = SentryEnvelopeItem.fromEvent(fixture.sentryOptions.serializer, SentryEvent())
+        val envelope = SentryEnvelope(SentryEnvelopeHeader(), arrayListOf(sessionItem, eventItem))
+
+        assertEquals(PrioritizedSendQueue.Lane.ERROR, AsyncHttpTransport.resolveLane(envelope))
+    }
+
     private fun createSession(): Session {
         return Session("123", User(), "env", "release")
     }
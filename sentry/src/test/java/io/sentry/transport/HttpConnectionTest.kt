@@ -8,14 +8,18 @@ import com.nhaarman.mockitokotlin2.never
 import com.nhaarman.mockitokotlin2.verify
 import com.nhaarman.mockitokotlin2.verifyZeroInteractions
 import com.nhaarman.mockitokotlin2.whenever
+import io.sentry.Attachment
 import io.sentry.ISerializer
 import io.sentry.RequestDetails
 import io.sentry.SentryEnvelope
+import io.sentry.SentryEnvelopeHeader
+import io.sentry.SentryEnvelopeItem
 import io.sentry.SentryEvent
 import io.sentry.SentryOptions
 import io.sentry.SentryOptions.Proxy
 import io.sentry.Session
 import io.sentry.protocol.User
+import java.io.File
 import java.io.IOException
 import java.net.InetSocketAddress
 import java.net.Proxy.Type
@@ -232,6 +236,32 @@ class HttpConnectionTest {
         verify(fixture.requestDetails.url).openConnection()
     }
 
+    @Test
+    fun `enables chunked streaming mode when envelope has items streamed from disk`() {
+        val transport = fixture.getSUT()
+        val file = File.createTempFile("sentry-attachment", ".txt")
+        try {
+            file.writeText("hello")
+            val item = SentryEnvelopeItem.fromAttachment(Attachment(file.path), 1024)
+            val envelope = SentryEnvelope(SentryEnvelopeHeader(), listOf(item))
+
+            transport.send(envelope)
+
+            verify(fixture.connection).setChunkedStreamingMode(0)
+        } finally {
+            file.delete()
+        }
+    }
+
+    @Test
+    fun `does not enable chunked streaming mode when envelope is in memory`() {
+        val transport = fixture.getSUT()
+
+        transport.send(createEnvelope())
+
+        verify(fixture.connection, never()).setChunkedStreamingMode(any())
+    }
+
     private fun createSession(): Session {
         return Session("123", User(), "env", "release")
     }
@@ -0,0 +1,75 @@
+package io.sentry.transport
+
+import io.sentry.ISerializer
+import io.sentry.SentryEnvelope
+import java.io.ByteArrayInputStream
+import java.io.Closeable
+import java.io.DataInputStream
+import java.io.EOFException
+import java.io.IOException
+import java.net.InetAddress
+import java.net.ServerSocket
+import java.net.Socket
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Stands in for a relay next to the application: accepts connections on a loopback port and reads
+ * the length prefixed envelopes written by [RelayTransport].
+ */
+class LocalRelayServer(private val serializer: ISerializer) : Closeable {
+    private val serverSocket = ServerSocket(0, 50, InetAddress.getLoopbackAddress())
+    private val clients = CopyOnWriteArrayList<Socket>()
+    private val envelopes = LinkedBlockingQueue<SentryEnvelope>()
+
+    val connections = AtomicInteger()
+    val port: Int get() = serverSocket.localPort
+
+    init {
+        Thread {
+            while (!serverSocket.isClosed) {
+                try {
+                    val client = serverSocket.accept()
+                    connections.incrementAndGet()
+                    clients.add(client)
+                    Thread { read(client) }.apply { isDaemon = true }.start()
+                } catch (e: IOException) {
+                    // closed
+                }
+            }
+        }.apply { isDaemon = true }.start()
+    }
+
+    private fun read(client: Socket) {
+        val input = DataInputStream(client.getInputStream())
+        try {
+            while (true) {
+                val frame = ByteArray(input.readInt())
+                input.readFully(frame)
+                envelopes.add(serializer.deserializeEnvelope(ByteArrayInputStream(frame)))
+            }
+        } catch (e: EOFException) {
+            // the transport closed the connection
+        } catch (e: IOException) {
+            // the server closed the connection
+        } finally {
+            client.close()
+        }
+    }
+
+    /** Returns the next envelope written to the relay, or null if none arrives within a second. */
+    fun nextEnvelope(): SentryEnvelope? = envelopes.poll(1, TimeUnit.SECONDS)
+
+    /** Drops the connections of all clients, as a relay that restarts would. */
+    fun disconnectClients() {
+        clients.forEach { it.close() }
+        clients.clear()
+    }
+
+    override fun close() {
+        serverSocket.close()
+        disconnectClients()
+    }
+}
@@ -0,0 +1,95 @@
+package io.sentry.transport
+
+import io.sentry.transport.PrioritizedSendQueue.Lane
+import java.util.concurrent.TimeUnit
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertNull
+import kotlin.test.assertSame
+import kotlin.test.assertTrue
+
+class PrioritizedSendQueueTest {
+
+    private class Task(private val lane: Lane, private val urgent: Boolean = false) : Runnable, PrioritizedSendQueue.Prioritized {
+        override fun run() = Unit
+        override fun getLane() = lane
+        override fun isUrgent() = urgent
+        override fun toString() = lane.name + if (urgent) "!" else ""
+    }
+
+    private val sut = PrioritizedSendQueue()
+
+    @Test
+    fun `hands out tasks of a single lane in order`() {
+        val first = Task(Lane.TRANSACTION)
+        val second = Task(Lane.TRANSACTION)
+        sut.offer(first)
+        sut.offer(second)
+
+        assertSame(first, sut.poll())
+        assertSame(second, sut.poll())
+        assertNull(sut.poll())
+    }
+
+    @Test
+    fun `hands out lanes in weighted round robin`() {
+        repeat(10) { sut.offer(Task(Lane.TRANSACTION)) }
+        repeat(10) { sut.offer(Task(Lane.SESSION)) }
+        repeat(10) { sut.offer(Task(Lane.ERROR)) }
+
+        val order = (1..14).map { (sut.poll() as Task).lane }
+
+        assertEquals(
+            listOf(
+                Lane.ERROR, Lane.ERROR, Lane.ERROR, Lane.ERROR, Lane.SESSION, Lane.SESSION, Lane.TRANSACTION,
+                Lane.ERROR, Lane.ERROR, Lane.ERROR, Lane.ERROR, Lane.SESSION, Lane.SESSION, Lane.TRANSACTION
+            ),
+            order
+        )
+    }
+
+    @Test
+    fun `urgent tasks are handed out first`() {
+        sut.offer(Task(Lane.ERROR))
+        sut.offer(Task(Lane.TRANSACTION))
+        val urgent = Task(Lane.ERROR, true)
+        sut.offer(urgent)
+
+        assertSame(urgent, sut.poll())
+        assertEquals(2, sut.size)
+    }
+
+    @Test
+    fun `tasks without a lane are queued with errors`() {
+        sut.offer(Runnable { })
+
+        assertEquals(1, sut.size(Lane.ERROR))
+    }
+
+    @Test
+    fun `removes tasks from any lane`() {
+        val task = Task(Lane.SESSION)
+        sut.offer(Task(Lane.ERROR))
+        sut.offer(task)
+
+        assertTrue(sut.remove(task))
+        assertEquals(1, sut.size)
+        assertEquals(0, sut.size(Lane.SESSION))
+    }
+
+    @Test
+    fun `drains all tasks`() {
+        sut.offer(Task(Lane.ERROR))
+        sut.offer(Task(Lane.TRANSACTION))
+        val drained = mutableListOf<Runnable>()
+
+        assertEquals(2, sut.drainTo(drained))
+        assertEquals(2, drained.size)
+        assertTrue(sut.isEmpty())
+    }
+
+    @Test
+    fun `poll with timeout returns null when empty`() {
+        assertNull(sut.poll(10, TimeUnit.MILLISECONDS))
+    }
+}
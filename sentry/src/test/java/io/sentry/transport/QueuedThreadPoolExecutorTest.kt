@@ -30,6 +30,9 @@ class QueuedThreadPoolExecutorTest {
 
         fun getSut(): QueuedThreadPoolExecutor =
             QueuedThreadPoolExecutor(maxQueueSize + 1, maxQueueSize, threadFactory, DiscardPolicy(), mock())
+
+        fun getSutWithLanes(maxTransactionQueueSize: Int): QueuedThreadPoolExecutor =
+            QueuedThreadPoolExecutor(1, maxQueueSize, maxQueueSize, maxTransactionQueueSize, threadFactory, DiscardPolicy(), mock())
     }
 
     private val fixture = Fixture()
@@ -152,4 +155,52 @@ class QueuedThreadPoolExecutorTest {
         sut.waitTillIdle(1000)
         assertEquals(3, finished.get())
     }
+
+    @Test
+    fun `a full lane does not cancel tasks of other lanes`() {
+        val sut = fixture.getSutWithLanes(maxTransactionQueueSize = 1)
+        val jobBlocker = CountDownLatch(1)
+
+        val transaction = sut.submit(PrioritizedTask(PrioritizedSendQueue.Lane.TRANSACTION) { jobBlocker.await() })
+        val cancelledTransaction = sut.submit(PrioritizedTask(PrioritizedSendQueue.Lane.TRANSACTION) {})
+        val error = sut.submit(PrioritizedTask(PrioritizedSendQueue.Lane.ERROR) {})
+
+        assertFalse(transaction.isCancelled)
+        assertTrue(cancelledTransaction.isCancelled)
+        assertFalse(error.isCancelled)
+        assertEquals(1, sut.getUnfinishedTasksCount(PrioritizedSendQueue.Lane.TRANSACTION))
+
+        jobBlocker.countDown()
+        sut.waitTillIdle(1000)
+        assertEquals(0, sut.getUnfinishedTasksCount(PrioritizedSendQueue.Lane.TRANSACTION))
+        assertEquals(0, sut.getUnfinishedTasksCount(PrioritizedSendQueue.Lane.ERROR))
+        sut.shutdownNow()
+    }
+
+    @Test
+    fun `urgent tasks are never cancelled`() {
+        val sut = fixture.getSutWithLanes(maxTransactionQueueSize = 1)
+        val jobBlocker = CountDownLatch(1)
+        val errors = (1..fixture.maxQueueSize).map {
+            sut.submit(PrioritizedTask(PrioritizedSendQueue.Lane.ERROR) { jobBlocker.await() })
+        }
+
+        val urgent = sut.submit(PrioritizedTask(PrioritizedSendQueue.Lane.ERROR, true) {})
+
+        errors.forEach { assertFalse(it.isCancelled) }
+        assertFalse(urgent.isCancelled)
+        jobBlocker.countDown()
+        sut.waitTillIdle(1000)
+        sut.shutdownNow()
+    }
+
+    private class PrioritizedTask(
+        private val lane: PrioritizedSendQueue.Lane,
+        private val urgent: Boolean = false,
+        private val block: () -> Unit
+    ) : Runnable, PrioritizedSendQueue.Prioritized {
+        override fun run() = block()
+        override fun getLane() = lane
+        override fun isUrgent() = urgent
+    }
 }
@@ -0,0 +1,177 @@
+package io.sentry.transport
+
+import io.sentry.GsonSerializer
+import io.sentry.SentryEnvelope
+import io.sentry.SentryEvent
+import io.sentry.SentryOptions
+import io.sentry.hints.DiskFlushNotification
+import io.sentry.hints.Retryable
+import io.sentry.hints.SubmissionResult
+import java.io.IOException
+import java.net.InetAddress
+import java.net.Socket
+import javax.net.SocketFactory
+import kotlin.test.AfterTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNotNull
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+class RelayTransportTest {
+
+    private class Fixture {
+        val options = SentryOptions().apply {
+            setSerializer(GsonSerializer(this))
+        }
+        val relay = LocalRelayServer(options.serializer)
+        var currentTimeMillis = 0L
+
+        fun getSut(socketFactory: SocketFactory = SocketFactory.getDefault()) = RelayTransport(
+            options, socketFactory, "localhost", relay.port, ICurrentDateProvider { currentTimeMillis })
+
+        fun envelope(event: SentryEvent = SentryEvent()) = SentryEnvelope.from(options.serializer, event, null)
+    }
+
+    private class Hint : SubmissionResult, Retryable, DiskFlushNotification {
+        var success: Boolean? = null
+        private var retry = false
+        var flushed = false
+
+        override fun setResult(success: Boolean) {
+            this.success = success
+        }
+
+        override fun isSuccess() = success == true
+
+        override fun isRetry() = retry
+
+        override fun setRetry(retry: Boolean) {
+            this.retry = retry
+        }
+
+        override fun markFlushed() {
+            flushed = true
+        }
+    }
+
+    private class FailingSocketFactory : SocketFactory() {
+        var attempts = 0
+
+        override fun createSocket(host: String?, port: Int): Socket {
+            attempts++
+            throw IOException("connection refused")
+        }
+
+        override fun createSocket(host: String?, port: Int, localHost: InetAddress?, localPort: Int) = createSocket(host, port)
+        override fun createSocket(host: InetAddress?, port: Int) = createSocket(host?.hostName, port)
+        override fun createSocket(address: InetAddress?, port: Int, localAddress: InetAddress?, localPort: Int) = createSocket(address?.hostName, port)
+    }
+
+    private val fixture = Fixture()
+
+    @AfterTest
+    fun `close relay`() {
+        fixture.relay.close()
+    }
+
+    @Test
+    fun `writes envelopes over one connection`() {
+        val sut = fixture.getSut()
+        val events = List(3) { SentryEvent() }
+
+        events.forEach { sut.send(fixture.envelope(it)) }
+        sut.flush(1000)
+
+        events.forEach {
+            assertEquals(it.eventId, fixture.relay.nextEnvelope()?.header?.eventId)
+        }
+        assertEquals(1, fixture.relay.connections.get())
+        sut.close()
+    }
+
+    @Test
+    fun `marks the submission result once the envelope was written`() {
+        val sut = fixture.getSut()
+        val hint = Hint()
+
+        sut.send(fixture.envelope(), hint)
+        sut.flush(1000)
+
+        assertTrue(hint.isSuccess)
+        assertTrue(hint.flushed)
+        assertFalse(hint.isRetry)
+        sut.close()
+    }
+
+    @Test
+    fun `reconnects when the relay dropped the connection`() {
+        val sut = fixture.getSut()
+        sut.send(fixture.envelope())
+        sut.flush(1000)
+        assertNotNull(fixture.relay.nextEnvelope())
+
+        fixture.relay.disconnectClients()
+        // the first writes to a dropped connection may still succeed
+        var attempts = 0
+        while (fixture.relay.connections.get() < 2 && attempts++ < 50) {
+            sut.send(fixture.envelope())
+            sut.flush(1000)
+            Thread.sleep(10)
+        }
+        val event = SentryEvent()
+        sut.send(fixture.envelope(event))
+        sut.flush(1000)
+
+        assertEquals(2, fixture.relay.connections.get())
+        var envelope = fixture.relay.nextEnvelope()
+        while (envelope != null && envelope.header.eventId != event.eventId) {
+            envelope = fixture.relay.nextEnvelope()
+        }
+        assertNotNull(envelope)
+        sut.close()
+    }
+
+    @Test
+    fun `marks hints when the relay is unreachable`() {
+        val sut = fixture.getSut(FailingSocketFactory())
+        val hint = Hint()
+
+        sut.send(fixture.envelope(), hint)
+        sut.flush(1000)
+
+        assertFalse(hint.isSuccess)
+        assertTrue(hint.isRetry)
+        assertTrue(hint.flushed)
+        sut.close()
+    }
+
+    @Test
+    fun `waits before connecting again after connecting failed`() {
+        val socketFactory = FailingSocketFactory()
+        val sut = fixture.getSut(socketFactory)
+
+        sut.send(fixture.envelope())
+        sut.send(fixture.envelope())
+        sut.flush(1000)
+        assertEquals(1, socketFactory.attempts)
+
+        fixture.currentTimeMillis += 1000
+        sut.send(fixture.envelope())
+        sut.flush(1000)
+        assertEquals(2, socketFactory.attempts)
+        sut.close()
+    }
+
+    @Test
+    fun `close writes the envelopes already sent`() {
+        val sut = fixture.getSut()
+
+        repeat(3) { sut.send(fixture.envelope()) }
+        sut.close()
+
+        repeat(3) { assertNotNull(fixture.relay.nextEnvelope()) }
+        assertNull(fixture.relay.nextEnvelope())
+    }
+}
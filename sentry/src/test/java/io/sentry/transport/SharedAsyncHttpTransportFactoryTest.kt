@@ -0,0 +1,123 @@
+package io.sentry.transport
+
+import com.sun.net.httpserver.HttpServer
+import io.sentry.NoOpLogger
+import io.sentry.RequestDetails
+import io.sentry.SentryEnvelope
+import io.sentry.SentryEvent
+import io.sentry.SentryOptions
+import java.net.InetSocketAddress
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import kotlin.test.AfterTest
+import kotlin.test.Test
+import kotlin.test.assertEquals
+
+class SharedAsyncHttpTransportFactoryTest {
+
+    class Fixture {
+        val authHeaders = CopyOnWriteArrayList<String>()
+        var responseCode = 200
+        var responseHeaders = mapOf<String, String>()
+        var beforeResponse: () -> Unit = {}
+        val server: HttpServer = HttpServer.create(InetSocketAddress("localhost", 0), 0).apply {
+            createContext("/") { exchange ->
+                beforeResponse()
+                exchange.requestBody.readBytes()
+                authHeaders.add(exchange.requestHeaders.getFirst("X-Sentry-Auth"))
+                responseHeaders.forEach { (name, value) -> exchange.responseHeaders.add(name, value) }
+                exchange.sendResponseHeaders(responseCode, -1)
+                exchange.close()
+            }
+            start()
+        }
+        val factory = SharedAsyncHttpTransportFactory(2, 100, NoOpLogger.getInstance())
+
+        fun getSut(key: String, options: SentryOptions = SentryOptions()): ITransport {
+            val url = "http://localhost:${server.address.port}/api/1/envelope/"
+            val requestDetails = RequestDetails(url, mapOf("X-Sentry-Auth" to "Sentry sentry_key=$key"))
+            return factory.create(options, requestDetails)
+        }
+
+        fun envelope() = SentryEnvelope.from(SentryOptions().serializer, SentryEvent(), null)
+    }
+
+    private val fixture = Fixture()
+
+    @AfterTest
+    fun `stop server`() {
+        fixture.factory.close()
+        fixture.server.stop(0)
+    }
+
+    @Test
+    fun `sends envelopes of different DSNs`() {
+        val first = fixture.getSut("first")
+        val second = fixture.getSut("second")
+
+        first.send(fixture.envelope())
+        second.send(fixture.envelope())
+        first.flush(5000)
+        second.flush(5000)
+
+        assertEquals(setOf("Sentry sentry_key=first", "Sentry sentry_key=second"), fixture.authHeaders.toSet())
+    }
+
+    @Test
+    fun `rate limits apply to all transports of the DSN but not to other DSNs`() {
+        fixture.responseCode = 429
+        fixture.responseHeaders = mapOf("X-Sentry-Rate-Limits" to "60:error:key")
+        val first = fixture.getSut("first")
+        first.send(fixture.envelope())
+        first.flush(5000)
+        fixture.authHeaders.clear()
+
+        fixture.getSut("first").apply {
+            send(fixture.envelope())
+            flush(5000)
+        }
+        fixture.getSut("second").apply {
+            send(fixture.envelope())
+            flush(5000)
+        }
+
+        assertEquals(listOf("Sentry sentry_key=second"), fixture.authHeaders)
+    }
+
+    @Test
+    fun `closing a transport does not stop the transports of other DSNs`() {
+        val first = fixture.getSut("first")
+        val second = fixture.getSut("second")
+
+        first.close()
+        second.send(fixture.envelope())
+        second.flush(5000)
+
+        assertEquals(listOf("Sentry sentry_key=second"), fixture.authHeaders)
+    }
+
+    @Test
+    fun `a DSN can not queue more envelopes than its max queue size`() {
+        val received = CountDownLatch(1)
+        val release = CountDownLatch(1)
+        fixture.beforeResponse = {
+            received.countDown()
+            release.await(5, TimeUnit.SECONDS)
+        }
+        val first = fixture.getSut("first", SentryOptions().apply { maxQueueSize = 1 })
+        val second = fixture.getSut("second")
+
+        first.send(fixture.envelope())
+        received.await(5, TimeUnit.SECONDS)
+        first.send(fixture.envelope())
+        second.send(fixture.envelope())
+        fixture.beforeResponse = {}
+        release.countDown()
+        first.flush(5000)
+        second.flush(5000)
+
+        assertEquals(1, fixture.authHeaders.count { it == "Sentry sentry_key=first" })
+        assertEquals(1, fixture.authHeaders.count { it == "Sentry sentry_key=second" })
+    }
+}
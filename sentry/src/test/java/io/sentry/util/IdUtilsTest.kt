@@ -0,0 +1,56 @@
+package io.sentry.util
+
+import java.util.concurrent.Executors
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertFailsWith
+import kotlin.test.assertNotEquals
+
+class IdUtilsTest {
+
+    @Test
+    fun `encodes longs as 16 lowercase hex digits`() {
+        assertEquals("0000000000000000", IdUtils.toHex(0))
+        assertEquals("00000000000000ff", IdUtils.toHex(255))
+        assertEquals("ffffffffffffffff", IdUtils.toHex(-1))
+        assertEquals("8000000000000000", IdUtils.toHex(Long.MIN_VALUE))
+    }
+
+    @Test
+    fun `encodes two longs as 32 hex digits`() {
+        assertEquals("0000000000000001fffffffffffffffe", IdUtils.toHex(1, -2))
+    }
+
+    @Test
+    fun `parses what it encodes`() {
+        repeat(100) {
+            val value = IdUtils.randomLong()
+            assertEquals(value, IdUtils.parseHex("x" + IdUtils.toHex(value), 1))
+        }
+        assertEquals(-1L, IdUtils.parseHex("FFFFFFFFFFFFFFFF", 0))
+    }
+
+    @Test
+    fun `parseHex fails on chars that are not hex digits`() {
+        assertFailsWith<IllegalArgumentException> { IdUtils.parseHex("000000000000000g", 0) }
+    }
+
+    @Test
+    fun `random longs differ`() {
+        assertNotEquals(IdUtils.randomLong(), IdUtils.randomLong())
+    }
+
+    @Test
+    fun `threads are seeded independently`() {
+        val first = (1..10).map {
+            val executor = Executors.newSingleThreadExecutor()
+            try {
+                executor.submit<Long> { IdUtils.randomLong() }.get()
+            } finally {
+                executor.shutdown()
+            }
+        }
+
+        assertEquals(first.size, first.toSet().size)
+    }
+}
@@ -27,3 +27,8 @@ include(
     "sentry-samples:sentry-samples-spring",
     "sentry-samples:sentry-samples-spring-boot",
     "sentry-samples:sentry-samples-spring-boot-webflux")
+
+// java.net.http.HttpClient is only available since Java 11
+if (JavaVersion.current().isJava11Compatible) {
+    include("sentry-jdk-httpclient")
+}